@@ -0,0 +1,35 @@
+package jmh.com.chess.engine;
+
+import main.com.chess.engine.board.Board;
+import main.com.chess.engine.board.FenParser;
+import main.com.chess.engine.perft.PerftPosition;
+
+/**
+ * The positions the benchmarks run on, covering the opening, middlegame and endgame, plus a checkmate for the
+ * benchmarks whose cost depends on it.
+ */
+public enum BenchmarkPosition {
+  OPENING(PerftPosition.STARTING.getFen()),
+  MIDDLEGAME(PerftPosition.KIWIPETE.getFen()),
+  ENDGAME(PerftPosition.POSITION_3.getFen()),
+  CHECKMATE("rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3");
+
+  private final String fen;
+
+  BenchmarkPosition(final String fen) {
+    this.fen = fen;
+  }
+
+  public String getFen() {
+    return fen;
+  }
+
+  /**
+   * Creates a new board holding this position.
+   *
+   * @return The board.
+   */
+  public Board createBoard() {
+    return FenParser.parse(fen);
+  }
+}
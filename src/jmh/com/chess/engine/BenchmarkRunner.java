@@ -0,0 +1,27 @@
+package jmh.com.chess.engine;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler attached, so that allocation rates ({@code gc.alloc.rate.norm}, bytes
+ * per operation) are reported next to throughput. Arguments are regular expressions selecting benchmarks; without
+ * any, every benchmark of this package runs.
+ */
+public class BenchmarkRunner {
+
+  public static void main(String[] args) throws RunnerException {
+    final OptionsBuilder options = new OptionsBuilder();
+    if (args.length == 0) {
+      options.include(BenchmarkRunner.class.getPackageName() + ".*");
+    }
+    for (final String include : args) {
+      options.include(include);
+    }
+    final Options built = options.addProfiler(GCProfiler.class).build();
+    new Runner(built).run();
+  }
+}
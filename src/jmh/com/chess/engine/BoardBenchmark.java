@@ -0,0 +1,56 @@
+package jmh.com.chess.engine;
+
+import main.com.chess.engine.board.Board;
+import main.com.chess.engine.board.ChessBoard;
+import main.com.chess.engine.pieces.Piece;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks board construction.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+  @Param({"OPENING", "MIDDLEGAME", "ENDGAME"})
+  private BenchmarkPosition position;
+
+  private ChessBoard.Builder builder;
+
+  @Setup
+  public void setUp() {
+    final Board board = position.createBoard();
+    builder = ChessBoard.builder().setNextMoveMaker(board.getNextMoveMaker());
+    for (final Piece piece : board.getAllActiveWhitePieces()) {
+      builder.setPiece(piece);
+    }
+    for (final Piece piece : board.getAllActiveBlackPieces()) {
+      builder.setPiece(piece);
+    }
+  }
+
+  @Benchmark
+  public ChessBoard initStandardChessBoard() {
+    return ChessBoard.initStandardChessBoard();
+  }
+
+  @Benchmark
+  public ChessBoard build() {
+    return builder.build();
+  }
+}
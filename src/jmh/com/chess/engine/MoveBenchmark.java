@@ -0,0 +1,80 @@
+package jmh.com.chess.engine;
+
+import main.com.chess.engine.board.Board;
+import main.com.chess.engine.moves.Move;
+import main.com.chess.engine.moves.MoveFactory;
+import main.com.chess.engine.player.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks move execution and lookup. Every invocation runs through a fixed batch of the legal moves of the side to
+ * move, all of them in turn and the first ones again to fill the batch, so the operation measured is one move.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveBenchmark {
+  // more than the legal moves of any benchmark position
+  private static final int MOVES_PER_INVOCATION = 64;
+
+  @Param({"OPENING", "MIDDLEGAME", "ENDGAME"})
+  private BenchmarkPosition position;
+
+  private Board board;
+  private Player player;
+  private Move[] moves;
+
+  @Setup
+  public void setUp() {
+    board = position.createBoard();
+    player = board.getCurrentPlayer();
+    final List<Move> legalMoves = new ArrayList<>(player.getAllLegalMoves());
+    moves = new Move[MOVES_PER_INVOCATION];
+    for (int i = 0; i < moves.length; i++) {
+      moves[i] = legalMoves.get(i % legalMoves.size());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES_PER_INVOCATION)
+  public void execute(final Blackhole blackhole) {
+    for (final Move move : moves) {
+      blackhole.consume(move.execute());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES_PER_INVOCATION)
+  public void makeMove(final Blackhole blackhole) {
+    for (final Move move : moves) {
+      blackhole.consume(player.makeMove(move));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES_PER_INVOCATION)
+  public void createMove(final Blackhole blackhole) {
+    for (final Move move : moves) {
+      blackhole.consume(MoveFactory.createMove(board, move.getOrigin(), move.getDestination()));
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package jmh.com.chess.engine;
+
+import main.com.chess.engine.board.Board;
+import main.com.chess.engine.pieces.Piece;
+import main.com.chess.engine.pieces.PieceType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link Piece#generateAllMoves(Board)} per piece type, over all pieces of that type in the position.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PieceBenchmark {
+  @Param({"OPENING", "MIDDLEGAME", "ENDGAME"})
+  private BenchmarkPosition position;
+
+  @Param({"KING", "QUEEN", "ROOK", "BISHOP", "KNIGHT", "PAWN"})
+  private PieceType type;
+
+  private Board board;
+  private List<Piece> pieces;
+
+  @Setup
+  public void setUp() {
+    board = position.createBoard();
+    pieces = new ArrayList<>();
+    for (final Piece piece : board.getAllActiveWhitePieces()) {
+      if (piece.getType() == type) {
+        pieces.add(piece);
+      }
+    }
+    for (final Piece piece : board.getAllActiveBlackPieces()) {
+      if (piece.getType() == type) {
+        pieces.add(piece);
+      }
+    }
+  }
+
+  @Benchmark
+  public void generateAllMoves(final Blackhole blackhole) {
+    for (final Piece piece : pieces) {
+      blackhole.consume(piece.generateAllMoves(board));
+    }
+  }
+}
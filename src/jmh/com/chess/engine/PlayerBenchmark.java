@@ -0,0 +1,57 @@
+package jmh.com.chess.engine;
+
+import main.com.chess.engine.board.ChessBoard;
+import main.com.chess.engine.board.FenParser;
+import main.com.chess.engine.player.BlackPlayer;
+import main.com.chess.engine.player.Player;
+import main.com.chess.engine.player.WhitePlayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the checkmate test. Players memoize their moves and check status, so every operation asks a player
+ * created afresh for the board, the way the board creates its own; creating the player is part of the timing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerBenchmark {
+  @Param({"OPENING", "MIDDLEGAME", "ENDGAME", "CHECKMATE"})
+  private BenchmarkPosition position;
+
+  private ChessBoard board;
+
+  @Setup
+  public void setUp() {
+    board = FenParser.parse(position.getFen());
+  }
+
+  @Benchmark
+  public boolean isInCheckMate() {
+    return createPlayer().isInCheckMate();
+  }
+
+  /**
+   * Creates the player of the side to move, with nothing computed yet.
+   */
+  private Player createPlayer() {
+    if (board.getNextMoveMaker().isWhite()) {
+      return new WhitePlayer(board);
+    }
+    return new BlackPlayer(board);
+  }
+}
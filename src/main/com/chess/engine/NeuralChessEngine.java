@@ -1,15 +1,148 @@
 package main.com.chess.engine;
 
 import main.com.chess.engine.board.ChessBoard;
+import main.com.chess.engine.board.FenParser;
+import main.com.chess.engine.evaluation.BatchedEvaluationService;
+import main.com.chess.engine.evaluation.Evaluator;
+import main.com.chess.engine.evaluation.HandcraftedEvaluator;
+import main.com.chess.engine.evaluation.MaterialEvaluator;
+import main.com.chess.engine.evaluation.NnueEvaluator;
+import main.com.chess.engine.evaluation.NnueNetwork;
+import main.com.chess.engine.evaluation.PieceSquareEvaluator;
+import main.com.chess.engine.evaluation.QuantizedNnueEvaluator;
+import main.com.chess.engine.evaluation.QuantizedNnueNetwork;
+import main.com.chess.engine.moves.CompactMove;
+import main.com.chess.engine.perft.Perft;
+import main.com.chess.engine.perft.PerftPosition;
+import main.com.chess.engine.search.Search;
+import main.com.chess.engine.search.SearchLimits;
+import main.com.chess.engine.search.SearchResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
 
 /**
  * Main chess engine class that is responsible for manipulating chess
  * board
  */
 public class NeuralChessEngine {
+  private static final int DEFAULT_PERFT_DEPTH = 4;
+  private static final int PERFT_CACHE_SIZE_MB = 64;
+  private static final int DEFAULT_SEARCH_DEPTH = 8;
 
-  public static void main(String[] args) {
+  public static void main(String[] args) throws IOException {
+    if (args.length > 0 && "perft".equals(args[0])) {
+      runPerft(args);
+      return;
+    }
+    if (args.length > 0 && "search".equals(args[0])) {
+      runSearch(args);
+      return;
+    }
     ChessBoard board = ChessBoard.initStandardChessBoard();
     System.out.println(board);
   }
+
+  /**
+   * Runs perft on every reference position and prints node counts and speed, so that move generation can be
+   * verified and timed across releases. Usage: {@code perft [depth] [threads] [cache]}, where depth defaults to
+   * {@value #DEFAULT_PERFT_DEPTH}, threads to the number of processors and {@code cache} enables the subtree count
+   * cache. Positions without a reference count at the given depth run at their deepest known depth.
+   *
+   * @param args The command line arguments, starting with {@code perft}.
+   */
+  private static void runPerft(final String[] args) {
+    final int depth = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PERFT_DEPTH;
+    final int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+    final boolean cached = args.length > 3 && "cache".equals(args[3]);
+    final Perft perft = Perft.builder()
+      .setThreads(threads)
+      .setCacheSize(cached ? PERFT_CACHE_SIZE_MB : 0)
+      .build();
+
+    for (final PerftPosition position : PerftPosition.values()) {
+      final int positionDepth = Math.min(depth, position.getMaxDepth());
+      final long start = System.nanoTime();
+      final long nodes = perft.count(position.createBoard(), positionDepth);
+      final long elapsedNanos = Math.max(1L, System.nanoTime() - start);
+      final long expected = position.getExpectedNodes(positionDepth);
+      System.out.printf("%-10s depth %d: %,12d nodes %8d ms %,12d nodes/s %s%n", position, positionDepth, nodes,
+                        elapsedNanos / 1_000_000L, nodes * 1_000_000_000L / elapsedNanos,
+                        nodes == expected ? "OK" : "MISMATCH, expected " + expected);
+    }
+  }
+
+  /**
+   * Searches a position and prints every completed iteration followed by the nodes of each thread and the best move.
+   * Usage: {@code search [depth] [movetime] [threads] [evaluator] [fen]}, where depth defaults to
+   * {@value #DEFAULT_SEARCH_DEPTH}, a move time in milliseconds of 0 means none, threads defaults to 1, the evaluator
+   * to {@code material} and the position to the starting position. The evaluator is one of {@code material},
+   * {@code pst}, {@code handcrafted}, {@code nnue[=file]}, {@code qnnue[=file]} or {@code batched[=file]}. The
+   * {@code pst} evaluator reads the piece-square scores kept by the board. The {@code nnue} evaluator runs a network
+   * through the incrementally updated accumulators of each thread, {@code qnnue} does so with the network quantized,
+   * and the {@code batched} one runs it through a {@link BatchedEvaluationService} shared by all threads, whose batch
+   * statistics are printed at the end. All three map the given network file, or use the material network without
+   * one.
+   *
+   * @param args The command line arguments, starting with {@code search}.
+   * @throws IOException If the network file cannot be read.
+   */
+  private static void runSearch(final String[] args) throws IOException {
+    final int depth = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SEARCH_DEPTH;
+    final long moveTime = args.length > 2 ? Long.parseLong(args[2]) : 0L;
+    final int threads = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+    final Evaluator evaluator = createEvaluator(args.length > 4 ? args[4] : "material", threads);
+    final ChessBoard board = args.length > 5
+      ? FenParser.parse(String.join(" ", Arrays.copyOfRange(args, 5, args.length)))
+      : ChessBoard.initStandardChessBoard();
+    final SearchLimits.Builder limits = SearchLimits.builder().setDepth(depth);
+    if (moveTime > 0) {
+      limits.setMoveTime(moveTime);
+    }
+
+    final Search search = Search.builder()
+      .setThreads(threads)
+      .setEvaluator(evaluator)
+      .setListener(result -> System.out.println("info " + result))
+      .build();
+    final SearchResult result = search.search(board, limits.build());
+    System.out.println("info string thread nodes " + Arrays.toString(result.getThreadNodes()));
+    if (evaluator instanceof BatchedEvaluationService batchedEvaluator) {
+      batchedEvaluator.close();
+      System.out.println("info string " + batchedEvaluator);
+    }
+    final int bestMove = result.getBestMove();
+    System.out.println("bestmove " + (bestMove == CompactMove.NONE ? "(none)" : CompactMove.toNotation(bestMove)));
+  }
+
+  /**
+   * Creates the evaluator named on the command line of {@link #runSearch(String[])}.
+   *
+   * @param arg     The evaluator name, optionally followed by {@code =} and a network file.
+   * @param threads The number of search threads.
+   * @return The evaluator.
+   * @throws IOException If the network file cannot be read.
+   */
+  private static Evaluator createEvaluator(final String arg, final int threads) throws IOException {
+    final String[] nameAndFile = arg.split("=", 2);
+    final String name = nameAndFile[0];
+    if ("material".equals(name)) {
+      return new MaterialEvaluator();
+    }
+    if ("pst".equals(name)) {
+      return new PieceSquareEvaluator();
+    }
+    if ("handcrafted".equals(name)) {
+      return new HandcraftedEvaluator();
+    }
+    final NnueNetwork network = nameAndFile.length > 1 ? NnueNetwork.load(Path.of(nameAndFile[1]))
+      : NnueNetwork.material();
+    return switch (name) {
+      case "nnue" -> new NnueEvaluator(network);
+      case "qnnue" -> new QuantizedNnueEvaluator(QuantizedNnueNetwork.quantize(network));
+      case "batched" -> BatchedEvaluationService.builder().setNetwork(network).setBatchSize(threads).build();
+      default -> throw new IllegalArgumentException("Unknown evaluator: " + name);
+    };
+  }
 }
@@ -0,0 +1,400 @@
+package main.com.chess.engine.board;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import main.com.chess.engine.common.Position;
+import main.com.chess.engine.common.Side;
+import main.com.chess.engine.moves.Move;
+import main.com.chess.engine.pieces.Piece;
+import main.com.chess.engine.pieces.PieceType;
+import main.com.chess.engine.player.BlackPlayer;
+import main.com.chess.engine.player.Player;
+import main.com.chess.engine.player.WhitePlayer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * An abstract chess board represented as one bitboard per (piece type, side) pair plus occupancy masks.
+ * <p>
+ * Squares, piece collections and players required by the {@link Board} interface are materialized from the
+ * bitboards on first access and memoized until {@link #invalidateViews()} is called.
+ */
+public abstract class AbstractBitboardChessBoard implements Board {
+  /**
+   * Square index used when there is no en-passant pawn on the board.
+   */
+  protected static final int NO_SQUARE = -1;
+
+  /**
+   * The piece bitboards indexed by {@link BoardUtils#getBitboardIndex(PieceType, Side)}.
+   */
+  protected final long[] pieceBitboards;
+
+  /**
+   * The occupancy bitboards of the white and black side.
+   */
+  protected long whiteBitboard;
+  protected long blackBitboard;
+
+  /**
+   * The bitboard of all squares whose piece has moved during the game.
+   */
+  protected long movedBitboard;
+
+  /**
+   * The side that is allowed to make the next move.
+   */
+  protected Side nextMoveMaker;
+
+  /**
+   * The square of the pawn that has just made a double jump, or {@link #NO_SQUARE}.
+   */
+  protected int enPassantSquare;
+
+  /**
+   * The Zobrist key of the current position.
+   */
+  protected long zobristKey;
+
+  /**
+   * The pawn key of the current position.
+   */
+  protected long pawnKey;
+
+  /**
+   * The middlegame and endgame scores and the game phase of the current position, see {@link PieceSquareTables}.
+   */
+  protected int middlegameScore;
+  protected int endgameScore;
+  protected int phase;
+
+  // lazily materialized views
+  private BoardSquare[] squares;
+  private Collection<Piece> wpieces;
+  private Collection<Piece> bpieces;
+  private Player wplayer;
+  private Player bplayer;
+  private AttackMap attackMap;
+
+  /**
+   * Constructs a bitboard chess board from the given state. The piece bitboards are copied.
+   *
+   * @param pieceBitboards  The piece bitboards indexed by {@link BoardUtils#getBitboardIndex(PieceType, Side)}.
+   * @param movedBitboard   The bitboard of all squares whose piece has moved.
+   * @param nextMoveMaker   The side that is allowed to make the next move.
+   * @param enPassantSquare The square of the en-passant pawn, or {@link #NO_SQUARE}.
+   */
+  protected AbstractBitboardChessBoard(final long[] pieceBitboards, final long movedBitboard,
+                                       final Side nextMoveMaker, final int enPassantSquare) {
+    this.pieceBitboards = pieceBitboards.clone();
+    this.movedBitboard = movedBitboard;
+    this.nextMoveMaker = nextMoveMaker;
+    this.enPassantSquare = enPassantSquare;
+    for (final PieceType type : PieceType.values()) {
+      this.whiteBitboard |= this.pieceBitboards[BoardUtils.getBitboardIndex(type, Side.WHITE)];
+      this.blackBitboard |= this.pieceBitboards[BoardUtils.getBitboardIndex(type, Side.BLACK)];
+    }
+    this.zobristKey = Zobrist.computeKey(this, enPassantSquare);
+    this.pawnKey = Zobrist.computePawnKey(this);
+    this.middlegameScore = PieceSquareTables.computeMiddlegameScore(this);
+    this.endgameScore = PieceSquareTables.computeEndgameScore(this);
+    this.phase = PieceSquareTables.computePhase(this);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public BoardSquare getSquare(final Position pos) {
+    final int index = pos.getX();
+    if (index < 0 || index >= BoardUtils.TOTAL_SQUARES) {
+      return null;
+    }
+    if (squares == null) {
+      squares = new BoardSquare[BoardUtils.TOTAL_SQUARES];
+    }
+    BoardSquare square = squares[index];
+    if (square == null) {
+      square = AbstractBoardSquare.createSquare(index, getPieceAt(index));
+      squares[index] = square;
+    }
+    return square;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Collection<Piece> getAllActiveWhitePieces() {
+    if (wpieces == null) {
+      wpieces = collectAllPiecesForSide(Side.WHITE);
+    }
+    return wpieces;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Collection<Piece> getAllActiveBlackPieces() {
+    if (bpieces == null) {
+      bpieces = collectAllPiecesForSide(Side.BLACK);
+    }
+    return bpieces;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Player getWhitePlayer() {
+    if (wplayer == null) {
+      wplayer = new WhitePlayer(this);
+    }
+    return wplayer;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Player getBlackPlayer() {
+    if (bplayer == null) {
+      bplayer = new BlackPlayer(this);
+    }
+    return bplayer;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Player getCurrentPlayer() {
+    return nextMoveMaker.choosePlayer(getWhitePlayer(), getBlackPlayer());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getPieceBitboard(final PieceType type, final Side side) {
+    return pieceBitboards[BoardUtils.getBitboardIndex(type, side)];
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getSideBitboard(final Side side) {
+    return side.isWhite() ? whiteBitboard : blackBitboard;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getOccupiedBitboard() {
+    return whiteBitboard | blackBitboard;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Side getNextMoveMaker() {
+    return nextMoveMaker;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getCastlingRights() {
+    return CastlingRights.compute(getPieceBitboard(PieceType.KING, Side.WHITE),
+                                  getPieceBitboard(PieceType.ROOK, Side.WHITE),
+                                  getPieceBitboard(PieceType.KING, Side.BLACK),
+                                  getPieceBitboard(PieceType.ROOK, Side.BLACK),
+                                  movedBitboard);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getEnPassantSquare() {
+    return enPassantSquare;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getZobristKey() {
+    return zobristKey;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getPawnKey() {
+    return pawnKey;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getMiddlegameScore() {
+    return middlegameScore;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getEndgameScore() {
+    return endgameScore;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getPhase() {
+    return phase;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isSquareAttacked(final int square, final Side bySide) {
+    return attackMap != null ? attackMap.isAttacked(square, bySide) : AttackMap.isSquareAttacked(this, square, bySide);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public AttackMap getAttackMap() {
+    if (attackMap == null) {
+      attackMap = new AttackMap(this);
+    }
+    return attackMap;
+  }
+
+  /**
+   * Retrieves the bitboard of all squares whose piece has moved during the game.
+   *
+   * @return The moved pieces bitboard.
+   */
+  public long getMovedBitboard() {
+    return movedBitboard;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Piece getEnPassantPawn() {
+    return enPassantSquare == NO_SQUARE ? null : getSquare(Position.of(enPassantSquare)).getOccupiedBy();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Iterable<Move> getAllLegalMoves() {
+    return Iterables.unmodifiableIterable(Iterables.concat(getWhitePlayer().getAllLegalMoves(),
+                                                           getBlackPlayer().getAllLegalMoves()));
+  }
+
+  /**
+   * Gets the type of the piece standing on the given square of the given side.
+   *
+   * @param index The position index of the square.
+   * @param side  The side of the piece.
+   * @return The piece type, or {@code null} if no piece of that side stands on the square.
+   */
+  protected PieceType getPieceTypeAt(final int index, final Side side) {
+    final long mask = 1L << index;
+    for (final PieceType type : PieceType.values()) {
+      if ((pieceBitboards[BoardUtils.getBitboardIndex(type, side)] & mask) != 0) {
+        return type;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Materializes the piece standing on the given square from the bitboards.
+   *
+   * @param index The position index of the square.
+   * @return The piece on the square, or {@code null} if the square is empty.
+   */
+  protected Piece getPieceAt(final int index) {
+    final long mask = 1L << index;
+    if (((whiteBitboard | blackBitboard) & mask) == 0) {
+      return null;
+    }
+    final Side side = (whiteBitboard & mask) != 0 ? Side.WHITE : Side.BLACK;
+    final PieceType type = getPieceTypeAt(index, side);
+    if (type == null) {
+      throw new IllegalStateException("Occupancy and piece bitboards disagree on square " + index);
+    }
+    return type.createPiece(Position.of(index), side, (movedBitboard & mask) != 0);
+  }
+
+  /**
+   * Drops every materialized view so that it is rebuilt from the bitboards on next access. Must be called by
+   * subclasses after each change to the bitboards.
+   */
+  protected void invalidateViews() {
+    if (squares != null) {
+      Arrays.fill(squares, null);
+    }
+    wpieces = null;
+    bpieces = null;
+    wplayer = null;
+    bplayer = null;
+    attackMap = null;
+  }
+
+  /**
+   * Collects all pieces on the board for a specific side, in square order.
+   *
+   * @param side The side for which to collect pieces.
+   * @return A collection of pieces belonging to the specified side.
+   */
+  private Collection<Piece> collectAllPiecesForSide(final Side side) {
+    final List<Piece> pieces = new ArrayList<>();
+    long remaining = getSideBitboard(side);
+    while (remaining != 0) {
+      final int index = Long.numberOfTrailingZeros(remaining);
+      pieces.add(getSquare(Position.of(index)).getOccupiedBy());
+      remaining &= remaining - 1;
+    }
+    return ImmutableList.copyOf(pieces);
+  }
+
+  /**
+   * Generates a string representation of the chess board.
+   *
+   * @return A string representation of the chess board.
+   */
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < BoardUtils.TOTAL_SQUARES; i++) {
+      sb.append(getSquare(Position.of(i)).toString());
+      if (((i + 1) % BoardUtils.BOARD_ROWS) == 0) {
+        sb.append("\n");
+      }
+    }
+    return sb.toString();
+  }
+}
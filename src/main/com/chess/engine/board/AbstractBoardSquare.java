@@ -1,11 +1,8 @@
 package main.com.chess.engine.board;
 
-import com.google.common.collect.ImmutableMap;
 import main.com.chess.engine.common.Position;
 import main.com.chess.engine.pieces.Piece;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -13,9 +10,9 @@ import java.util.Objects;
  */
 public abstract class AbstractBoardSquare implements BoardSquare {
   /**
-   * A map of cached empty squares based on their position index.
+   * The cached empty squares, indexed by position.
    */
-  private static final Map<Integer, AbstractBoardSquare> CACHED_EMPTY_SQUARES = cacheEmptySquaresOnStartup();
+  private static final AbstractBoardSquare[] CACHED_EMPTY_SQUARES = cacheEmptySquaresOnStartup();
 
   /**
    * The position of this board square.
@@ -44,15 +41,14 @@ public abstract class AbstractBoardSquare implements BoardSquare {
   /**
    * Caches empty squares on startup to improve performance.
    *
-   * @return A map of cached empty squares.
+   * @return The cached empty squares, indexed by position.
    */
-  public static Map<Integer, AbstractBoardSquare> cacheEmptySquaresOnStartup() {
-    final int TOTAL_SIZE = BoardUtils.BOARD_ROWS * BoardUtils.BOARD_COLS;
-    Map<Integer, AbstractBoardSquare> cachedSquares = new HashMap<>();
-    for (int i = 0; i < TOTAL_SIZE; i++) {
-      cachedSquares.put(i, new EmptyBoardSquare(new Position(i)));
+  private static AbstractBoardSquare[] cacheEmptySquaresOnStartup() {
+    final AbstractBoardSquare[] cachedSquares = new AbstractBoardSquare[BoardUtils.TOTAL_SQUARES];
+    for (int i = 0; i < BoardUtils.TOTAL_SQUARES; i++) {
+      cachedSquares[i] = new EmptyBoardSquare(Position.of(i));
     }
-    return ImmutableMap.copyOf(cachedSquares);
+    return cachedSquares;
   }
 
   /**
@@ -63,7 +59,7 @@ public abstract class AbstractBoardSquare implements BoardSquare {
    * @return The board square created.
    */
   public static AbstractBoardSquare createSquare(final int i, final Piece piece) {
-    return piece == null ? CACHED_EMPTY_SQUARES.get(i) : new OccupiedBoardSquare(new Position(i), piece);
+    return piece == null ? CACHED_EMPTY_SQUARES[i] : new OccupiedBoardSquare(Position.of(i), piece);
   }
 
   /**
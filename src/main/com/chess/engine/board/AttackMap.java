@@ -0,0 +1,133 @@
+package main.com.chess.engine.board;
+
+import main.com.chess.engine.common.Side;
+import main.com.chess.engine.pieces.PieceType;
+
+/**
+ * The attackers of every square of a board, computed from the piece bitboards rather than from move lists.
+ * <p>
+ * For each square the map holds the bitboard of all pieces, of both sides, attacking it; for each side it holds
+ * the bitboard of all squares it attacks. A square counts as attacked whether it is empty, holds an opponent piece
+ * or holds a piece of the attacking side, i.e. defended pieces are attacked too. The static queries answer single
+ * squares directly from the bitboards without building a map.
+ */
+public class AttackMap {
+  private final long[] attackers;
+  private final long[] attackedSquares;
+
+  /**
+   * Computes the attack map of a board.
+   *
+   * @param board The board to inspect.
+   */
+  public AttackMap(final Board board) {
+    this.attackers = new long[BoardUtils.TOTAL_SQUARES];
+    this.attackedSquares = new long[Side.values().length];
+    final long occupied = board.getOccupiedBitboard();
+    for (final Side side : Side.values()) {
+      for (final PieceType type : PieceType.values()) {
+        long pieces = board.getPieceBitboard(type, side);
+        while (pieces != 0) {
+          final int square = Long.numberOfTrailingZeros(pieces);
+          final long attacks = getAttacks(type, side, square, occupied);
+          attackedSquares[side.ordinal()] |= attacks;
+          long targets = attacks;
+          while (targets != 0) {
+            attackers[Long.numberOfTrailingZeros(targets)] |= 1L << square;
+            targets &= targets - 1;
+          }
+          pieces &= pieces - 1;
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets all pieces, of both sides, attacking a square.
+   *
+   * @param square The position index of the square.
+   * @return The bitboard of attacking pieces.
+   */
+  public long getAttackers(final int square) {
+    return attackers[square];
+  }
+
+  /**
+   * Gets all squares attacked by a side.
+   *
+   * @param side The attacking side.
+   * @return The bitboard of attacked squares.
+   */
+  public long getAttackedSquares(final Side side) {
+    return attackedSquares[side.ordinal()];
+  }
+
+  /**
+   * Checks whether any piece of the given side attacks a square.
+   *
+   * @param square The position index of the square.
+   * @param bySide The attacking side.
+   * @return {@code true} if the square is attacked, {@code false} otherwise.
+   */
+  public boolean isAttacked(final int square, final Side bySide) {
+    return (attackedSquares[bySide.ordinal()] & (1L << square)) != 0;
+  }
+
+  /**
+   * Gets the squares attacked by a piece standing on the given square.
+   *
+   * @param type     The type of the piece.
+   * @param side     The side of the piece.
+   * @param square   The position index of the piece.
+   * @param occupied The occupancy bitboard of the board.
+   * @return The bitboard of attacked squares.
+   */
+  public static long getAttacks(final PieceType type, final Side side, final int square, final long occupied) {
+    return switch (type) {
+      case PAWN -> AttackTables.getPawnAttacks(side, square);
+      case KNIGHT -> AttackTables.getKnightAttacks(square);
+      case BISHOP -> MagicBitboards.getBishopAttacks(square, occupied);
+      case ROOK -> MagicBitboards.getRookAttacks(square, occupied);
+      case QUEEN -> MagicBitboards.getQueenAttacks(square, occupied);
+      case KING -> AttackTables.getKingAttacks(square);
+    };
+  }
+
+  /**
+   * Gets the pieces of a side attacking a square, with sliding attacks computed for the given occupancy. Passing an
+   * occupancy without some pieces reveals the sliders behind them.
+   *
+   * @param board    The board to inspect.
+   * @param square   The position index of the square.
+   * @param bySide   The attacking side.
+   * @param occupied The occupancy bitboard to compute sliding attacks with.
+   * @return The bitboard of attacking pieces.
+   */
+  public static long getAttackers(final Board board, final int square, final Side bySide, final long occupied) {
+    final long queens = board.getPieceBitboard(PieceType.QUEEN, bySide);
+    // a pawn of the attacking side hits the square exactly when a defending pawn on it would hit the pawn back
+    return (AttackTables.getPawnAttacks(bySide.getOpponent(), square) & board.getPieceBitboard(PieceType.PAWN, bySide))
+      | (AttackTables.getKnightAttacks(square) & board.getPieceBitboard(PieceType.KNIGHT, bySide))
+      | (AttackTables.getKingAttacks(square) & board.getPieceBitboard(PieceType.KING, bySide))
+      | (MagicBitboards.getBishopAttacks(square, occupied) & (board.getPieceBitboard(PieceType.BISHOP, bySide) | queens))
+      | (MagicBitboards.getRookAttacks(square, occupied) & (board.getPieceBitboard(PieceType.ROOK, bySide) | queens));
+  }
+
+  /**
+   * Checks whether any piece of the given side attacks a square, straight from the bitboards of the board.
+   *
+   * @param board  The board to inspect.
+   * @param square The position index of the square.
+   * @param bySide The attacking side.
+   * @return {@code true} if the square is attacked, {@code false} otherwise.
+   */
+  public static boolean isSquareAttacked(final Board board, final int square, final Side bySide) {
+    final long occupied = board.getOccupiedBitboard();
+    final long queens = board.getPieceBitboard(PieceType.QUEEN, bySide);
+    return (AttackTables.getPawnAttacks(bySide.getOpponent(), square) & board.getPieceBitboard(PieceType.PAWN, bySide)) != 0
+      || (AttackTables.getKnightAttacks(square) & board.getPieceBitboard(PieceType.KNIGHT, bySide)) != 0
+      || (AttackTables.getKingAttacks(square) & board.getPieceBitboard(PieceType.KING, bySide)) != 0
+      || (MagicBitboards.getBishopAttacks(square, occupied) & (board.getPieceBitboard(PieceType.BISHOP, bySide) | queens)) != 0
+      || (MagicBitboards.getRookAttacks(square, occupied) & (board.getPieceBitboard(PieceType.ROOK, bySide) | queens)) != 0;
+  }
+}
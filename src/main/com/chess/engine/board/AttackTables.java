@@ -0,0 +1,147 @@
+package main.com.chess.engine.board;
+
+import main.com.chess.engine.common.Side;
+
+/**
+ * Precomputed attack tables for the leaping pieces (knight, king and pawn), plus the lines joining pairs of squares.
+ * <p>
+ * Every attack table holds, for each of the 64 squares, the bitboard of squares attacked from it. The tables are
+ * computed once at class load from (row, column) steps, so edge wrapping is resolved here and nowhere else.
+ */
+public final class AttackTables {
+  // {row, column} steps of every leaper
+  private static final int[][] KNIGHT_STEPS = {
+    {-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}
+  };
+  private static final int[][] KING_STEPS = {
+    {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}
+  };
+  // white pawns move towards row 0, black pawns towards row 7
+  private static final int[][] WHITE_PAWN_CAPTURE_STEPS = {{-1, -1}, {-1, 1}};
+  private static final int[][] BLACK_PAWN_CAPTURE_STEPS = {{1, -1}, {1, 1}};
+
+  private static final long[] KNIGHT_ATTACKS = initLeaperAttacks(KNIGHT_STEPS);
+  private static final long[] KING_ATTACKS = initLeaperAttacks(KING_STEPS);
+  private static final long[][] PAWN_ATTACKS = {
+    initLeaperAttacks(WHITE_PAWN_CAPTURE_STEPS), initLeaperAttacks(BLACK_PAWN_CAPTURE_STEPS)
+  };
+
+  // squares strictly between, and the whole line through, two squares sharing a row, column or diagonal
+  private static final long[][] BETWEEN = new long[BoardUtils.TOTAL_SQUARES][BoardUtils.TOTAL_SQUARES];
+  private static final long[][] LINE = new long[BoardUtils.TOTAL_SQUARES][BoardUtils.TOTAL_SQUARES];
+
+  static {
+    initLines();
+  }
+
+  private AttackTables() {
+  }
+
+  /**
+   * Gets the squares attacked by a knight standing on the given square.
+   *
+   * @param square The position index of the knight.
+   * @return The bitboard of attacked squares.
+   */
+  public static long getKnightAttacks(final int square) {
+    return KNIGHT_ATTACKS[square];
+  }
+
+  /**
+   * Gets the squares attacked by a king standing on the given square.
+   *
+   * @param square The position index of the king.
+   * @return The bitboard of attacked squares.
+   */
+  public static long getKingAttacks(final int square) {
+    return KING_ATTACKS[square];
+  }
+
+  /**
+   * Gets the squares diagonally attacked by a pawn of the given side standing on the given square.
+   *
+   * @param side   The side of the pawn.
+   * @param square The position index of the pawn.
+   * @return The bitboard of attacked squares.
+   */
+  public static long getPawnAttacks(final Side side, final int square) {
+    return PAWN_ATTACKS[side.ordinal()][square];
+  }
+
+  /**
+   * Gets the squares strictly between two squares on a common row, column or diagonal.
+   *
+   * @param from The position index of the first square.
+   * @param to   The position index of the second square.
+   * @return The bitboard of squares in between, or 0 if the squares are not aligned or adjacent.
+   */
+  public static long getBetween(final int from, final int to) {
+    return BETWEEN[from][to];
+  }
+
+  /**
+   * Gets the whole row, column or diagonal running through two squares, from edge to edge.
+   *
+   * @param from The position index of the first square.
+   * @param to   The position index of the second square.
+   * @return The bitboard of the line, or 0 if the squares are not aligned.
+   */
+  public static long getLine(final int from, final int to) {
+    return LINE[from][to];
+  }
+
+  /**
+   * Fills the between and line tables by walking every direction a king can step in from every square.
+   */
+  private static void initLines() {
+    for (int square = 0; square < BoardUtils.TOTAL_SQUARES; square++) {
+      final int row = square / BoardUtils.BOARD_COLS;
+      final int col = square % BoardUtils.BOARD_COLS;
+      for (final int[] step : KING_STEPS) {
+        final long line = walk(row, col, step[0], step[1]) | walk(row, col, -step[0], -step[1]) | 1L << square;
+        long between = 0L;
+        for (int r = row + step[0], c = col + step[1];
+             r >= 0 && r < BoardUtils.BOARD_ROWS && c >= 0 && c < BoardUtils.BOARD_COLS; r += step[0], c += step[1]) {
+          final int target = r * BoardUtils.BOARD_COLS + c;
+          BETWEEN[square][target] = between;
+          LINE[square][target] = line;
+          between |= 1L << target;
+        }
+      }
+    }
+  }
+
+  /**
+   * Collects the squares from the given square, exclusive, to the edge of the board in one direction.
+   */
+  private static long walk(final int row, final int col, final int rowStep, final int colStep) {
+    long ray = 0L;
+    for (int r = row + rowStep, c = col + colStep;
+         r >= 0 && r < BoardUtils.BOARD_ROWS && c >= 0 && c < BoardUtils.BOARD_COLS; r += rowStep, c += colStep) {
+      ray |= 1L << (r * BoardUtils.BOARD_COLS + c);
+    }
+    return ray;
+  }
+
+  /**
+   * Computes the attack bitboard of a leaper for every square of the board.
+   *
+   * @param steps The {row, column} steps the leaper can make.
+   * @return The attack bitboards indexed by square.
+   */
+  private static long[] initLeaperAttacks(final int[][] steps) {
+    final long[] attacks = new long[BoardUtils.TOTAL_SQUARES];
+    for (int square = 0; square < BoardUtils.TOTAL_SQUARES; square++) {
+      final int row = square / BoardUtils.BOARD_COLS;
+      final int col = square % BoardUtils.BOARD_COLS;
+      for (final int[] step : steps) {
+        final int targetRow = row + step[0];
+        final int targetCol = col + step[1];
+        if (targetRow >= 0 && targetRow < BoardUtils.BOARD_ROWS && targetCol >= 0 && targetCol < BoardUtils.BOARD_COLS) {
+          attacks[square] |= 1L << (targetRow * BoardUtils.BOARD_COLS + targetCol);
+        }
+      }
+    }
+    return attacks;
+  }
+}
@@ -0,0 +1,140 @@
+package main.com.chess.engine.board;
+
+import main.com.chess.engine.common.Position;
+import main.com.chess.engine.common.Side;
+import main.com.chess.engine.moves.Move;
+import main.com.chess.engine.pieces.Piece;
+import main.com.chess.engine.pieces.PieceType;
+
+/**
+ * Represents an immutable chess board as one bitboard per (piece type, side) pair plus occupancy masks.
+ * <p>
+ * Only the bitboards are computed on construction. Squares, piece collections and players required by the
+ * {@link Board} interface are materialized from the bitboards on first access and memoized afterwards, so a board
+ * that is only stored or probed through its bitboards never pays for them. Moves executed on this board follow the
+ * regular {@link Move#execute()} path and therefore produce {@link ChessBoard} instances.
+ */
+public class BitboardChessBoard extends AbstractBitboardChessBoard {
+
+  private BitboardChessBoard(final Builder builder) {
+    super(builder.pieceBitboards, builder.movedBitboard, builder.nextMoveMaker, builder.enPassantSquare);
+  }
+
+  private BitboardChessBoard(final AbstractBitboardChessBoard board) {
+    super(board.pieceBitboards, board.movedBitboard, board.nextMoveMaker, board.enPassantSquare);
+  }
+
+  /**
+   * Initializes a standard chess board with all pieces in their starting positions.
+   *
+   * @return The initialized standard chess board.
+   */
+  public static BitboardChessBoard initStandardChessBoard() {
+    final PieceType[] backRank = {
+      PieceType.ROOK, PieceType.KNIGHT, PieceType.BISHOP, PieceType.QUEEN,
+      PieceType.KING, PieceType.BISHOP, PieceType.KNIGHT, PieceType.ROOK
+    };
+    final Builder builder = new Builder();
+    for (int col = 0; col < BoardUtils.BOARD_COLS; col++) {
+      builder
+        .setPiece(backRank[col].createPiece(Position.of(col), Side.BLACK, false))
+        .setPiece(PieceType.PAWN.createPiece(Position.of(BoardUtils.BOARD_COLS + col), Side.BLACK, false))
+        .setPiece(PieceType.PAWN.createPiece(Position.of(48 + col), Side.WHITE, false))
+        .setPiece(backRank[col].createPiece(Position.of(56 + col), Side.WHITE, false));
+    }
+    builder.setNextMoveMaker(Side.WHITE);
+    return builder.build();
+  }
+
+  /**
+   * Creates a bitboard copy of any board.
+   *
+   * @param board The board to copy.
+   * @return The bitboard representation of the given board.
+   */
+  public static BitboardChessBoard copyOf(final Board board) {
+    if (board instanceof AbstractBitboardChessBoard bitboardChessBoard) {
+      return new BitboardChessBoard(bitboardChessBoard);
+    }
+    final Builder builder = new Builder();
+    for (final Piece piece : board.getAllActiveWhitePieces()) {
+      builder.setPiece(piece);
+    }
+    for (final Piece piece : board.getAllActiveBlackPieces()) {
+      builder.setPiece(piece);
+    }
+    if (board.getEnPassantPawn() != null) {
+      builder.setEnPassant(board.getEnPassantPawn());
+    }
+    builder.setNextMoveMaker(board.getNextMoveMaker());
+    return builder.build();
+  }
+
+  /**
+   * Creates a new instance of the BitboardChessBoard.Builder.
+   *
+   * @return A new bitboard chess board builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Builder class for creating instances of BitboardChessBoard.
+   */
+  public static class Builder {
+    private final long[] pieceBitboards;
+    private long movedBitboard;
+    private Side nextMoveMaker;
+    private int enPassantSquare;
+
+    /**
+     * Constructs a new bitboard chess board builder.
+     */
+    private Builder() {
+      this.pieceBitboards = new long[BoardUtils.TOTAL_PIECE_BITBOARDS];
+      this.enPassantSquare = NO_SQUARE;
+    }
+
+    /**
+     * Sets the side of the player to make the next move.
+     *
+     * @param side The side of the player to make the next move.
+     * @return The builder instance.
+     */
+    public Builder setNextMoveMaker(final Side side) {
+      this.nextMoveMaker = side;
+      return this;
+    }
+
+    /**
+     * Sets a piece on the board, replacing any piece already standing on its square.
+     *
+     * @param piece The piece to set on the board.
+     * @return The builder instance.
+     */
+    public Builder setPiece(final Piece piece) {
+      final long mask = 1L << piece.getPosition().getX();
+      for (int i = 0; i < pieceBitboards.length; i++) {
+        pieceBitboards[i] &= ~mask;
+      }
+      pieceBitboards[BoardUtils.getBitboardIndex(piece.getType(), piece.getSide())] |= mask;
+      movedBitboard = piece.hasMoved() ? movedBitboard | mask : movedBitboard & ~mask;
+      return this;
+    }
+
+    public Builder setEnPassant(final Piece piece) {
+      this.enPassantSquare = piece == null ? NO_SQUARE : piece.getPosition().getX();
+      return this;
+    }
+
+    /**
+     * Builds and returns an instance of BitboardChessBoard based on the builder's configuration.
+     *
+     * @return An instance of BitboardChessBoard.
+     */
+    public BitboardChessBoard build() {
+      return new BitboardChessBoard(this);
+    }
+  }
+}
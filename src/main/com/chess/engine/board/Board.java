@@ -1,8 +1,10 @@
 package main.com.chess.engine.board;
 
 import main.com.chess.engine.common.Position;
+import main.com.chess.engine.common.Side;
 import main.com.chess.engine.moves.Move;
 import main.com.chess.engine.pieces.Piece;
+import main.com.chess.engine.pieces.PieceType;
 import main.com.chess.engine.player.Player;
 
 import java.util.Collection;
@@ -50,6 +52,114 @@ public interface Board {
 
   public Player getCurrentPlayer();
 
+  /**
+   * Retrieves the bitboard of all pieces of the given type and side. Bit {@code i} of the returned value is set
+   * when the square at position index {@code i} holds such a piece.
+   *
+   * @param type The type of the pieces.
+   * @param side The side of the pieces.
+   * @return The bitboard of the matching pieces.
+   */
+  public long getPieceBitboard(final PieceType type, final Side side);
+
+  /**
+   * Retrieves the bitboard of all squares occupied by pieces of the given side.
+   *
+   * @param side The side of the pieces.
+   * @return The occupancy bitboard of the side.
+   */
+  public long getSideBitboard(final Side side);
+
+  /**
+   * Retrieves the bitboard of all occupied squares on the board.
+   *
+   * @return The occupancy bitboard of both sides.
+   */
+  public long getOccupiedBitboard();
+
+  /**
+   * Retrieves the side that is allowed to make the next move.
+   *
+   * @return The side to move.
+   */
+  public Side getNextMoveMaker();
+
+  /**
+   * Retrieves the castling rights of both sides, packed as described in {@link CastlingRights}.
+   *
+   * @return The packed castling rights.
+   */
+  public int getCastlingRights();
+
+  /**
+   * Retrieves the pawn that has just made a double jump and may be captured en passant.
+   *
+   * @return The en-passant pawn, or {@code null} if there is none.
+   */
+  public Piece getEnPassantPawn();
+
+  /**
+   * Retrieves the square of the pawn that has just made a double jump, without materializing the pawn.
+   *
+   * @return The position index of the en-passant pawn, or a negative value if there is none.
+   */
+  public int getEnPassantSquare();
+
+  /**
+   * Retrieves the Zobrist key of the position, covering pieces, side to move, castling rights and the column of
+   * the en-passant pawn, as described in {@link Zobrist}.
+   *
+   * @return The 64-bit position key.
+   */
+  public long getZobristKey();
+
+  /**
+   * Retrieves the pawn key of the position, covering the pawns of both sides only, as described in {@link Zobrist}.
+   *
+   * @return The 64-bit pawn structure key.
+   */
+  public long getPawnKey();
+
+  /**
+   * Retrieves the sum of the middlegame material and piece-square values of all pieces, as described in
+   * {@link PieceSquareTables}.
+   *
+   * @return The middlegame score in centipawns, from white's point of view.
+   */
+  public int getMiddlegameScore();
+
+  /**
+   * Retrieves the sum of the endgame material and piece-square values of all pieces, as described in
+   * {@link PieceSquareTables}.
+   *
+   * @return The endgame score in centipawns, from white's point of view.
+   */
+  public int getEndgameScore();
+
+  /**
+   * Retrieves the game phase, from {@value PieceSquareTables#MAX_PHASE} with all pieces on the board down to 0 with
+   * none but kings and pawns, as described in {@link PieceSquareTables}.
+   *
+   * @return The game phase.
+   */
+  public int getPhase();
+
+  /**
+   * Checks whether any piece of the given side attacks a square, computed from piece positions.
+   *
+   * @param square The position index of the square.
+   * @param bySide The attacking side.
+   * @return {@code true} if the square is attacked, {@code false} otherwise.
+   */
+  public boolean isSquareAttacked(final int square, final Side bySide);
+
+  /**
+   * Retrieves the attackers of every square of the board, computed on first access.
+   *
+   * @return The attack map of the board.
+   */
+  public AttackMap getAttackMap();
+
   /**
    * Retrieves all the move that can be played by both the players on board.
    * @return The collection of moves.
@@ -1,6 +1,8 @@
 package main.com.chess.engine.board;
 
 import main.com.chess.engine.common.Position;
+import main.com.chess.engine.common.Side;
+import main.com.chess.engine.pieces.PieceType;
 
 /**
  * Utility class for working with chess board positions.
@@ -9,6 +11,14 @@ public class BoardUtils {
 
   public static final int BOARD_ROWS = 8;
   public static final int BOARD_COLS = 8;
+  public static final int TOTAL_SQUARES = BOARD_ROWS * BOARD_COLS;
+
+  /**
+   * Number of piece bitboards kept per position, one for every (piece type, side) pair.
+   */
+  public static final int TOTAL_PIECE_BITBOARDS = PieceType.values().length * Side.values().length;
+
+  private static final int PIECE_TYPE_COUNT = PieceType.values().length;
 
   /**
    * Checks if a given position is within the bounds of the chess board.
@@ -56,4 +66,15 @@ public class BoardUtils {
       return board.getSquare(pos);
     return null;
   }
+
+  /**
+   * Gets the index of the (piece type, side) bitboard inside an array of {@link #TOTAL_PIECE_BITBOARDS} bitboards.
+   *
+   * @param type The type of the piece.
+   * @param side The side of the piece.
+   * @return The bitboard index.
+   */
+  public static int getBitboardIndex(final PieceType type, final Side side) {
+    return side.ordinal() * PIECE_TYPE_COUNT + type.ordinal();
+  }
 }
@@ -0,0 +1,55 @@
+package main.com.chess.engine.board;
+
+/**
+ * Castling rights packed into the four low bits of an {@code int}.
+ * <p>
+ * This engine has no explicit castling state: a side may still castle on a wing as long as its king and the rook
+ * of that wing stand unmoved on their starting squares. The rights are derived from that rule here.
+ */
+public final class CastlingRights {
+  public static final int NONE = 0;
+  public static final int WHITE_KING_SIDE = 1;
+  public static final int WHITE_QUEEN_SIDE = 1 << 1;
+  public static final int BLACK_KING_SIDE = 1 << 2;
+  public static final int BLACK_QUEEN_SIDE = 1 << 3;
+  public static final int ALL = WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE;
+
+  // starting squares of the castling pieces
+  public static final int WHITE_KING_SQUARE = 60;
+  public static final int WHITE_KING_SIDE_ROOK_SQUARE = 63;
+  public static final int WHITE_QUEEN_SIDE_ROOK_SQUARE = 56;
+  public static final int BLACK_KING_SQUARE = 4;
+  public static final int BLACK_KING_SIDE_ROOK_SQUARE = 7;
+  public static final int BLACK_QUEEN_SIDE_ROOK_SQUARE = 0;
+
+  private CastlingRights() {
+  }
+
+  /**
+   * Derives the castling rights from the king and rook bitboards of both sides.
+   *
+   * @param whiteKings    The bitboard of white kings.
+   * @param whiteRooks    The bitboard of white rooks.
+   * @param blackKings    The bitboard of black kings.
+   * @param blackRooks    The bitboard of black rooks.
+   * @param movedBitboard The bitboard of all squares whose piece has moved.
+   * @return The packed castling rights.
+   */
+  public static int compute(final long whiteKings, final long whiteRooks, final long blackKings,
+                            final long blackRooks, final long movedBitboard) {
+    final long unmovedWhiteKings = whiteKings & ~movedBitboard;
+    final long unmovedWhiteRooks = whiteRooks & ~movedBitboard;
+    final long unmovedBlackKings = blackKings & ~movedBitboard;
+    final long unmovedBlackRooks = blackRooks & ~movedBitboard;
+    int rights = NONE;
+    if ((unmovedWhiteKings & (1L << WHITE_KING_SQUARE)) != 0) {
+      rights |= (unmovedWhiteRooks & (1L << WHITE_KING_SIDE_ROOK_SQUARE)) != 0 ? WHITE_KING_SIDE : NONE;
+      rights |= (unmovedWhiteRooks & (1L << WHITE_QUEEN_SIDE_ROOK_SQUARE)) != 0 ? WHITE_QUEEN_SIDE : NONE;
+    }
+    if ((unmovedBlackKings & (1L << BLACK_KING_SQUARE)) != 0) {
+      rights |= (unmovedBlackRooks & (1L << BLACK_KING_SIDE_ROOK_SQUARE)) != 0 ? BLACK_KING_SIDE : NONE;
+      rights |= (unmovedBlackRooks & (1L << BLACK_QUEEN_SIDE_ROOK_SQUARE)) != 0 ? BLACK_QUEEN_SIDE : NONE;
+    }
+    return rights;
+  }
+}
@@ -12,27 +12,54 @@ import java.util.*;
 
 /**
  * Represents the chess board.
+ * <p>
+ * Only squares, pieces and bitboards are built on construction. Piece moves, players, legal moves and check status
+ * are computed on first access and memoized, so boards that are only stored or printed never generate moves.
  */
 public class ChessBoard implements Board {
   private final List<BoardSquare> squares;
   private final Collection<Piece> wpieces;
   private final Collection<Piece> bpieces;
+  private final long[] pieceBitboards;
+  private final long[] sideBitboards;
+  private final Side nextMoveMaker;
+  private final int castlingRights;
+  private final Piece enPassantPawn;
+  private final long zobristKey;
+  private final long pawnKey;
+  private final int middlegameScore;
+  private final int endgameScore;
+  private final int phase;
 
-  private final Player wplayer;
-  private final Player bplayer;
-
-  private final Player currentPlayer;
+  // computed on first access
+  private Player wplayer;
+  private Player bplayer;
+  private AttackMap attackMap;
 
   private ChessBoard(Builder builder) {
     this.squares = initChessBoardSquares(builder);
     this.wpieces = collectAllPiecesOnBoardForSide(squares, Side.WHITE);
     this.bpieces = collectAllPiecesOnBoardForSide(squares, Side.BLACK);
-
-    final Collection<Move> wLegalMoves = collectAllMovesByPieces(wpieces);
-    final Collection<Move> bLegalMoves = collectAllMovesByPieces(bpieces);
-    this.wplayer = new WhitePlayer(this, wLegalMoves, bLegalMoves);
-    this.bplayer = new BlackPlayer(this, bLegalMoves, wLegalMoves);
-    this.currentPlayer = builder.nextMoveMaker.choosePlayer(wplayer, bplayer);
+    this.pieceBitboards = initPieceBitboards(builder);
+    this.sideBitboards = initSideBitboards(builder);
+    this.nextMoveMaker = builder.nextMoveMaker;
+    this.castlingRights = CastlingRights.compute(getPieceBitboard(PieceType.KING, Side.WHITE),
+                                                 getPieceBitboard(PieceType.ROOK, Side.WHITE),
+                                                 getPieceBitboard(PieceType.KING, Side.BLACK),
+                                                 getPieceBitboard(PieceType.ROOK, Side.BLACK),
+                                                 initMovedBitboard(builder));
+    this.enPassantPawn = builder.enPassant;
+    this.zobristKey = builder.hasZobristKey ? builder.zobristKey : Zobrist.computeKey(this);
+    this.pawnKey = builder.hasPawnKey ? builder.pawnKey : Zobrist.computePawnKey(this);
+    if (builder.hasPieceSquareScores) {
+      this.middlegameScore = builder.middlegameScore;
+      this.endgameScore = builder.endgameScore;
+      this.phase = builder.phase;
+    } else {
+      this.middlegameScore = PieceSquareTables.computeMiddlegameScore(this);
+      this.endgameScore = PieceSquareTables.computeEndgameScore(this);
+      this.phase = PieceSquareTables.computePhase(this);
+    }
   }
 
   /**
@@ -68,6 +95,9 @@ public class ChessBoard implements Board {
    */
   @Override
   public Player getWhitePlayer(){
+    if(wplayer == null){
+      wplayer = new WhitePlayer(this);
+    }
     return wplayer;
   }
 
@@ -76,12 +106,130 @@ public class ChessBoard implements Board {
    */
   @Override
   public Player getBlackPlayer(){
+    if(bplayer == null){
+      bplayer = new BlackPlayer(this);
+    }
     return bplayer;
   }
 
   @Override
   public Player getCurrentPlayer(){
-    return currentPlayer;
+    return nextMoveMaker.choosePlayer(getWhitePlayer(), getBlackPlayer());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getPieceBitboard(final PieceType type, final Side side){
+    return pieceBitboards[BoardUtils.getBitboardIndex(type, side)];
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getSideBitboard(final Side side){
+    return sideBitboards[side.ordinal()];
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getOccupiedBitboard(){
+    return sideBitboards[Side.WHITE.ordinal()] | sideBitboards[Side.BLACK.ordinal()];
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Side getNextMoveMaker(){
+    return nextMoveMaker;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getCastlingRights(){
+    return castlingRights;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Piece getEnPassantPawn(){
+    return enPassantPawn;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getEnPassantSquare(){
+    return enPassantPawn == null ? -1 : enPassantPawn.getPosition().getX();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getZobristKey(){
+    return zobristKey;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getPawnKey(){
+    return pawnKey;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getMiddlegameScore(){
+    return middlegameScore;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getEndgameScore(){
+    return endgameScore;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getPhase(){
+    return phase;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isSquareAttacked(final int square, final Side bySide){
+    return attackMap != null ? attackMap.isAttacked(square, bySide) : AttackMap.isSquareAttacked(this, square, bySide);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public AttackMap getAttackMap(){
+    if(attackMap == null){
+      attackMap = new AttackMap(this);
+    }
+    return attackMap;
   }
 
   /**
@@ -99,6 +247,50 @@ public class ChessBoard implements Board {
     return ImmutableList.copyOf(squares);
   }
 
+  /**
+   * Initializes one bitboard per (piece type, side) pair based on the provided builder.
+   *
+   * @param builder The builder containing information about pieces and their positions.
+   * @return The piece bitboards indexed by {@link BoardUtils#getBitboardIndex(PieceType, Side)}.
+   */
+  private static long[] initPieceBitboards(final Builder builder) {
+    final long[] bitboards = new long[BoardUtils.TOTAL_PIECE_BITBOARDS];
+    for (final Piece piece : builder.pieces.values()) {
+      bitboards[BoardUtils.getBitboardIndex(piece.getType(), piece.getSide())] |= 1L << piece.getPosition().getX();
+    }
+    return bitboards;
+  }
+
+  /**
+   * Initializes the bitboard of all squares whose piece has moved based on the provided builder.
+   *
+   * @param builder The builder containing information about pieces and their positions.
+   * @return The moved pieces bitboard.
+   */
+  private static long initMovedBitboard(final Builder builder) {
+    long bitboard = 0L;
+    for (final Piece piece : builder.pieces.values()) {
+      if (piece.hasMoved()) {
+        bitboard |= 1L << piece.getPosition().getX();
+      }
+    }
+    return bitboard;
+  }
+
+  /**
+   * Initializes the occupancy bitboard of each side based on the provided builder.
+   *
+   * @param builder The builder containing information about pieces and their positions.
+   * @return The occupancy bitboards indexed by side ordinal.
+   */
+  private static long[] initSideBitboards(final Builder builder) {
+    final long[] bitboards = new long[Side.values().length];
+    for (final Piece piece : builder.pieces.values()) {
+      bitboards[piece.getSide().ordinal()] |= 1L << piece.getPosition().getX();
+    }
+    return bitboards;
+  }
+
 
   /**
    * Initializes a standard chess board with all pieces in their starting positions.
@@ -109,41 +301,41 @@ public class ChessBoard implements Board {
     Builder builder = new Builder();
     // initialize black pieces
     builder
-      .setPiece(new RookChessPiece(new Position(0), Side.BLACK))
-      .setPiece(new KnightChessPiece(new Position(1), Side.BLACK))
-      .setPiece(new BishopChessPiece(new Position(2), Side.BLACK))
-      .setPiece(new QueenChessPiece(new Position(3), Side.BLACK))
-      .setPiece(new KingChessPiece(new Position(4), Side.BLACK))
-      .setPiece(new BishopChessPiece(new Position(5), Side.BLACK))
-      .setPiece(new KnightChessPiece(new Position(6), Side.BLACK))
-      .setPiece(new RookChessPiece(new Position(7), Side.BLACK))
-      .setPiece(new PawnChessPiece(new Position(8), Side.BLACK))
-      .setPiece(new PawnChessPiece(new Position(9), Side.BLACK))
-      .setPiece(new PawnChessPiece(new Position(10), Side.BLACK))
-      .setPiece(new PawnChessPiece(new Position(11), Side.BLACK))
-      .setPiece(new PawnChessPiece(new Position(12), Side.BLACK))
-      .setPiece(new PawnChessPiece(new Position(13), Side.BLACK))
-      .setPiece(new PawnChessPiece(new Position(14), Side.BLACK))
-      .setPiece(new PawnChessPiece(new Position(15), Side.BLACK));
+      .setPiece(PieceType.ROOK.createPiece(Position.of(0), Side.BLACK, false))
+      .setPiece(PieceType.KNIGHT.createPiece(Position.of(1), Side.BLACK, false))
+      .setPiece(PieceType.BISHOP.createPiece(Position.of(2), Side.BLACK, false))
+      .setPiece(PieceType.QUEEN.createPiece(Position.of(3), Side.BLACK, false))
+      .setPiece(PieceType.KING.createPiece(Position.of(4), Side.BLACK, false))
+      .setPiece(PieceType.BISHOP.createPiece(Position.of(5), Side.BLACK, false))
+      .setPiece(PieceType.KNIGHT.createPiece(Position.of(6), Side.BLACK, false))
+      .setPiece(PieceType.ROOK.createPiece(Position.of(7), Side.BLACK, false))
+      .setPiece(PieceType.PAWN.createPiece(Position.of(8), Side.BLACK, false))
+      .setPiece(PieceType.PAWN.createPiece(Position.of(9), Side.BLACK, false))
+      .setPiece(PieceType.PAWN.createPiece(Position.of(10), Side.BLACK, false))
+      .setPiece(PieceType.PAWN.createPiece(Position.of(11), Side.BLACK, false))
+      .setPiece(PieceType.PAWN.createPiece(Position.of(12), Side.BLACK, false))
+      .setPiece(PieceType.PAWN.createPiece(Position.of(13), Side.BLACK, false))
+      .setPiece(PieceType.PAWN.createPiece(Position.of(14), Side.BLACK, false))
+      .setPiece(PieceType.PAWN.createPiece(Position.of(15), Side.BLACK, false));
 
     // white pieces
     builder
-      .setPiece(new RookChessPiece(new Position(56), Side.WHITE))
-      .setPiece(new KnightChessPiece(new Position(57), Side.WHITE))
-      .setPiece(new BishopChessPiece(new Position(58), Side.WHITE))
-      .setPiece(new QueenChessPiece(new Position(59), Side.WHITE))
-      .setPiece(new KingChessPiece(new Position(60), Side.WHITE))
-      .setPiece(new BishopChessPiece(new Position(61), Side.WHITE))
-      .setPiece(new KnightChessPiece(new Position(62), Side.WHITE))
-      .setPiece(new RookChessPiece(new Position(63), Side.WHITE))
-      .setPiece(new PawnChessPiece(new Position(48), Side.WHITE))
-      .setPiece(new PawnChessPiece(new Position(49), Side.WHITE))
-      .setPiece(new PawnChessPiece(new Position(50), Side.WHITE))
-      .setPiece(new PawnChessPiece(new Position(51), Side.WHITE))
-      .setPiece(new PawnChessPiece(new Position(52), Side.WHITE))
-      .setPiece(new PawnChessPiece(new Position(53), Side.WHITE))
-      .setPiece(new PawnChessPiece(new Position(54), Side.WHITE))
-      .setPiece(new PawnChessPiece(new Position(55), Side.WHITE));
+      .setPiece(PieceType.ROOK.createPiece(Position.of(56), Side.WHITE, false))
+      .setPiece(PieceType.KNIGHT.createPiece(Position.of(57), Side.WHITE, false))
+      .setPiece(PieceType.BISHOP.createPiece(Position.of(58), Side.WHITE, false))
+      .setPiece(PieceType.QUEEN.createPiece(Position.of(59), Side.WHITE, false))
+      .setPiece(PieceType.KING.createPiece(Position.of(60), Side.WHITE, false))
+      .setPiece(PieceType.BISHOP.createPiece(Position.of(61), Side.WHITE, false))
+      .setPiece(PieceType.KNIGHT.createPiece(Position.of(62), Side.WHITE, false))
+      .setPiece(PieceType.ROOK.createPiece(Position.of(63), Side.WHITE, false))
+      .setPiece(PieceType.PAWN.createPiece(Position.of(48), Side.WHITE, false))
+      .setPiece(PieceType.PAWN.createPiece(Position.of(49), Side.WHITE, false))
+      .setPiece(PieceType.PAWN.createPiece(Position.of(50), Side.WHITE, false))
+      .setPiece(PieceType.PAWN.createPiece(Position.of(51), Side.WHITE, false))
+      .setPiece(PieceType.PAWN.createPiece(Position.of(52), Side.WHITE, false))
+      .setPiece(PieceType.PAWN.createPiece(Position.of(53), Side.WHITE, false))
+      .setPiece(PieceType.PAWN.createPiece(Position.of(54), Side.WHITE, false))
+      .setPiece(PieceType.PAWN.createPiece(Position.of(55), Side.WHITE, false));
 
     // side who is allowed to make move
     builder.setNextMoveMaker(Side.WHITE);
@@ -169,26 +361,13 @@ public class ChessBoard implements Board {
     return ImmutableList.copyOf(pieces);
   }
 
-  /**
-   * Collects all moves made by the given collection of pieces.
-   *
-   * @param pieces The collection of pieces for which to collect moves.
-   * @return A collection of all moves made by the given pieces.
-   */
-  public Collection<Move> collectAllMovesByPieces(final Collection<Piece> pieces){
-    List<Move> moves = new ArrayList<>();
-    for(final Piece piece: pieces){
-      moves.addAll(piece.generateAllMoves(this));
-    }
-    return ImmutableList.copyOf(moves);
-  }
-
   /**
    * {@inheritDoc}
    */
   @Override
   public Iterable<Move> getAllLegalMoves(){
-    return Iterables.unmodifiableIterable(Iterables.concat(wplayer.getAllLegalMoves(), bplayer.getAllLegalMoves()));
+    return Iterables.unmodifiableIterable(Iterables.concat(getWhitePlayer().getAllLegalMoves(),
+                                                           getBlackPlayer().getAllLegalMoves()));
   }
 
   /**
@@ -225,6 +404,14 @@ public class ChessBoard implements Board {
     private final Map<Integer, Piece> pieces;
     private Side nextMoveMaker;
     private Piece enPassant;
+    private long zobristKey;
+    private boolean hasZobristKey;
+    private long pawnKey;
+    private boolean hasPawnKey;
+    private int middlegameScore;
+    private int endgameScore;
+    private int phase;
+    private boolean hasPieceSquareScores;
 
     /**
      * Constructs a new ChessBoard builder.
@@ -260,6 +447,49 @@ public class ChessBoard implements Board {
       return this;
     }
 
+    /**
+     * Sets the Zobrist key of the board being built, sparing its computation from scratch. Used by move execution,
+     * which derives the key incrementally; the key must match the pieces, side and en-passant pawn set.
+     *
+     * @param zobristKey The Zobrist key of the resulting position.
+     * @return The builder instance.
+     */
+    public Builder setZobristKey(final long zobristKey){
+      this.zobristKey = zobristKey;
+      this.hasZobristKey = true;
+      return this;
+    }
+
+    /**
+     * Sets the pawn key of the board being built, sparing its computation from scratch. Used by move execution, which
+     * derives the key incrementally; the key must match the pawns set.
+     *
+     * @param pawnKey The pawn key of the resulting position.
+     * @return The builder instance.
+     */
+    public Builder setPawnKey(final long pawnKey){
+      this.pawnKey = pawnKey;
+      this.hasPawnKey = true;
+      return this;
+    }
+
+    /**
+     * Sets the {@link PieceSquareTables piece-square scores} of the board being built, sparing their computation from
+     * scratch. Used by move execution, which derives them incrementally; they must match the pieces set.
+     *
+     * @param middlegameScore The middlegame score of the resulting position.
+     * @param endgameScore    The endgame score of the resulting position.
+     * @param phase           The game phase of the resulting position.
+     * @return The builder instance.
+     */
+    public Builder setPieceSquareScores(final int middlegameScore, final int endgameScore, final int phase){
+      this.middlegameScore = middlegameScore;
+      this.endgameScore = endgameScore;
+      this.phase = phase;
+      this.hasPieceSquareScores = true;
+      return this;
+    }
+
     /**
      * Builds and returns an instance of ChessBoard based on the builder's configuration.
      *
@@ -0,0 +1,152 @@
+package main.com.chess.engine.board;
+
+import main.com.chess.engine.common.Position;
+import main.com.chess.engine.common.Side;
+import main.com.chess.engine.pieces.Piece;
+import main.com.chess.engine.pieces.PieceType;
+
+/**
+ * Creates boards from positions in Forsyth-Edwards Notation (FEN).
+ * <p>
+ * Boards track castling by whether kings and rooks have moved, so the castling field decides the moved flag of the
+ * pieces on their home squares: a king or rook is unmoved exactly when a castling right needs it. Pawns are unmoved
+ * on their starting row only. The half-move clock and move number are accepted but not kept.
+ */
+public final class FenParser {
+  private static final int WHITE_PAWN_START_ROW = 6;
+  private static final int BLACK_PAWN_START_ROW = 1;
+
+  private FenParser() {
+  }
+
+  /**
+   * Parses a position in FEN.
+   *
+   * @param fen The position, e.g. {@code rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1}.
+   * @return The board holding the position.
+   * @throws IllegalArgumentException If the string is no valid FEN.
+   */
+  public static ChessBoard parse(final String fen) {
+    final String[] fields = fen.trim().split("\\s+");
+    if (fields.length < 4) {
+      throw new IllegalArgumentException("Incomplete FEN: " + fen);
+    }
+    final int castlingRights = parseCastlingRights(fields[2], fen);
+    final ChessBoard.Builder builder = ChessBoard.builder();
+    final Piece[] pieces = parsePlacement(fields[0], castlingRights, fen);
+    for (final Piece piece : pieces) {
+      if (piece != null) {
+        builder.setPiece(piece);
+      }
+    }
+
+    final Side nextMoveMaker = switch (fields[1]) {
+      case "w" -> Side.WHITE;
+      case "b" -> Side.BLACK;
+      default -> throw new IllegalArgumentException("Invalid side to move in FEN: " + fen);
+    };
+    builder.setNextMoveMaker(nextMoveMaker);
+
+    if (!"-".equals(fields[3])) {
+      // the pawn that jumped stands one row past the en-passant target square
+      final int target = parseSquare(fields[3], fen);
+      final Piece enPassantPawn = pieces[target + (nextMoveMaker.isWhite() ? BoardUtils.BOARD_COLS : -BoardUtils.BOARD_COLS)];
+      if (enPassantPawn == null || !enPassantPawn.getType().isPawn() || enPassantPawn.getSide() == nextMoveMaker) {
+        throw new IllegalArgumentException("No pawn to capture en passant in FEN: " + fen);
+      }
+      builder.setEnPassant(enPassantPawn);
+    }
+    return builder.build();
+  }
+
+  private static Piece[] parsePlacement(final String placement, final int castlingRights, final String fen) {
+    final String[] rows = placement.split("/");
+    if (rows.length != BoardUtils.BOARD_ROWS) {
+      throw new IllegalArgumentException("Invalid piece placement in FEN: " + fen);
+    }
+    final Piece[] pieces = new Piece[BoardUtils.TOTAL_SQUARES];
+    for (int row = 0; row < BoardUtils.BOARD_ROWS; row++) {
+      int col = 0;
+      for (final char c : rows[row].toCharArray()) {
+        if (Character.isDigit(c)) {
+          col += c - '0';
+          continue;
+        }
+        if (col >= BoardUtils.BOARD_COLS) {
+          throw new IllegalArgumentException("Invalid piece placement in FEN: " + fen);
+        }
+        final int index = row * BoardUtils.BOARD_COLS + col;
+        final Side side = Character.isUpperCase(c) ? Side.WHITE : Side.BLACK;
+        final PieceType type = parsePieceType(c, fen);
+        pieces[index] = type.createPiece(Position.of(index), side, hasMoved(type, side, index, castlingRights));
+        col++;
+      }
+      if (col != BoardUtils.BOARD_COLS) {
+        throw new IllegalArgumentException("Invalid piece placement in FEN: " + fen);
+      }
+    }
+    return pieces;
+  }
+
+  private static PieceType parsePieceType(final char c, final String fen) {
+    return switch (Character.toLowerCase(c)) {
+      case 'k' -> PieceType.KING;
+      case 'q' -> PieceType.QUEEN;
+      case 'r' -> PieceType.ROOK;
+      case 'n' -> PieceType.KNIGHT;
+      case 'b' -> PieceType.BISHOP;
+      case 'p' -> PieceType.PAWN;
+      default -> throw new IllegalArgumentException("Invalid piece '" + c + "' in FEN: " + fen);
+    };
+  }
+
+  private static int parseCastlingRights(final String field, final String fen) {
+    int rights = CastlingRights.NONE;
+    if ("-".equals(field)) {
+      return rights;
+    }
+    for (final char c : field.toCharArray()) {
+      rights |= switch (c) {
+        case 'K' -> CastlingRights.WHITE_KING_SIDE;
+        case 'Q' -> CastlingRights.WHITE_QUEEN_SIDE;
+        case 'k' -> CastlingRights.BLACK_KING_SIDE;
+        case 'q' -> CastlingRights.BLACK_QUEEN_SIDE;
+        default -> throw new IllegalArgumentException("Invalid castling rights in FEN: " + fen);
+      };
+    }
+    return rights;
+  }
+
+  /**
+   * Decides whether a piece read from FEN counts as moved, so that the board derives the given castling rights.
+   */
+  private static boolean hasMoved(final PieceType type, final Side side, final int index, final int castlingRights) {
+    final int sideRights = side.isWhite()
+      ? castlingRights & (CastlingRights.WHITE_KING_SIDE | CastlingRights.WHITE_QUEEN_SIDE)
+      : castlingRights & (CastlingRights.BLACK_KING_SIDE | CastlingRights.BLACK_QUEEN_SIDE);
+    return switch (type) {
+      case PAWN -> index / BoardUtils.BOARD_COLS != (side.isWhite() ? WHITE_PAWN_START_ROW : BLACK_PAWN_START_ROW);
+      case KING -> sideRights == CastlingRights.NONE
+        || index != (side.isWhite() ? CastlingRights.WHITE_KING_SQUARE : CastlingRights.BLACK_KING_SQUARE);
+      case ROOK -> !isCastlingRook(index, castlingRights);
+      default -> false;
+    };
+  }
+
+  private static boolean isCastlingRook(final int index, final int castlingRights) {
+    return (index == CastlingRights.WHITE_KING_SIDE_ROOK_SQUARE && (castlingRights & CastlingRights.WHITE_KING_SIDE) != 0)
+      || (index == CastlingRights.WHITE_QUEEN_SIDE_ROOK_SQUARE && (castlingRights & CastlingRights.WHITE_QUEEN_SIDE) != 0)
+      || (index == CastlingRights.BLACK_KING_SIDE_ROOK_SQUARE && (castlingRights & CastlingRights.BLACK_KING_SIDE) != 0)
+      || (index == CastlingRights.BLACK_QUEEN_SIDE_ROOK_SQUARE && (castlingRights & CastlingRights.BLACK_QUEEN_SIDE) != 0);
+  }
+
+  private static int parseSquare(final String square, final String fen) {
+    if (square.length() != 2 || square.charAt(0) < 'a' || square.charAt(0) > 'h'
+        || square.charAt(1) < '1' || square.charAt(1) > '8') {
+      throw new IllegalArgumentException("Invalid square '" + square + "' in FEN: " + fen);
+    }
+    final int col = square.charAt(0) - 'a';
+    final int row = BoardUtils.BOARD_ROWS - (square.charAt(1) - '0');
+    return row * BoardUtils.BOARD_COLS + col;
+  }
+}
@@ -0,0 +1,199 @@
+package main.com.chess.engine.board;
+
+/**
+ * Magic bitboard attack lookup for the sliding pieces (rook, bishop and queen).
+ * <p>
+ * For every square the relevant occupancy (the blockers that can stop a ray, board edges excluded) is multiplied by
+ * a magic number and shifted into an index of a shared attack table, so a slider's full attack set costs one
+ * multiply, one shift and one load. Magic numbers are searched at class load from a fixed seed, which keeps the
+ * tables deterministic without shipping precomputed constants for this board's square numbering.
+ */
+public final class MagicBitboards {
+  // {row, column} ray directions of the sliders
+  private static final int[][] ROOK_DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+  private static final int[][] BISHOP_DIRECTIONS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+
+  private static final long SEED = 0x9E3779B97F4A7C15L;
+
+  private static final long[] ROOK_MASKS = new long[BoardUtils.TOTAL_SQUARES];
+  private static final long[] ROOK_MAGICS = new long[BoardUtils.TOTAL_SQUARES];
+  private static final int[] ROOK_SHIFTS = new int[BoardUtils.TOTAL_SQUARES];
+  private static final int[] ROOK_OFFSETS = new int[BoardUtils.TOTAL_SQUARES];
+  private static final long[] ROOK_ATTACKS = initMagics(ROOK_DIRECTIONS, ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_OFFSETS);
+
+  private static final long[] BISHOP_MASKS = new long[BoardUtils.TOTAL_SQUARES];
+  private static final long[] BISHOP_MAGICS = new long[BoardUtils.TOTAL_SQUARES];
+  private static final int[] BISHOP_SHIFTS = new int[BoardUtils.TOTAL_SQUARES];
+  private static final int[] BISHOP_OFFSETS = new int[BoardUtils.TOTAL_SQUARES];
+  private static final long[] BISHOP_ATTACKS = initMagics(BISHOP_DIRECTIONS, BISHOP_MASKS, BISHOP_MAGICS,
+                                                          BISHOP_SHIFTS, BISHOP_OFFSETS);
+
+  private MagicBitboards() {
+  }
+
+  /**
+   * Gets the squares attacked by a rook standing on the given square.
+   *
+   * @param square   The position index of the rook.
+   * @param occupied The occupancy bitboard of the board.
+   * @return The bitboard of attacked squares, including the first blocker of every ray.
+   */
+  public static long getRookAttacks(final int square, final long occupied) {
+    return ROOK_ATTACKS[ROOK_OFFSETS[square]
+      + (int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+  }
+
+  /**
+   * Gets the squares attacked by a bishop standing on the given square.
+   *
+   * @param square   The position index of the bishop.
+   * @param occupied The occupancy bitboard of the board.
+   * @return The bitboard of attacked squares, including the first blocker of every ray.
+   */
+  public static long getBishopAttacks(final int square, final long occupied) {
+    return BISHOP_ATTACKS[BISHOP_OFFSETS[square]
+      + (int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+  }
+
+  /**
+   * Gets the squares attacked by a queen standing on the given square.
+   *
+   * @param square   The position index of the queen.
+   * @param occupied The occupancy bitboard of the board.
+   * @return The bitboard of attacked squares, including the first blocker of every ray.
+   */
+  public static long getQueenAttacks(final int square, final long occupied) {
+    return getRookAttacks(square, occupied) | getBishopAttacks(square, occupied);
+  }
+
+  /**
+   * Computes masks, magic numbers, shifts and the shared attack table of a slider.
+   *
+   * @param directions The ray directions of the slider.
+   * @param masks      Receives the relevant occupancy mask of every square.
+   * @param magics     Receives the magic number of every square.
+   * @param shifts     Receives the index shift of every square.
+   * @param offsets    Receives the offset of every square inside the shared attack table.
+   * @return The shared attack table.
+   */
+  private static long[] initMagics(final int[][] directions, final long[] masks, final long[] magics,
+                                   final int[] shifts, final int[] offsets) {
+    int tableSize = 0;
+    for (int square = 0; square < BoardUtils.TOTAL_SQUARES; square++) {
+      masks[square] = computeRelevantMask(square, directions);
+      shifts[square] = Long.SIZE - Long.bitCount(masks[square]);
+      offsets[square] = tableSize;
+      tableSize += 1 << Long.bitCount(masks[square]);
+    }
+
+    final long[] table = new long[tableSize];
+    final long[] random = {SEED};
+    for (int square = 0; square < BoardUtils.TOTAL_SQUARES; square++) {
+      final int size = 1 << Long.bitCount(masks[square]);
+      final long[] occupancies = new long[size];
+      final long[] references = new long[size];
+
+      // enumerate every subset of the mask (carry-rippler) together with its reference attack set
+      long subset = 0L;
+      for (int i = 0; i < size; i++) {
+        occupancies[i] = subset;
+        references[i] = computeSlidingAttacks(square, subset, directions);
+        subset = (subset - masks[square]) & masks[square];
+      }
+
+      // try sparse random candidates until every subset maps to a slot without destructive collision
+      final int[] epoch = new int[size];
+      int attempt = 0;
+      boolean found = false;
+      while (!found) {
+        final long magic = nextSparseRandom(random);
+        if (Long.bitCount((masks[square] * magic) >>> 56) < 6) {
+          continue;
+        }
+        attempt++;
+        found = true;
+        for (int i = 0; i < size && found; i++) {
+          final int index = (int) ((occupancies[i] * magic) >>> shifts[square]);
+          if (epoch[index] < attempt) {
+            epoch[index] = attempt;
+            table[offsets[square] + index] = references[i];
+          } else if (table[offsets[square] + index] != references[i]) {
+            found = false;
+          }
+        }
+        magics[square] = magic;
+      }
+    }
+    return table;
+  }
+
+  /**
+   * Computes the blockers relevant to a slider on the given square, i.e. every ray square except the last one.
+   *
+   * @param square     The position index of the slider.
+   * @param directions The ray directions of the slider.
+   * @return The relevant occupancy mask.
+   */
+  private static long computeRelevantMask(final int square, final int[][] directions) {
+    long mask = 0L;
+    for (final int[] direction : directions) {
+      int row = square / BoardUtils.BOARD_COLS + direction[0];
+      int col = square % BoardUtils.BOARD_COLS + direction[1];
+      while (isOnBoard(row + direction[0], col + direction[1])) {
+        mask |= 1L << (row * BoardUtils.BOARD_COLS + col);
+        row += direction[0];
+        col += direction[1];
+      }
+    }
+    return mask;
+  }
+
+  /**
+   * Computes the attacks of a slider by walking its rays until the first blocker.
+   *
+   * @param square     The position index of the slider.
+   * @param occupied   The occupancy bitboard.
+   * @param directions The ray directions of the slider.
+   * @return The bitboard of attacked squares.
+   */
+  private static long computeSlidingAttacks(final int square, final long occupied, final int[][] directions) {
+    long attacks = 0L;
+    for (final int[] direction : directions) {
+      int row = square / BoardUtils.BOARD_COLS + direction[0];
+      int col = square % BoardUtils.BOARD_COLS + direction[1];
+      while (isOnBoard(row, col)) {
+        final long bit = 1L << (row * BoardUtils.BOARD_COLS + col);
+        attacks |= bit;
+        if ((occupied & bit) != 0) {
+          break;
+        }
+        row += direction[0];
+        col += direction[1];
+      }
+    }
+    return attacks;
+  }
+
+  private static boolean isOnBoard(final int row, final int col) {
+    return row >= 0 && row < BoardUtils.BOARD_ROWS && col >= 0 && col < BoardUtils.BOARD_COLS;
+  }
+
+  /**
+   * Draws a random number with few set bits from a xorshift generator, which makes a good magic candidate.
+   *
+   * @param state The single element generator state.
+   * @return The sparse random number.
+   */
+  private static long nextSparseRandom(final long[] state) {
+    return nextRandom(state) & nextRandom(state) & nextRandom(state);
+  }
+
+  private static long nextRandom(final long[] state) {
+    long x = state[0];
+    x ^= x >>> 12;
+    x ^= x << 25;
+    x ^= x >>> 27;
+    state[0] = x;
+    return x * 0x2545F4914F6CDD1DL;
+  }
+}
@@ -0,0 +1,238 @@
+package main.com.chess.engine.board;
+
+import main.com.chess.engine.common.Side;
+import main.com.chess.engine.moves.CompactMove;
+import main.com.chess.engine.moves.Move;
+import main.com.chess.engine.pieces.Piece;
+import main.com.chess.engine.pieces.PieceType;
+
+import java.util.Arrays;
+
+/**
+ * Represents a mutable chess board meant for search, where moves are made and unmade in place.
+ * <p>
+ * {@link #makeMove(int)} updates the bitboards directly and records what is needed to revert the move on an undo
+ * stack of primitive arrays, and {@link #unmakeMove()} pops it again, so walking a game tree allocates no board.
+ * Moves may be given as {@link CompactMove encoded moves} or as {@link Move} objects, which are encoded first.
+ * All {@link Board} views reflect the current state; moves and pieces obtained from them must not be kept across
+ * {@code makeMove}/{@code unmakeMove} calls. The immutable {@link Move#execute()} API is left untouched and
+ * {@link #snapshot()} creates a persistent copy of the current state.
+ */
+public class MutableChessBoard extends AbstractBitboardChessBoard {
+  private static final int INITIAL_UNDO_CAPACITY = 64;
+
+  // undo stack, one entry per made move
+  private int[] undoMoves;
+  private long[] undoMovedBitboards;
+  private int[] undoEnPassantSquares;
+  private long[] undoZobristKeys;
+  private long[] undoPawnKeys;
+  private int[] undoMiddlegameScores;
+  private int[] undoEndgameScores;
+  private int[] undoPhases;
+  private Side[] undoNextMoveMakers;
+  private int undoSize;
+
+  private MutableChessBoard(final long[] pieceBitboards, final long movedBitboard,
+                            final Side nextMoveMaker, final int enPassantSquare) {
+    super(pieceBitboards, movedBitboard, nextMoveMaker, enPassantSquare);
+    this.undoMoves = new int[INITIAL_UNDO_CAPACITY];
+    this.undoMovedBitboards = new long[INITIAL_UNDO_CAPACITY];
+    this.undoEnPassantSquares = new int[INITIAL_UNDO_CAPACITY];
+    this.undoZobristKeys = new long[INITIAL_UNDO_CAPACITY];
+    this.undoPawnKeys = new long[INITIAL_UNDO_CAPACITY];
+    this.undoMiddlegameScores = new int[INITIAL_UNDO_CAPACITY];
+    this.undoEndgameScores = new int[INITIAL_UNDO_CAPACITY];
+    this.undoPhases = new int[INITIAL_UNDO_CAPACITY];
+    this.undoNextMoveMakers = new Side[INITIAL_UNDO_CAPACITY];
+  }
+
+  /**
+   * Creates a mutable copy of any board.
+   *
+   * @param board The board to copy.
+   * @return The mutable board holding the same position.
+   */
+  public static MutableChessBoard copyOf(final Board board) {
+    if (board instanceof AbstractBitboardChessBoard bitboardChessBoard) {
+      return new MutableChessBoard(bitboardChessBoard.pieceBitboards, bitboardChessBoard.movedBitboard,
+                                   bitboardChessBoard.nextMoveMaker, bitboardChessBoard.enPassantSquare);
+    }
+    final long[] pieceBitboards = new long[BoardUtils.TOTAL_PIECE_BITBOARDS];
+    long movedBitboard = 0L;
+    for (final Side side : Side.values()) {
+      for (final PieceType type : PieceType.values()) {
+        pieceBitboards[BoardUtils.getBitboardIndex(type, side)] = board.getPieceBitboard(type, side);
+      }
+    }
+    for (final Piece piece : board.getAllActiveWhitePieces()) {
+      movedBitboard |= piece.hasMoved() ? 1L << piece.getPosition().getX() : 0L;
+    }
+    for (final Piece piece : board.getAllActiveBlackPieces()) {
+      movedBitboard |= piece.hasMoved() ? 1L << piece.getPosition().getX() : 0L;
+    }
+    return new MutableChessBoard(pieceBitboards, movedBitboard, board.getNextMoveMaker(),
+                                 Math.max(NO_SQUARE, board.getEnPassantSquare()));
+  }
+
+  /**
+   * Makes the given move on this board in place. The move must be a move of the side to move, generated for the
+   * current state.
+   *
+   * @param move The move to make.
+   */
+  public void makeMove(final Move move) {
+    makeMove(CompactMove.fromMove(move));
+  }
+
+  /**
+   * Makes the given {@link CompactMove encoded move} on this board in place. The move must be a move of the side
+   * to move, generated for the current state.
+   *
+   * @param move The encoded move to make.
+   */
+  public void makeMove(final int move) {
+    ensureUndoCapacity();
+    undoMoves[undoSize] = move;
+    undoMovedBitboards[undoSize] = movedBitboard;
+    undoEnPassantSquares[undoSize] = enPassantSquare;
+    undoZobristKeys[undoSize] = zobristKey;
+    undoPawnKeys[undoSize] = pawnKey;
+    undoMiddlegameScores[undoSize] = middlegameScore;
+    undoEndgameScores[undoSize] = endgameScore;
+    undoPhases[undoSize] = phase;
+    undoNextMoveMakers[undoSize] = nextMoveMaker;
+    undoSize++;
+
+    final Side side = nextMoveMaker;
+    final int origin = CompactMove.getOrigin(move);
+    final int destination = CompactMove.getDestination(move);
+    final PieceType movingType = CompactMove.getMovingType(move);
+    zobristKey = Zobrist.updateKey(zobristKey, move, side, getCastlingRights(), enPassantSquare);
+    pawnKey = Zobrist.updatePawnKey(pawnKey, move, side);
+    middlegameScore = PieceSquareTables.updateMiddlegameScore(middlegameScore, move, side);
+    endgameScore = PieceSquareTables.updateEndgameScore(endgameScore, move, side);
+    phase = PieceSquareTables.updatePhase(phase, move);
+
+    if (CompactMove.isCapture(move)) {
+      final int capturedSquare = CompactMove.getCapturedSquare(move);
+      togglePiece(CompactMove.getCapturedType(move), side.getOpponent(), capturedSquare);
+      movedBitboard &= ~(1L << capturedSquare);
+    }
+    togglePiece(movingType, side, origin);
+    togglePiece(CompactMove.isPromotion(move) ? CompactMove.getPromotionType(move) : movingType, side, destination);
+    movedBitboard = (movedBitboard & ~(1L << origin)) | (1L << destination);
+
+    if (CompactMove.isCastling(move)) {
+      final int rookOrigin = CompactMove.getRookOrigin(move);
+      final int rookDestination = CompactMove.getRookDestination(move);
+      togglePiece(PieceType.ROOK, side, rookOrigin);
+      togglePiece(PieceType.ROOK, side, rookDestination);
+      movedBitboard = (movedBitboard & ~(1L << rookOrigin)) | (1L << rookDestination);
+    }
+
+    enPassantSquare = CompactMove.isDoubleJump(move) ? destination : NO_SQUARE;
+    nextMoveMaker = side.getOpponent();
+    invalidateViews();
+  }
+
+  /**
+   * Reverts the last move made on this board.
+   *
+   * @throws IllegalStateException If no move has been made.
+   */
+  public void unmakeMove() {
+    if (undoSize == 0) {
+      throw new IllegalStateException("No move to unmake.");
+    }
+    undoSize--;
+    final int move = undoMoves[undoSize];
+    final Side side = undoNextMoveMakers[undoSize];
+    final PieceType movingType = CompactMove.getMovingType(move);
+
+    togglePiece(CompactMove.isPromotion(move) ? CompactMove.getPromotionType(move) : movingType, side,
+                CompactMove.getDestination(move));
+    togglePiece(movingType, side, CompactMove.getOrigin(move));
+
+    if (CompactMove.isCapture(move)) {
+      togglePiece(CompactMove.getCapturedType(move), side.getOpponent(), CompactMove.getCapturedSquare(move));
+    }
+
+    if (CompactMove.isCastling(move)) {
+      togglePiece(PieceType.ROOK, side, CompactMove.getRookDestination(move));
+      togglePiece(PieceType.ROOK, side, CompactMove.getRookOrigin(move));
+    }
+
+    movedBitboard = undoMovedBitboards[undoSize];
+    enPassantSquare = undoEnPassantSquares[undoSize];
+    zobristKey = undoZobristKeys[undoSize];
+    pawnKey = undoPawnKeys[undoSize];
+    middlegameScore = undoMiddlegameScores[undoSize];
+    endgameScore = undoEndgameScores[undoSize];
+    phase = undoPhases[undoSize];
+    nextMoveMaker = side;
+    invalidateViews();
+  }
+
+  /**
+   * Gets the last move made on this board.
+   *
+   * @return The last encoded move, or {@link CompactMove#NONE} if no move has been made.
+   */
+  public int getLastMove() {
+    return undoSize == 0 ? CompactMove.NONE : undoMoves[undoSize - 1];
+  }
+
+  /**
+   * Retrieves the number of moves that can currently be unmade.
+   *
+   * @return The size of the undo stack.
+   */
+  public int getUndoDepth() {
+    return undoSize;
+  }
+
+  /**
+   * Creates an immutable copy of the current state.
+   *
+   * @return The persistent board holding the current position.
+   */
+  public BitboardChessBoard snapshot() {
+    return BitboardChessBoard.copyOf(this);
+  }
+
+  /**
+   * Adds or removes a piece on the given square by flipping its bit in the piece and side bitboards.
+   *
+   * @param type   The type of the piece.
+   * @param side   The side of the piece.
+   * @param square The position index of the square.
+   */
+  private void togglePiece(final PieceType type, final Side side, final int square) {
+    final long mask = 1L << square;
+    pieceBitboards[BoardUtils.getBitboardIndex(type, side)] ^= mask;
+    if (side.isWhite()) {
+      whiteBitboard ^= mask;
+    } else {
+      blackBitboard ^= mask;
+    }
+  }
+
+  /**
+   * Grows the undo stack when it is full.
+   */
+  private void ensureUndoCapacity() {
+    if (undoSize == undoMoves.length) {
+      final int capacity = undoMoves.length * 2;
+      undoMoves = Arrays.copyOf(undoMoves, capacity);
+      undoMovedBitboards = Arrays.copyOf(undoMovedBitboards, capacity);
+      undoEnPassantSquares = Arrays.copyOf(undoEnPassantSquares, capacity);
+      undoZobristKeys = Arrays.copyOf(undoZobristKeys, capacity);
+      undoPawnKeys = Arrays.copyOf(undoPawnKeys, capacity);
+      undoMiddlegameScores = Arrays.copyOf(undoMiddlegameScores, capacity);
+      undoEndgameScores = Arrays.copyOf(undoEndgameScores, capacity);
+      undoPhases = Arrays.copyOf(undoPhases, capacity);
+      undoNextMoveMakers = Arrays.copyOf(undoNextMoveMakers, capacity);
+    }
+  }
+}
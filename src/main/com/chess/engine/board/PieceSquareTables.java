@@ -0,0 +1,291 @@
+package main.com.chess.engine.board;
+
+import main.com.chess.engine.common.Side;
+import main.com.chess.engine.moves.CompactMove;
+import main.com.chess.engine.pieces.PieceType;
+
+/**
+ * Tapered material and piece-square values, summed over the pieces of a position and kept up to date by the boards
+ * as moves are made.
+ * <p>
+ * Every piece standing on a square is worth a middlegame and an endgame value: its {@link PieceType#getValue()
+ * material value}, kings excepted, plus a bonus or penalty for the square. Values are from white's point of view, so
+ * black pieces count negatively, and black squares mirror white ones. The game phase counts the remaining knights
+ * and bishops once, rooks twice and queens four times, from {@value #MAX_PHASE} at the start of a game down to 0;
+ * {@link #taper(int, int, int)} blends the two scores by it. Like {@link Zobrist} keys, the sums are computed from
+ * scratch by the {@code compute} methods and derived from the sums before a move by the {@code update} methods.
+ */
+public final class PieceSquareTables {
+  /**
+   * The game phase with all pieces on the board.
+   */
+  public static final int MAX_PHASE = 24;
+
+  // by piece type ordinal: king, queen, rook, knight, bishop, pawn
+  private static final int[] PHASE_WEIGHTS = {0, 4, 2, 1, 1, 0};
+
+  // square bonuses for white, from a8 to h1; kings and pawns differ between middlegame and endgame
+  private static final int[] KING_MIDDLEGAME = {
+    -30, -40, -40, -50, -50, -40, -40, -30,
+    -30, -40, -40, -50, -50, -40, -40, -30,
+    -30, -40, -40, -50, -50, -40, -40, -30,
+    -30, -40, -40, -50, -50, -40, -40, -30,
+    -20, -30, -30, -40, -40, -30, -30, -20,
+    -10, -20, -20, -20, -20, -20, -20, -10,
+     20,  20,   0,   0,   0,   0,  20,  20,
+     20,  30,  10,   0,   0,  10,  30,  20
+  };
+  private static final int[] KING_ENDGAME = {
+    -50, -40, -30, -20, -20, -30, -40, -50,
+    -30, -20, -10,   0,   0, -10, -20, -30,
+    -30, -10,  20,  30,  30,  20, -10, -30,
+    -30, -10,  30,  40,  40,  30, -10, -30,
+    -30, -10,  30,  40,  40,  30, -10, -30,
+    -30, -10,  20,  30,  30,  20, -10, -30,
+    -30, -30,   0,   0,   0,   0, -30, -30,
+    -50, -30, -30, -30, -30, -30, -30, -50
+  };
+  private static final int[] QUEEN = {
+    -20, -10, -10,  -5,  -5, -10, -10, -20,
+    -10,   0,   0,   0,   0,   0,   0, -10,
+    -10,   0,   5,   5,   5,   5,   0, -10,
+     -5,   0,   5,   5,   5,   5,   0,  -5,
+      0,   0,   5,   5,   5,   5,   0,  -5,
+    -10,   5,   5,   5,   5,   5,   0, -10,
+    -10,   0,   5,   0,   0,   0,   0, -10,
+    -20, -10, -10,  -5,  -5, -10, -10, -20
+  };
+  private static final int[] ROOK = {
+      0,   0,   0,   0,   0,   0,   0,   0,
+      5,  10,  10,  10,  10,  10,  10,   5,
+     -5,   0,   0,   0,   0,   0,   0,  -5,
+     -5,   0,   0,   0,   0,   0,   0,  -5,
+     -5,   0,   0,   0,   0,   0,   0,  -5,
+     -5,   0,   0,   0,   0,   0,   0,  -5,
+     -5,   0,   0,   0,   0,   0,   0,  -5,
+      0,   0,   0,   5,   5,   0,   0,   0
+  };
+  private static final int[] KNIGHT = {
+    -50, -40, -30, -30, -30, -30, -40, -50,
+    -40, -20,   0,   0,   0,   0, -20, -40,
+    -30,   0,  10,  15,  15,  10,   0, -30,
+    -30,   5,  15,  20,  20,  15,   5, -30,
+    -30,   0,  15,  20,  20,  15,   0, -30,
+    -30,   5,  10,  15,  15,  10,   5, -30,
+    -40, -20,   0,   5,   5,   0, -20, -40,
+    -50, -40, -30, -30, -30, -30, -40, -50
+  };
+  private static final int[] BISHOP = {
+    -20, -10, -10, -10, -10, -10, -10, -20,
+    -10,   0,   0,   0,   0,   0,   0, -10,
+    -10,   0,   5,  10,  10,   5,   0, -10,
+    -10,   5,   5,  10,  10,   5,   5, -10,
+    -10,   0,  10,  10,  10,  10,   0, -10,
+    -10,  10,  10,  10,  10,  10,  10, -10,
+    -10,   5,   0,   0,   0,   0,   5, -10,
+    -20, -10, -10, -10, -10, -10, -10, -20
+  };
+  private static final int[] PAWN_MIDDLEGAME = {
+      0,   0,   0,   0,   0,   0,   0,   0,
+     50,  50,  50,  50,  50,  50,  50,  50,
+     10,  10,  20,  30,  30,  20,  10,  10,
+      5,   5,  10,  25,  25,  10,   5,   5,
+      0,   0,   0,  20,  20,   0,   0,   0,
+      5,  -5, -10,   0,   0, -10,  -5,   5,
+      5,  10,  10, -20, -20,  10,  10,   5,
+      0,   0,   0,   0,   0,   0,   0,   0
+  };
+  private static final int[] PAWN_ENDGAME = {
+      0,   0,   0,   0,   0,   0,   0,   0,
+     80,  80,  80,  80,  80,  80,  80,  80,
+     50,  50,  50,  50,  50,  50,  50,  50,
+     30,  30,  30,  30,  30,  30,  30,  30,
+     15,  15,  15,  15,  15,  15,  15,  15,
+      5,   5,   5,   5,   5,   5,   5,   5,
+      0,   0,   0,   0,   0,   0,   0,   0,
+      0,   0,   0,   0,   0,   0,   0,   0
+  };
+
+  // signed values by bitboard index and square, material included
+  private static final int[][] MIDDLEGAME = new int[BoardUtils.TOTAL_PIECE_BITBOARDS][BoardUtils.TOTAL_SQUARES];
+  private static final int[][] ENDGAME = new int[BoardUtils.TOTAL_PIECE_BITBOARDS][BoardUtils.TOTAL_SQUARES];
+
+  static {
+    final int[][] middlegameBonuses = {KING_MIDDLEGAME, QUEEN, ROOK, KNIGHT, BISHOP, PAWN_MIDDLEGAME};
+    final int[][] endgameBonuses = {KING_ENDGAME, QUEEN, ROOK, KNIGHT, BISHOP, PAWN_ENDGAME};
+    for (final PieceType type : PieceType.values()) {
+      final int material = type.isKing() ? 0 : type.getValue();
+      for (final Side side : Side.values()) {
+        final int index = BoardUtils.getBitboardIndex(type, side);
+        for (int square = 0; square < BoardUtils.TOTAL_SQUARES; square++) {
+          // flipping the rows gives black's view of the board
+          final int whiteSquare = side.isWhite() ? square : square ^ 56;
+          final int sign = side.isWhite() ? 1 : -1;
+          MIDDLEGAME[index][square] = sign * (material + middlegameBonuses[type.ordinal()][whiteSquare]);
+          ENDGAME[index][square] = sign * (material + endgameBonuses[type.ordinal()][whiteSquare]);
+        }
+      }
+    }
+  }
+
+  private PieceSquareTables() {
+  }
+
+  /**
+   * Gets the middlegame value of a piece standing on a square.
+   *
+   * @param type   The type of the piece.
+   * @param side   The side of the piece.
+   * @param square The position index of the square.
+   * @return The value in centipawns, negative for black pieces.
+   */
+  public static int getMiddlegameValue(final PieceType type, final Side side, final int square) {
+    return MIDDLEGAME[BoardUtils.getBitboardIndex(type, side)][square];
+  }
+
+  /**
+   * Gets the endgame value of a piece standing on a square.
+   *
+   * @param type   The type of the piece.
+   * @param side   The side of the piece.
+   * @param square The position index of the square.
+   * @return The value in centipawns, negative for black pieces.
+   */
+  public static int getEndgameValue(final PieceType type, final Side side, final int square) {
+    return ENDGAME[BoardUtils.getBitboardIndex(type, side)][square];
+  }
+
+  /**
+   * Gets how much a piece of the given type counts towards the game phase.
+   *
+   * @param type The type of the piece.
+   * @return The phase weight.
+   */
+  public static int getPhaseWeight(final PieceType type) {
+    return PHASE_WEIGHTS[type.ordinal()];
+  }
+
+  /**
+   * Blends a middlegame and an endgame score by the game phase.
+   *
+   * @param middlegame The middlegame score.
+   * @param endgame    The endgame score.
+   * @param phase      The game phase; phases beyond {@value #MAX_PHASE}, reached by promotions, count as such.
+   * @return The tapered score.
+   */
+  public static int taper(final int middlegame, final int endgame, final int phase) {
+    final int clampedPhase = Math.min(phase, MAX_PHASE);
+    return (middlegame * clampedPhase + endgame * (MAX_PHASE - clampedPhase)) / MAX_PHASE;
+  }
+
+  /**
+   * Computes the middlegame score of a board from scratch.
+   *
+   * @param board The board.
+   * @return The sum of the middlegame values of all pieces.
+   */
+  public static int computeMiddlegameScore(final Board board) {
+    return sum(board, MIDDLEGAME);
+  }
+
+  /**
+   * Computes the endgame score of a board from scratch.
+   *
+   * @param board The board.
+   * @return The sum of the endgame values of all pieces.
+   */
+  public static int computeEndgameScore(final Board board) {
+    return sum(board, ENDGAME);
+  }
+
+  /**
+   * Computes the game phase of a board from scratch.
+   *
+   * @param board The board.
+   * @return The sum of the phase weights of all pieces.
+   */
+  public static int computePhase(final Board board) {
+    int phase = 0;
+    for (final PieceType type : PieceType.values()) {
+      phase += PHASE_WEIGHTS[type.ordinal()] * Long.bitCount(board.getPieceBitboard(type, Side.WHITE)
+                                                             | board.getPieceBitboard(type, Side.BLACK));
+    }
+    return phase;
+  }
+
+  /**
+   * Derives the middlegame score after a move from the score before it.
+   *
+   * @param score The middlegame score before the move.
+   * @param move  The {@link CompactMove encoded move}.
+   * @param side  The side making the move.
+   * @return The middlegame score after the move.
+   */
+  public static int updateMiddlegameScore(final int score, final int move, final Side side) {
+    return score + delta(MIDDLEGAME, move, side);
+  }
+
+  /**
+   * Derives the endgame score after a move from the score before it.
+   *
+   * @param score The endgame score before the move.
+   * @param move  The {@link CompactMove encoded move}.
+   * @param side  The side making the move.
+   * @return The endgame score after the move.
+   */
+  public static int updateEndgameScore(final int score, final int move, final Side side) {
+    return score + delta(ENDGAME, move, side);
+  }
+
+  /**
+   * Derives the game phase after a move from the phase before it.
+   *
+   * @param phase The game phase before the move.
+   * @param move  The {@link CompactMove encoded move}.
+   * @return The game phase after the move.
+   */
+  public static int updatePhase(final int phase, final int move) {
+    int updatedPhase = phase;
+    if (CompactMove.isCapture(move)) {
+      updatedPhase -= PHASE_WEIGHTS[CompactMove.getCapturedType(move).ordinal()];
+    }
+    if (CompactMove.isPromotion(move)) {
+      updatedPhase += PHASE_WEIGHTS[CompactMove.getPromotionType(move).ordinal()];
+    }
+    return updatedPhase;
+  }
+
+  private static int sum(final Board board, final int[][] values) {
+    int score = 0;
+    for (final Side side : Side.values()) {
+      for (final PieceType type : PieceType.values()) {
+        final int[] squareValues = values[BoardUtils.getBitboardIndex(type, side)];
+        long pieces = board.getPieceBitboard(type, side);
+        while (pieces != 0) {
+          score += squareValues[Long.numberOfTrailingZeros(pieces)];
+          pieces &= pieces - 1;
+        }
+      }
+    }
+    return score;
+  }
+
+  /**
+   * Computes the change of a score made by a move: the values of the pieces it moves, places and captures.
+   */
+  private static int delta(final int[][] values, final int move, final Side side) {
+    final PieceType movingType = CompactMove.getMovingType(move);
+    final PieceType placedType = CompactMove.isPromotion(move) ? CompactMove.getPromotionType(move) : movingType;
+    int delta = values[BoardUtils.getBitboardIndex(placedType, side)][CompactMove.getDestination(move)]
+      - values[BoardUtils.getBitboardIndex(movingType, side)][CompactMove.getOrigin(move)];
+    if (CompactMove.isCapture(move)) {
+      delta -= values[BoardUtils.getBitboardIndex(CompactMove.getCapturedType(move), side.getOpponent())]
+        [CompactMove.getCapturedSquare(move)];
+    }
+    if (CompactMove.isCastling(move)) {
+      final int[] rookValues = values[BoardUtils.getBitboardIndex(PieceType.ROOK, side)];
+      delta += rookValues[CompactMove.getRookDestination(move)] - rookValues[CompactMove.getRookOrigin(move)];
+    }
+    return delta;
+  }
+}
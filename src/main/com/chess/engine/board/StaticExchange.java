@@ -0,0 +1,176 @@
+package main.com.chess.engine.board;
+
+import main.com.chess.engine.common.Side;
+import main.com.chess.engine.moves.CompactMove;
+import main.com.chess.engine.moves.Move;
+import main.com.chess.engine.pieces.PieceType;
+
+/**
+ * Static exchange evaluation (SEE): the material a move wins or loses once every capture on its destination square
+ * has been played out, computed from the bitboards without making any move.
+ * <p>
+ * Both sides recapture with their least valuable attacker first and may stop capturing whenever that is better for
+ * them. Sliders behind a capturing piece join in as soon as it has left, since attackers are recomputed for the
+ * occupancy left after every capture. Pins are ignored, and so are promotions by recapturing pawns, while the king
+ * only recaptures when the opponent has no attacker left. Pieces count at {@link PieceType#getValue()}.
+ */
+public final class StaticExchange {
+  // least valuable first, the order in which attackers join the exchange
+  private static final PieceType[] ATTACKER_ORDER = {
+    PieceType.PAWN, PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN, PieceType.KING
+  };
+  // an exchange cannot take more captures than there are pieces on the board
+  private static final int MAX_EXCHANGE = 32;
+
+  private StaticExchange() {
+  }
+
+  /**
+   * Computes the material a move wins, once the exchange it starts on its destination square is played out.
+   *
+   * @param board The board the move is made on.
+   * @param move  The encoded move.
+   * @return The material balance of the exchange for the side making the move, e.g. 200 for winning a knight for a
+   * pawn, negative if the move loses material.
+   */
+  public static int see(final Board board, final int move) {
+    final int to = CompactMove.getDestination(move);
+    final int[] gain = new int[MAX_EXCHANGE];
+    long occupied = occupancyAfter(board, move);
+    Side side = sideOf(board, CompactMove.getOrigin(move)).getOpponent();
+    gain[0] = capturedValue(move);
+    int victimValue = movedValue(move);
+
+    int d = 0;
+    while (d + 1 < MAX_EXCHANGE) {
+      final long attackers = AttackMap.getAttackers(board, to, side, occupied) & occupied;
+      if (attackers == 0) {
+        break;
+      }
+      final PieceType attacker = leastValuableAttacker(board, attackers, side);
+      if (attacker.isKing()
+          && (AttackMap.getAttackers(board, to, side.getOpponent(), occupied) & occupied) != 0) {
+        // the king cannot capture into a defended square
+        break;
+      }
+      d++;
+      // the speculative gain if the side captures here and the exchange stops
+      gain[d] = victimValue - gain[d - 1];
+      occupied ^= Long.lowestOneBit(attackers & board.getPieceBitboard(attacker, side));
+      victimValue = attacker.getValue();
+      side = side.getOpponent();
+    }
+    // each side only captures when that beats standing pat
+    while (d > 0) {
+      gain[d - 1] = -Math.max(-gain[d - 1], gain[d]);
+      d--;
+    }
+    return gain[0];
+  }
+
+  /**
+   * Computes the material a move wins, once the exchange it starts on its destination square is played out.
+   *
+   * @param move The move, made on its own board.
+   * @return The material balance of the exchange for the side making the move.
+   */
+  public static int see(final Move move) {
+    return see(move.getBoard(), CompactMove.fromMove(move));
+  }
+
+  /**
+   * Checks whether the exchange a move starts wins at least the given material. Cheaper than comparing
+   * {@link #see(Board, int)}, as the exchange is abandoned as soon as its outcome relative to the threshold is known.
+   *
+   * @param board     The board the move is made on.
+   * @param move      The encoded move.
+   * @param threshold The material the move must win; 0 tells whether the move at least breaks even.
+   * @return {@code true} if the exchange wins at least the threshold, {@code false} otherwise.
+   */
+  public static boolean seeGE(final Board board, final int move, final int threshold) {
+    final int to = CompactMove.getDestination(move);
+    // what the side making the move is ahead of the threshold if the opponent does not recapture
+    int swap = capturedValue(move) - threshold;
+    if (swap < 0) {
+      return false;
+    }
+    // what the opponent is ahead if it recaptures the moved piece and the exchange stops there
+    swap = movedValue(move) - swap;
+    if (swap <= 0) {
+      return true;
+    }
+
+    long occupied = occupancyAfter(board, move);
+    Side side = sideOf(board, CompactMove.getOrigin(move));
+    // 1 while the side making the move reaches the threshold if the exchange stops now
+    int result = 1;
+    while (true) {
+      side = side.getOpponent();
+      final long attackers = AttackMap.getAttackers(board, to, side, occupied) & occupied;
+      if (attackers == 0) {
+        break;
+      }
+      result ^= 1;
+      final PieceType attacker = leastValuableAttacker(board, attackers, side);
+      if (attacker.isKing()) {
+        // the king may only capture when the opponent cannot recapture
+        return (AttackMap.getAttackers(board, to, side.getOpponent(), occupied) & occupied) != 0
+          ? result == 0 : result == 1;
+      }
+      // what the capturing side is ahead if its attacker gets recaptured and the exchange stops there
+      swap = attacker.getValue() - swap;
+      if (swap < result) {
+        break;
+      }
+      occupied ^= Long.lowestOneBit(attackers & board.getPieceBitboard(attacker, side));
+    }
+    return result == 1;
+  }
+
+  /**
+   * Checks whether the exchange a move starts wins at least the given material.
+   *
+   * @param move      The move, made on its own board.
+   * @param threshold The material the move must win.
+   * @return {@code true} if the exchange wins at least the threshold, {@code false} otherwise.
+   */
+  public static boolean seeGE(final Move move, final int threshold) {
+    return seeGE(move.getBoard(), CompactMove.fromMove(move), threshold);
+  }
+
+  /**
+   * Computes the occupancy after the move, with the captured piece and the moving piece's origin cleared.
+   */
+  private static long occupancyAfter(final Board board, final int move) {
+    long occupied = board.getOccupiedBitboard() & ~(1L << CompactMove.getOrigin(move));
+    if (CompactMove.isEnPassant(move)) {
+      occupied &= ~(1L << CompactMove.getCapturedSquare(move));
+    }
+    return occupied | 1L << CompactMove.getDestination(move);
+  }
+
+  private static int capturedValue(final int move) {
+    final int captured = CompactMove.isCapture(move) ? CompactMove.getCapturedType(move).getValue() : 0;
+    return CompactMove.isPromotion(move)
+      ? captured + CompactMove.getPromotionType(move).getValue() - PieceType.PAWN.getValue()
+      : captured;
+  }
+
+  private static int movedValue(final int move) {
+    return (CompactMove.isPromotion(move) ? CompactMove.getPromotionType(move) : CompactMove.getMovingType(move))
+      .getValue();
+  }
+
+  private static Side sideOf(final Board board, final int square) {
+    return (board.getSideBitboard(Side.WHITE) & (1L << square)) != 0 ? Side.WHITE : Side.BLACK;
+  }
+
+  private static PieceType leastValuableAttacker(final Board board, final long attackers, final Side side) {
+    for (final PieceType type : ATTACKER_ORDER) {
+      if ((attackers & board.getPieceBitboard(type, side)) != 0) {
+        return type;
+      }
+    }
+    throw new IllegalStateException("No attacker among " + Long.toHexString(attackers));
+  }
+}
@@ -0,0 +1,207 @@
+package main.com.chess.engine.board;
+
+import main.com.chess.engine.common.Side;
+import main.com.chess.engine.moves.CompactMove;
+import main.com.chess.engine.pieces.PieceType;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist hashing of chess positions.
+ * <p>
+ * A position key is the XOR of one random key per (piece type, side, square) on the board, a key when black is to
+ * move, a key per castling rights combination and a key for the column of the en-passant pawn, if any. Keys are
+ * drawn from a fixed seed so they are identical across runs. {@link #computeKey(Board)} builds a key from scratch;
+ * {@link #updateKey(long, int, Side, int, int)} derives the key after a move with a few XORs.
+ * <p>
+ * The pawn key of a position is the XOR of the piece-square keys of its pawns alone, so that positions sharing their
+ * pawn structure share their pawn key; see {@link #computePawnKey(Board)} and {@link #updatePawnKey(long, int, Side)}.
+ */
+public final class Zobrist {
+  private static final long SEED = 0x5DEECE66DL;
+
+  private static final long[][] PIECE_KEYS = new long[BoardUtils.TOTAL_PIECE_BITBOARDS][BoardUtils.TOTAL_SQUARES];
+  private static final long[] CASTLING_KEYS = new long[CastlingRights.ALL + 1];
+  private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.BOARD_COLS];
+  private static final long BLACK_TO_MOVE_KEY;
+
+  /**
+   * Castling rights kept when a piece leaves or lands on a square; only the king and rook home squares clear any.
+   */
+  private static final int[] CASTLING_RIGHTS_MASKS = new int[BoardUtils.TOTAL_SQUARES];
+
+  static {
+    final SplittableRandom random = new SplittableRandom(SEED);
+    for (final long[] keys : PIECE_KEYS) {
+      for (int square = 0; square < keys.length; square++) {
+        keys[square] = random.nextLong();
+      }
+    }
+    for (int rights = 0; rights < CASTLING_KEYS.length; rights++) {
+      CASTLING_KEYS[rights] = rights == CastlingRights.NONE ? 0L : random.nextLong();
+    }
+    for (int col = 0; col < EN_PASSANT_KEYS.length; col++) {
+      EN_PASSANT_KEYS[col] = random.nextLong();
+    }
+    BLACK_TO_MOVE_KEY = random.nextLong();
+
+    Arrays.fill(CASTLING_RIGHTS_MASKS, CastlingRights.ALL);
+    CASTLING_RIGHTS_MASKS[CastlingRights.WHITE_KING_SQUARE] &= ~(CastlingRights.WHITE_KING_SIDE | CastlingRights.WHITE_QUEEN_SIDE);
+    CASTLING_RIGHTS_MASKS[CastlingRights.WHITE_KING_SIDE_ROOK_SQUARE] &= ~CastlingRights.WHITE_KING_SIDE;
+    CASTLING_RIGHTS_MASKS[CastlingRights.WHITE_QUEEN_SIDE_ROOK_SQUARE] &= ~CastlingRights.WHITE_QUEEN_SIDE;
+    CASTLING_RIGHTS_MASKS[CastlingRights.BLACK_KING_SQUARE] &= ~(CastlingRights.BLACK_KING_SIDE | CastlingRights.BLACK_QUEEN_SIDE);
+    CASTLING_RIGHTS_MASKS[CastlingRights.BLACK_KING_SIDE_ROOK_SQUARE] &= ~CastlingRights.BLACK_KING_SIDE;
+    CASTLING_RIGHTS_MASKS[CastlingRights.BLACK_QUEEN_SIDE_ROOK_SQUARE] &= ~CastlingRights.BLACK_QUEEN_SIDE;
+  }
+
+  private Zobrist() {
+  }
+
+  /**
+   * Gets the key of a piece standing on a square.
+   *
+   * @param type   The type of the piece.
+   * @param side   The side of the piece.
+   * @param square The position index of the square.
+   * @return The piece-square key.
+   */
+  public static long getPieceKey(final PieceType type, final Side side, final int square) {
+    return PIECE_KEYS[BoardUtils.getBitboardIndex(type, side)][square];
+  }
+
+  /**
+   * Computes the key of a board from scratch.
+   *
+   * @param board The board to hash.
+   * @return The Zobrist key of the position.
+   */
+  public static long computeKey(final Board board) {
+    return computeKey(board, board.getEnPassantSquare());
+  }
+
+  /**
+   * Computes the key of a board from scratch, with the en-passant square given explicitly.
+   *
+   * @param board           The board to hash.
+   * @param enPassantSquare The square of the en-passant pawn, or a negative value if there is none.
+   * @return The Zobrist key of the position.
+   */
+  static long computeKey(final Board board, final int enPassantSquare) {
+    long key = 0L;
+    for (final Side side : Side.values()) {
+      for (final PieceType type : PieceType.values()) {
+        long pieces = board.getPieceBitboard(type, side);
+        while (pieces != 0) {
+          key ^= getPieceKey(type, side, Long.numberOfTrailingZeros(pieces));
+          pieces &= pieces - 1;
+        }
+      }
+    }
+    key ^= CASTLING_KEYS[board.getCastlingRights()];
+    if (enPassantSquare >= 0) {
+      key ^= EN_PASSANT_KEYS[enPassantSquare % BoardUtils.BOARD_COLS];
+    }
+    return board.getNextMoveMaker().isBlack() ? key ^ BLACK_TO_MOVE_KEY : key;
+  }
+
+  /**
+   * Computes the pawn key of a board from scratch.
+   *
+   * @param board The board to hash.
+   * @return The XOR of the keys of all pawns on the board.
+   */
+  public static long computePawnKey(final Board board) {
+    long key = 0L;
+    for (final Side side : Side.values()) {
+      long pawns = board.getPieceBitboard(PieceType.PAWN, side);
+      while (pawns != 0) {
+        key ^= getPieceKey(PieceType.PAWN, side, Long.numberOfTrailingZeros(pawns));
+        pawns &= pawns - 1;
+      }
+    }
+    return key;
+  }
+
+  /**
+   * Derives the pawn key of the position reached by a move from the pawn key of the position it is played in.
+   *
+   * @param pawnKey The pawn key before the move.
+   * @param move    The {@link CompactMove encoded move}.
+   * @param side    The side making the move.
+   * @return The pawn key after the move.
+   */
+  public static long updatePawnKey(final long pawnKey, final int move, final Side side) {
+    long updatedKey = pawnKey;
+    if (CompactMove.isCapture(move) && CompactMove.getCapturedType(move) == PieceType.PAWN) {
+      updatedKey ^= getPieceKey(PieceType.PAWN, side.getOpponent(), CompactMove.getCapturedSquare(move));
+    }
+    if (CompactMove.getMovingType(move) == PieceType.PAWN) {
+      updatedKey ^= getPieceKey(PieceType.PAWN, side, CompactMove.getOrigin(move));
+      if (!CompactMove.isPromotion(move)) {
+        updatedKey ^= getPieceKey(PieceType.PAWN, side, CompactMove.getDestination(move));
+      }
+    }
+    return updatedKey;
+  }
+
+  /**
+   * Derives the key of the position reached by a move from the key of the position it is played in.
+   *
+   * @param key             The key before the move.
+   * @param move            The {@link CompactMove encoded move}.
+   * @param side            The side making the move.
+   * @param castlingRights  The castling rights before the move.
+   * @param enPassantSquare The square of the en-passant pawn before the move, or a negative value if there is none.
+   * @return The key after the move.
+   */
+  public static long updateKey(final long key, final int move, final Side side, final int castlingRights,
+                               final int enPassantSquare) {
+    long updatedKey = key ^ BLACK_TO_MOVE_KEY;
+    final int origin = CompactMove.getOrigin(move);
+    final int destination = CompactMove.getDestination(move);
+    final PieceType movingType = CompactMove.getMovingType(move);
+
+    if (enPassantSquare >= 0) {
+      updatedKey ^= EN_PASSANT_KEYS[enPassantSquare % BoardUtils.BOARD_COLS];
+    }
+    if (CompactMove.isDoubleJump(move)) {
+      updatedKey ^= EN_PASSANT_KEYS[destination % BoardUtils.BOARD_COLS];
+    }
+    if (CompactMove.isCapture(move)) {
+      updatedKey ^= getPieceKey(CompactMove.getCapturedType(move), side.getOpponent(), CompactMove.getCapturedSquare(move));
+    }
+    updatedKey ^= getPieceKey(movingType, side, origin);
+    updatedKey ^= getPieceKey(CompactMove.isPromotion(move) ? CompactMove.getPromotionType(move) : movingType,
+                              side, destination);
+    if (CompactMove.isCastling(move)) {
+      updatedKey ^= getPieceKey(PieceType.ROOK, side, CompactMove.getRookOrigin(move));
+      updatedKey ^= getPieceKey(PieceType.ROOK, side, CompactMove.getRookDestination(move));
+    }
+    return updatedKey ^ CASTLING_KEYS[castlingRights] ^ CASTLING_KEYS[updateCastlingRights(castlingRights, move)];
+  }
+
+  /**
+   * Derives the key of the position reached by a move made on the given board.
+   *
+   * @param board The board the move is played on.
+   * @param move  The {@link CompactMove encoded move}.
+   * @param side  The side making the move.
+   * @return The key after the move.
+   */
+  public static long updateKey(final Board board, final int move, final Side side) {
+    return updateKey(board.getZobristKey(), move, side, board.getCastlingRights(), board.getEnPassantSquare());
+  }
+
+  /**
+   * Derives the castling rights left after a move.
+   *
+   * @param castlingRights The castling rights before the move.
+   * @param move           The {@link CompactMove encoded move}.
+   * @return The castling rights after the move.
+   */
+  public static int updateCastlingRights(final int castlingRights, final int move) {
+    return castlingRights & CASTLING_RIGHTS_MASKS[CompactMove.getOrigin(move)]
+                          & CASTLING_RIGHTS_MASKS[CompactMove.getDestination(move)];
+  }
+}
@@ -1,20 +1,47 @@
 package main.com.chess.engine.common;
 
-import java.util.Objects;
+import main.com.chess.engine.board.BoardUtils;
 
 /**
  * Represents a position on a chessboard using a single coordinate (x).
+ * <p>
+ * Positions are canonical: {@link #of(int)} hands out one shared instance per square, so positions can be compared
+ * by identity and creating one never allocates.
  */
-public class Position {
+public final class Position {
+  /**
+   * The position of no square, used where a move or piece has no real position.
+   */
+  public static final Position INVALID = new Position(-1);
+
+  private static final Position[] CACHED_POSITIONS = cachePositions();
+
   private final int x;
 
+  private Position(final int x) {
+    this.x = x;
+  }
+
   /**
-   * Constructs a new Position object with the specified x-coordinate.
+   * Retrieves the canonical position of a square.
    *
-   * @param x The x-coordinate of the position.
+   * @param x The x-coordinate of the position, between 0 and 63.
+   * @return The shared position instance.
+   * @throws IllegalArgumentException If the coordinate lies off the board.
    */
-  public Position(final int x) {
-    this.x = x;
+  public static Position of(final int x) {
+    if (x < 0 || x >= BoardUtils.TOTAL_SQUARES) {
+      throw new IllegalArgumentException("Invalid position: " + x);
+    }
+    return CACHED_POSITIONS[x];
+  }
+
+  private static Position[] cachePositions() {
+    final Position[] positions = new Position[BoardUtils.TOTAL_SQUARES];
+    for (int i = 0; i < BoardUtils.TOTAL_SQUARES; i++) {
+      positions[i] = new Position(i);
+    }
+    return positions;
   }
 
   /**
@@ -47,7 +74,7 @@ public class Position {
    */
   @Override
   public int hashCode() {
-    return Objects.hash(x);
+    return x;
   }
 
   /**
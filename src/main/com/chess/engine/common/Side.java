@@ -22,7 +22,12 @@ public enum Side {
 
     @Override
     public Player choosePlayer(final Player white, final Player black){
-      return black;
+      return white;
+    }
+
+    @Override
+    public Side getOpponent(){
+      return BLACK;
     }
 
     @Override
@@ -45,7 +50,12 @@ public enum Side {
 
     @Override
     public Player choosePlayer(final Player white, final Player black){
-      return white;
+      return black;
+    }
+
+    @Override
+    public Side getOpponent(){
+      return WHITE;
     }
 
     @Override
@@ -73,5 +83,12 @@ public enum Side {
   }
 
   public abstract Player choosePlayer(final Player white, final Player black);
+
+  /**
+   * Gets the side playing against this side.
+   *
+   * @return The opposite side.
+   */
+  public abstract Side getOpponent();
 }
 
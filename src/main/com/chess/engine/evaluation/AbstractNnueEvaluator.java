@@ -0,0 +1,224 @@
+package main.com.chess.engine.evaluation;
+
+import main.com.chess.engine.board.Board;
+import main.com.chess.engine.board.Zobrist;
+import main.com.chess.engine.common.Side;
+import main.com.chess.engine.moves.CompactMove;
+import main.com.chess.engine.pieces.PieceType;
+
+import java.util.Arrays;
+
+/**
+ * Base class of the evaluators keeping the accumulators of an NNUE up to date incrementally, whatever the number
+ * format of the accumulators.
+ * <p>
+ * The evaluator holds a stack of accumulator pairs, one entry per move followed since {@link #reset(Board)}. A move
+ * only changes a few features, so the accumulator of a child position is the parent's plus the weight columns of the
+ * features added and minus those of the features removed. Updates are lazy: {@link #makeMove(Board, int)} merely
+ * records the move, and {@link #evaluate(Board)} brings the current entry up to date from the nearest computed
+ * ancestor, so that positions which are never evaluated cost nothing. A perspective whose own king moved is
+ * recomputed from the board instead, as all its features are relative to that king.
+ * <p>
+ * Every stack entry also carries the Zobrist key of its position; a board that does not match the current entry, as
+ * when the evaluator is used standalone, is evaluated from scratch. Subclasses store the accumulators, one per entry
+ * and perspective, and run the layers of the network on them. Evaluators are not thread-safe; search threads each
+ * get their own from {@link #forThread()}, sharing the network.
+ */
+abstract class AbstractNnueEvaluator implements Evaluator {
+  static final int INITIAL_STACK_SIZE = 256;
+  static final int PERSPECTIVES = Side.values().length;
+
+  // per stack entry: the computed flag of each perspective, the move leading to it, its mover and key
+  private boolean[][] computed = new boolean[INITIAL_STACK_SIZE][PERSPECTIVES];
+  private int[] moves = new int[INITIAL_STACK_SIZE];
+  private Side[] movers = new Side[INITIAL_STACK_SIZE];
+  private long[] keys = new long[INITIAL_STACK_SIZE];
+  private int top;
+
+  private final int[] features = new int[NnueNetwork.MAX_ACTIVE_FEATURES];
+
+  AbstractNnueEvaluator() {
+    // no position yet: the first evaluation refreshes from the board
+    keys[0] = ~0L;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void reset(final Board board) {
+    top = 0;
+    refresh(board);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void makeMove(final Board board, final int move) {
+    if (top + 1 == moves.length) {
+      growStack();
+    }
+    top++;
+    moves[top] = move;
+    movers[top] = board.getNextMoveMaker();
+    keys[top] = Zobrist.updateKey(board, move, board.getNextMoveMaker());
+    computed[top][0] = false;
+    computed[top][1] = false;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void unmakeMove() {
+    if (top > 0) {
+      top--;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int evaluate(final Board board) {
+    if (keys[top] != board.getZobristKey()) {
+      refresh(board);
+    } else {
+      for (final Side perspective : Side.values()) {
+        update(board, perspective);
+      }
+    }
+    return forward(top, board.getNextMoveMaker());
+  }
+
+  /**
+   * Sets an accumulator to the biases plus the weight columns of the given features.
+   *
+   * @param entry       The stack entry.
+   * @param perspective The ordinal of the perspective.
+   * @param features    The active features.
+   * @param count       The number of active features.
+   */
+  abstract void refreshAccumulator(int entry, int perspective, int[] features, int count);
+
+  /**
+   * Copies an accumulator to the next stack entry.
+   *
+   * @param entry       The stack entry to copy from.
+   * @param perspective The ordinal of the perspective.
+   */
+  abstract void copyAccumulator(int entry, int perspective);
+
+  /**
+   * Adds the weight column of a feature to an accumulator.
+   */
+  abstract void addFeature(int entry, int perspective, int feature);
+
+  /**
+   * Subtracts the weight column of a feature from an accumulator.
+   */
+  abstract void subtractFeature(int entry, int perspective, int feature);
+
+  /**
+   * Runs the layers after the accumulators on a stack entry.
+   *
+   * @param entry      The stack entry, whose accumulators are both up to date.
+   * @param sideToMove The side the score is computed for.
+   * @return The score in centipawns.
+   */
+  abstract int forward(int entry, Side sideToMove);
+
+  /**
+   * Grows the accumulator storage to the given number of stack entries, keeping the existing entries.
+   */
+  abstract void growAccumulators(int size);
+
+  /**
+   * Recomputes both accumulators of the current entry from the board.
+   */
+  private void refresh(final Board board) {
+    keys[top] = board.getZobristKey();
+    for (final Side perspective : Side.values()) {
+      refresh(board, perspective);
+    }
+  }
+
+  private void refresh(final Board board, final Side perspective) {
+    final int count = NnueNetwork.getActiveFeatures(board, perspective, features);
+    refreshAccumulator(top, perspective.ordinal(), features, count);
+    computed[top][perspective.ordinal()] = true;
+  }
+
+  /**
+   * Brings the accumulator of a perspective up to date, from the nearest computed entry below if no move since then
+   * moved the perspective's king, and from the board otherwise.
+   */
+  private void update(final Board board, final Side perspective) {
+    final int p = perspective.ordinal();
+    int source = top;
+    while (!computed[source][p]) {
+      if (source == 0 || movesKing(source, perspective)) {
+        refresh(board, perspective);
+        return;
+      }
+      source--;
+    }
+    final int kingSquare = Long.numberOfTrailingZeros(board.getPieceBitboard(PieceType.KING, perspective));
+    for (int entry = source + 1; entry <= top; entry++) {
+      copyAccumulator(entry - 1, p);
+      applyMove(entry, perspective, kingSquare);
+      computed[entry][p] = true;
+    }
+  }
+
+  private boolean movesKing(final int entry, final Side perspective) {
+    return movers[entry] == perspective && CompactMove.getMovingType(moves[entry]) == PieceType.KING;
+  }
+
+  /**
+   * Applies the feature changes of the move leading to an entry to its accumulator; the move does not move the
+   * perspective's king.
+   */
+  private void applyMove(final int entry, final Side perspective, final int kingSquare) {
+    final int p = perspective.ordinal();
+    final int move = moves[entry];
+    final Side mover = movers[entry];
+    final PieceType movingType = CompactMove.getMovingType(move);
+    final int origin = CompactMove.getOrigin(move);
+    final int destination = CompactMove.getDestination(move);
+    if (CompactMove.isCapture(move)) {
+      final PieceType capturedType = CompactMove.getCapturedType(move);
+      final int capturedSquare = CompactMove.getCapturedSquare(move);
+      final Side capturedSide = mover.getOpponent();
+      subtractFeature(entry, p,
+                      NnueNetwork.getFeatureIndex(perspective, kingSquare, capturedType, capturedSide, capturedSquare));
+    }
+    if (CompactMove.isCastling(move)) {
+      subtractFeature(entry, p, NnueNetwork.getFeatureIndex(perspective, kingSquare, PieceType.ROOK, mover,
+                                                             CompactMove.getRookOrigin(move)));
+      addFeature(entry, p, NnueNetwork.getFeatureIndex(perspective, kingSquare, PieceType.ROOK, mover,
+                                                        CompactMove.getRookDestination(move)));
+    }
+    if (movingType.isKing()) {
+      // kings are no features; only the opponent's king can get here
+      return;
+    }
+    subtractFeature(entry, p, NnueNetwork.getFeatureIndex(perspective, kingSquare, movingType, mover, origin));
+    final PieceType placedType = CompactMove.isPromotion(move) ? CompactMove.getPromotionType(move) : movingType;
+    addFeature(entry, p, NnueNetwork.getFeatureIndex(perspective, kingSquare, placedType, mover, destination));
+  }
+
+  private void growStack() {
+    final int size = moves.length * 2;
+    final boolean[][] grownComputed = Arrays.copyOf(computed, size);
+    for (int i = moves.length; i < size; i++) {
+      grownComputed[i] = new boolean[PERSPECTIVES];
+    }
+    growAccumulators(size);
+    computed = grownComputed;
+    moves = Arrays.copyOf(moves, size);
+    movers = Arrays.copyOf(movers, size);
+    keys = Arrays.copyOf(keys, size);
+  }
+}
@@ -0,0 +1,352 @@
+package main.com.chess.engine.evaluation;
+
+import main.com.chess.engine.board.Board;
+import main.com.chess.engine.common.Side;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates positions submitted by any number of threads with an {@link NnueNetwork}, in batches.
+ * <p>
+ * Evaluating one position at a time reads every weight of the dense layers once per position. The service instead
+ * queues the positions it is given and lets a dispatcher thread collect them into batches of up to
+ * {@code batchSize} positions, waiting at most {@code maxLatency} after the oldest queued position for the batch to
+ * fill. Each weight is then read once per batch and applied to all its positions, and the futures of the callers are
+ * completed with their scores, which are exactly those of an {@link NnueEvaluator} computing from scratch.
+ * <p>
+ * As an {@link Evaluator}, the service blocks the calling thread until its position is scored, so it pays off when
+ * many threads evaluate at once, e.g. the threads of a search or several searches running in parallel; a single
+ * caller waits out the maximum latency on every evaluation. The active features of a position are extracted on the
+ * calling thread, so boards are never read by the dispatcher. Batch sizes and queue latencies are recorded and can be
+ * read while the service runs. The service must be {@link #close() closed} to stop its dispatcher.
+ */
+public class BatchedEvaluationService implements Evaluator, AutoCloseable {
+  private static final int DEFAULT_BATCH_SIZE = 64;
+  private static final long DEFAULT_MAX_LATENCY_MICROS = 100L;
+
+  private final NnueNetwork network;
+  private final int batchSize;
+  private final long maxLatencyNanos;
+  private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+  private final Thread dispatcher;
+  private volatile boolean closed;
+
+  // written by the dispatcher only
+  private volatile long batches;
+  private volatile long evaluations;
+  private volatile long totalLatencyNanos;
+  private volatile long maxLatencyObservedNanos;
+
+  // per batch scratch space of the dispatcher: the clipped accumulators of each position, then the dense outputs
+  private final float[][] inputs;
+  private final float[][] l1Outputs;
+  private final float[][] l2Outputs;
+  private final float[] accumulator;
+
+  private BatchedEvaluationService(final Builder builder) {
+    this.network = builder.network;
+    this.batchSize = builder.batchSize;
+    this.maxLatencyNanos = builder.maxLatencyMicros * 1_000L;
+    this.inputs = new float[batchSize][2 * network.getHiddenSize()];
+    this.l1Outputs = new float[batchSize][network.getL1Size()];
+    this.l2Outputs = new float[batchSize][network.getL2Size()];
+    this.accumulator = new float[network.getHiddenSize()];
+    this.dispatcher = new Thread(this::dispatch, "evaluation-dispatcher");
+    this.dispatcher.setDaemon(true);
+    this.dispatcher.start();
+  }
+
+  /**
+   * Queues a position for evaluation.
+   *
+   * @param board The position to evaluate, which may be changed as soon as this method returns.
+   * @return The future score in centipawns, from the point of view of the side to move.
+   * @throws IllegalStateException If the service is closed.
+   */
+  public CompletableFuture<Integer> submit(final Board board) {
+    if (closed) {
+      throw new IllegalStateException("The evaluation service is closed");
+    }
+    final Request request = new Request(board);
+    queue.add(request);
+    if (closed) {
+      // the dispatcher may have drained the queue for the last time before the request got in
+      request.future.completeExceptionally(new CancellationException("The evaluation service is closed"));
+    }
+    return request.future;
+  }
+
+  /**
+   * Evaluates a position, blocking until the batch holding it has been scored.
+   *
+   * @param board The position to evaluate.
+   * @return The score in centipawns, positive if the side to move stands better.
+   * @throws IllegalStateException If the service is closed.
+   */
+  @Override
+  public int evaluate(final Board board) {
+    return submit(board).join();
+  }
+
+  /**
+   * Stops the dispatcher; positions still queued are cancelled.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    dispatcher.interrupt();
+    try {
+      dispatcher.join();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Gets the number of batches evaluated so far.
+   */
+  public long getBatches() {
+    return batches;
+  }
+
+  /**
+   * Gets the number of positions evaluated so far.
+   */
+  public long getEvaluations() {
+    return evaluations;
+  }
+
+  /**
+   * Gets the average number of positions per batch.
+   */
+  public double getAverageBatchSize() {
+    final long batchCount = batches;
+    return batchCount == 0 ? 0 : (double) evaluations / batchCount;
+  }
+
+  /**
+   * Gets the average time positions spent queued before their batch started, in nanoseconds.
+   */
+  public long getAverageQueueLatencyNanos() {
+    final long evaluationCount = evaluations;
+    return evaluationCount == 0 ? 0 : totalLatencyNanos / evaluationCount;
+  }
+
+  /**
+   * Gets the longest time a position spent queued before its batch started, in nanoseconds.
+   */
+  public long getMaxQueueLatencyNanos() {
+    return maxLatencyObservedNanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("batches %d evaluations %d batchsize %.1f latency %d maxlatency %d", batches, evaluations,
+                         getAverageBatchSize(), getAverageQueueLatencyNanos() / 1_000L,
+                         maxLatencyObservedNanos / 1_000L);
+  }
+
+  /**
+   * Collects batches from the queue and evaluates them until the service is closed.
+   */
+  private void dispatch() {
+    final List<Request> batch = new ArrayList<>(batchSize);
+    try {
+      while (!closed) {
+        final Request first = queue.take();
+        batch.add(first);
+        final long deadline = first.enqueueNanos + maxLatencyNanos;
+        while (batch.size() < batchSize) {
+          if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+            continue;
+          }
+          final long remaining = deadline - System.nanoTime();
+          final Request next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+        evaluateBatch(batch);
+        batch.clear();
+      }
+    } catch (final InterruptedException e) {
+      // closed
+    }
+    final CancellationException cancelled = new CancellationException("The evaluation service is closed");
+    for (final Request request : batch) {
+      request.future.completeExceptionally(cancelled);
+    }
+    for (Request request = queue.poll(); request != null; request = queue.poll()) {
+      request.future.completeExceptionally(cancelled);
+    }
+  }
+
+  /**
+   * Scores a batch of positions and completes their futures.
+   */
+  private void evaluateBatch(final List<Request> batch) {
+    final long startNanos = System.nanoTime();
+    final int size = batch.size();
+    final int hiddenSize = network.getHiddenSize();
+    long latencyNanos = 0;
+    long maxLatency = maxLatencyObservedNanos;
+    for (int b = 0; b < size; b++) {
+      final Request request = batch.get(b);
+      transform(request.features[request.sideToMove.ordinal()], request.featureCounts[request.sideToMove.ordinal()],
+                inputs[b], 0);
+      final int opponent = request.sideToMove.getOpponent().ordinal();
+      transform(request.features[opponent], request.featureCounts[opponent], inputs[b], hiddenSize);
+      latencyNanos += startNanos - request.enqueueNanos;
+      maxLatency = Math.max(maxLatency, startNanos - request.enqueueNanos);
+    }
+    dense(network.l1Weights, network.l1Biases, inputs, l1Outputs, size);
+    dense(network.l2Weights, network.l2Biases, l1Outputs, l2Outputs, size);
+
+    batches++;
+    evaluations += size;
+    totalLatencyNanos += latencyNanos;
+    maxLatencyObservedNanos = maxLatency;
+    for (int b = 0; b < size; b++) {
+      float output = network.outputBias;
+      for (int i = 0; i < l2Outputs[b].length; i++) {
+        output += network.outputWeights[i] * l2Outputs[b][i];
+      }
+      batch.get(b).future.complete(Math.round(output));
+    }
+  }
+
+  /**
+   * Sums the feature columns of a perspective into an accumulator and writes it, clipped, into an input row.
+   */
+  private void transform(final int[] features, final int count, final float[] input, final int offset) {
+    final int hiddenSize = accumulator.length;
+    System.arraycopy(network.featureBiases, 0, accumulator, 0, hiddenSize);
+    for (int f = 0; f < count; f++) {
+      final int column = features[f] * hiddenSize;
+      for (int i = 0; i < hiddenSize; i++) {
+        accumulator[i] += network.featureWeights.get(column + i);
+      }
+    }
+    for (int i = 0; i < hiddenSize; i++) {
+      input[offset + i] = Math.min(1f, Math.max(0f, accumulator[i]));
+    }
+  }
+
+  /**
+   * Computes a dense layer followed by a clipped ReLU for the first {@code size} rows of a batch, reading each
+   * weight once for the whole batch.
+   */
+  private static void dense(final float[] weights, final float[] biases, final float[][] in, final float[][] out,
+                            final int size) {
+    final int inputSize = in[0].length;
+    for (int o = 0; o < biases.length; o++) {
+      for (int b = 0; b < size; b++) {
+        out[b][o] = biases[o];
+      }
+      final int row = o * inputSize;
+      for (int i = 0; i < inputSize; i++) {
+        final float weight = weights[row + i];
+        for (int b = 0; b < size; b++) {
+          out[b][o] += weight * in[b][i];
+        }
+      }
+      for (int b = 0; b < size; b++) {
+        out[b][o] = Math.min(1f, Math.max(0f, out[b][o]));
+      }
+    }
+  }
+
+  /**
+   * A queued position, reduced to its active features.
+   */
+  private static final class Request {
+    private final Side sideToMove;
+    private final int[][] features = new int[Side.values().length][NnueNetwork.MAX_ACTIVE_FEATURES];
+    private final int[] featureCounts = new int[Side.values().length];
+    private final long enqueueNanos;
+    private final CompletableFuture<Integer> future = new CompletableFuture<>();
+
+    private Request(final Board board) {
+      this.sideToMove = board.getNextMoveMaker();
+      for (final Side perspective : Side.values()) {
+        featureCounts[perspective.ordinal()] =
+          NnueNetwork.getActiveFeatures(board, perspective, features[perspective.ordinal()]);
+      }
+      this.enqueueNanos = System.nanoTime();
+    }
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Builder for {@link BatchedEvaluationService}.
+   */
+  public static class Builder {
+    private NnueNetwork network = NnueNetwork.material();
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private long maxLatencyMicros = DEFAULT_MAX_LATENCY_MICROS;
+
+    private Builder() {
+    }
+
+    /**
+     * Sets the network to evaluate with, the material network by default.
+     *
+     * @param network The network.
+     * @return This builder.
+     */
+    public Builder setNetwork(final NnueNetwork network) {
+      this.network = network;
+      return this;
+    }
+
+    /**
+     * Sets the largest number of positions evaluated together.
+     *
+     * @param batchSize The batch size, at least 1; defaults to {@value #DEFAULT_BATCH_SIZE}.
+     * @return This builder.
+     * @throws IllegalArgumentException If the batch size is not positive.
+     */
+    public Builder setBatchSize(final int batchSize) {
+      if (batchSize < 1) {
+        throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+      }
+      this.batchSize = batchSize;
+      return this;
+    }
+
+    /**
+     * Sets how long a batch may wait to fill after its first position was queued.
+     *
+     * @param maxLatencyMicros The latency in microseconds, at least 0; defaults to
+     *                         {@value #DEFAULT_MAX_LATENCY_MICROS}.
+     * @return This builder.
+     * @throws IllegalArgumentException If the latency is negative.
+     */
+    public Builder setMaxLatency(final long maxLatencyMicros) {
+      if (maxLatencyMicros < 0) {
+        throw new IllegalArgumentException("Max latency must not be negative: " + maxLatencyMicros + " us");
+      }
+      this.maxLatencyMicros = maxLatencyMicros;
+      return this;
+    }
+
+    /**
+     * Builds the service and starts its dispatcher thread.
+     *
+     * @return The running service.
+     */
+    public BatchedEvaluationService build() {
+      return new BatchedEvaluationService(this);
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package main.com.chess.engine.evaluation;
+
+import main.com.chess.engine.board.Board;
+
+/**
+ * Scores positions statically, without looking at any move.
+ * <p>
+ * Evaluators that keep state per position, such as incrementally updated ones, follow the moves of a search through
+ * {@link #reset(Board)}, {@link #makeMove(Board, int)} and {@link #unmakeMove()}, and every search thread uses an
+ * evaluator of its own obtained from {@link #forThread()}. For stateless evaluators these are no-ops and the
+ * evaluator is shared, so a shared evaluator must be thread-safe.
+ */
+public interface Evaluator {
+
+  /**
+   * Evaluates a position from the point of view of the side to move.
+   *
+   * @param board The position to evaluate.
+   * @return The score in centipawns, positive if the side to move stands better.
+   */
+  int evaluate(final Board board);
+
+  /**
+   * Gets the evaluator a search thread uses.
+   *
+   * @return A new evaluator sharing the read-only parameters of this one, or this evaluator if it is stateless.
+   */
+  default Evaluator forThread() {
+    return this;
+  }
+
+  /**
+   * Starts following a line of moves from the given position.
+   *
+   * @param board The root position.
+   */
+  default void reset(final Board board) {
+  }
+
+  /**
+   * Follows a move, called before the move is made on the board.
+   *
+   * @param board The position the move is made on.
+   * @param move  The {@link main.com.chess.engine.moves.CompactMove encoded move}.
+   */
+  default void makeMove(final Board board, final int move) {
+  }
+
+  /**
+   * Takes back the last move followed.
+   */
+  default void unmakeMove() {
+  }
+}
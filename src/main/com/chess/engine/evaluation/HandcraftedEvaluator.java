@@ -0,0 +1,88 @@
+package main.com.chess.engine.evaluation;
+
+import main.com.chess.engine.board.Board;
+import main.com.chess.engine.board.PieceSquareTables;
+import main.com.chess.engine.common.Side;
+import main.com.chess.engine.pieces.PieceType;
+
+/**
+ * Evaluates positions with handcrafted terms, for use when no network is available: material and piece-square values,
+ * the pawn structure, the pawn shields of the kings and pieces attacked by enemy pawns.
+ * <p>
+ * Terms have a middlegame and an endgame score, blended by the game phase as described in
+ * {@link PieceSquareTables}. Material and piece-square values and the phase are maintained by the board itself; the
+ * pawn terms come from a {@link PawnHashTable}. Every search thread gets an evaluator of its own from
+ * {@link #forThread()}, with a table of its own.
+ */
+public class HandcraftedEvaluator implements Evaluator {
+  /**
+   * The number of pawn hash entries used by default.
+   */
+  public static final int DEFAULT_PAWN_HASH_ENTRIES = 1 << 14;
+
+  private static final int PAWN_THREAT_MG = -30;
+  private static final int PAWN_THREAT_EG = -20;
+
+  private final int pawnHashEntries;
+  private final PawnHashTable pawnHashTable;
+
+  /**
+   * Constructs an evaluator with a pawn hash table of the default size.
+   */
+  public HandcraftedEvaluator() {
+    this(DEFAULT_PAWN_HASH_ENTRIES);
+  }
+
+  /**
+   * Constructs an evaluator with a pawn hash table of the given size.
+   *
+   * @param pawnHashEntries The number of pawn hash entries, a power of two.
+   * @throws IllegalArgumentException If the number of entries is not a positive power of two.
+   */
+  public HandcraftedEvaluator(final int pawnHashEntries) {
+    this.pawnHashEntries = pawnHashEntries;
+    this.pawnHashTable = new PawnHashTable(pawnHashEntries);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Evaluator forThread() {
+    return new HandcraftedEvaluator(pawnHashEntries);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int evaluate(final Board board) {
+    final int slot = pawnHashTable.probe(board);
+    int middlegame = board.getMiddlegameScore() + pawnHashTable.getMiddlegameScore(slot);
+    int endgame = board.getEndgameScore() + pawnHashTable.getEndgameScore(slot);
+    for (final Side side : Side.values()) {
+      final int sign = side.isWhite() ? 1 : -1;
+      final long enemyPawnAttacks = pawnHashTable.getPawnAttacks(slot, side.getOpponent());
+      final long king = board.getPieceBitboard(PieceType.KING, side);
+      middlegame += sign * pawnHashTable.getShieldScore(slot, side, Long.numberOfTrailingZeros(king));
+      for (final PieceType type : PieceType.values()) {
+        if (!type.isKing() && type != PieceType.PAWN) {
+          final int threatened = Long.bitCount(board.getPieceBitboard(type, side) & enemyPawnAttacks);
+          middlegame += sign * PAWN_THREAT_MG * threatened;
+          endgame += sign * PAWN_THREAT_EG * threatened;
+        }
+      }
+    }
+    final int score = PieceSquareTables.taper(middlegame, endgame, board.getPhase());
+    return board.getNextMoveMaker().isWhite() ? score : -score;
+  }
+
+  /**
+   * Gets the pawn hash table of this evaluator, e.g. to read its hit rate.
+   *
+   * @return The pawn hash table.
+   */
+  public PawnHashTable getPawnHashTable() {
+    return pawnHashTable;
+  }
+}
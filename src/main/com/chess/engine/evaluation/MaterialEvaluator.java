@@ -0,0 +1,26 @@
+package main.com.chess.engine.evaluation;
+
+import main.com.chess.engine.board.Board;
+import main.com.chess.engine.common.Side;
+import main.com.chess.engine.pieces.PieceType;
+
+/**
+ * Evaluates positions by material alone, counting every piece but the king at its {@link PieceType#getValue() value}.
+ */
+public class MaterialEvaluator implements Evaluator {
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int evaluate(final Board board) {
+    int score = 0;
+    for (final PieceType type : PieceType.values()) {
+      if (!type.isKing()) {
+        score += type.getValue() * (Long.bitCount(board.getPieceBitboard(type, Side.WHITE))
+          - Long.bitCount(board.getPieceBitboard(type, Side.BLACK)));
+      }
+    }
+    return board.getNextMoveMaker().isWhite() ? score : -score;
+  }
+}
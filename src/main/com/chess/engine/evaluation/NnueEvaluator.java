@@ -0,0 +1,119 @@
+package main.com.chess.engine.evaluation;
+
+import main.com.chess.engine.common.Side;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * Evaluates positions with an {@link NnueNetwork} in floating point, keeping the accumulators of the network up to
+ * date incrementally as described in {@link AbstractNnueEvaluator}.
+ */
+public class NnueEvaluator extends AbstractNnueEvaluator {
+  private final NnueNetwork network;
+  private final int hiddenSize;
+
+  // per stack entry and perspective
+  private float[][][] accumulators;
+
+  private final float[] input;
+  private final float[] l1Output;
+  private final float[] l2Output;
+
+  /**
+   * Constructs an evaluator using the given network.
+   *
+   * @param network The network, which may be shared by any number of evaluators.
+   */
+  public NnueEvaluator(final NnueNetwork network) {
+    this.network = network;
+    this.hiddenSize = network.getHiddenSize();
+    this.accumulators = new float[INITIAL_STACK_SIZE][PERSPECTIVES][hiddenSize];
+    this.input = new float[2 * hiddenSize];
+    this.l1Output = new float[network.getL1Size()];
+    this.l2Output = new float[network.getL2Size()];
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Evaluator forThread() {
+    return new NnueEvaluator(network);
+  }
+
+  @Override
+  void refreshAccumulator(final int entry, final int perspective, final int[] features, final int count) {
+    System.arraycopy(network.featureBiases, 0, accumulators[entry][perspective], 0, hiddenSize);
+    for (int i = 0; i < count; i++) {
+      addFeature(entry, perspective, features[i]);
+    }
+  }
+
+  @Override
+  void copyAccumulator(final int entry, final int perspective) {
+    System.arraycopy(accumulators[entry][perspective], 0, accumulators[entry + 1][perspective], 0, hiddenSize);
+  }
+
+  @Override
+  void addFeature(final int entry, final int perspective, final int feature) {
+    final float[] accumulator = accumulators[entry][perspective];
+    final FloatBuffer weights = network.featureWeights;
+    final int offset = feature * hiddenSize;
+    for (int i = 0; i < hiddenSize; i++) {
+      accumulator[i] += weights.get(offset + i);
+    }
+  }
+
+  @Override
+  void subtractFeature(final int entry, final int perspective, final int feature) {
+    final float[] accumulator = accumulators[entry][perspective];
+    final FloatBuffer weights = network.featureWeights;
+    final int offset = feature * hiddenSize;
+    for (int i = 0; i < hiddenSize; i++) {
+      accumulator[i] -= weights.get(offset + i);
+    }
+  }
+
+  @Override
+  int forward(final int entry, final Side sideToMove) {
+    clip(accumulators[entry][sideToMove.ordinal()], input, 0, hiddenSize);
+    clip(accumulators[entry][sideToMove.getOpponent().ordinal()], input, hiddenSize, hiddenSize);
+    dense(network.l1Weights, network.l1Biases, input, l1Output);
+    dense(network.l2Weights, network.l2Biases, l1Output, l2Output);
+    float output = network.outputBias;
+    for (int i = 0; i < l2Output.length; i++) {
+      output += network.outputWeights[i] * l2Output[i];
+    }
+    return Math.round(output);
+  }
+
+  @Override
+  void growAccumulators(final int size) {
+    final int oldSize = accumulators.length;
+    accumulators = Arrays.copyOf(accumulators, size);
+    for (int i = oldSize; i < size; i++) {
+      accumulators[i] = new float[PERSPECTIVES][hiddenSize];
+    }
+  }
+
+  /**
+   * Computes a dense layer followed by a clipped ReLU.
+   */
+  private static void dense(final float[] weights, final float[] biases, final float[] in, final float[] out) {
+    for (int o = 0; o < out.length; o++) {
+      final int row = o * in.length;
+      float sum = biases[o];
+      for (int i = 0; i < in.length; i++) {
+        sum += weights[row + i] * in[i];
+      }
+      out[o] = Math.min(1f, Math.max(0f, sum));
+    }
+  }
+
+  private static void clip(final float[] source, final float[] target, final int offset, final int length) {
+    for (int i = 0; i < length; i++) {
+      target[offset + i] = Math.min(1f, Math.max(0f, source[i]));
+    }
+  }
+}
@@ -0,0 +1,370 @@
+package main.com.chess.engine.evaluation;
+
+import main.com.chess.engine.board.Board;
+import main.com.chess.engine.board.BoardUtils;
+import main.com.chess.engine.common.Side;
+import main.com.chess.engine.pieces.PieceType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The parameters of an efficiently updatable neural network (NNUE) evaluating chess positions.
+ * <p>
+ * The network sees a position from both sides. From each side's perspective, every piece other than the kings is a
+ * feature made of the square of that side's king, the piece's type, whether it is an own or an opponent piece, and
+ * its square, with squares flipped vertically for black so that both perspectives look alike (HalfKP). The active
+ * features of a perspective are summed into a hidden accumulator; the accumulators of the side to move and of its
+ * opponent, clipped to {@code [0, 1]}, are then passed through two small dense layers with clipped ReLU activations
+ * and a linear output, the score in centipawns for the side to move.
+ * <p>
+ * Feature weights are stored feature-major, so that the column of a feature is a contiguous run of
+ * {@code hiddenSize} floats; dense weights are stored row-major, one row per output neuron. Instances are immutable
+ * in use and shared by all evaluators.
+ * <p>
+ * Networks are stored in a versioned little-endian binary file: a header of eight ints (the magic number
+ * {@code NNUE}, the format version, the three layer sizes, the feature count, the output bias as float bits and a
+ * reserved zero), then the parameters as raw floats in the order of the constructor. {@link #load(Path)} maps the file
+ * into memory read-only and uses the feature weights, nearly all of the file, straight from the mapping, so loading
+ * takes no time whatever the size of the network; the dense layers, read in full on every evaluation, are copied to
+ * the heap. A file is mapped only once per JVM, so every engine loading it shares the same pages.
+ */
+public final class NnueNetwork {
+  private static final int PIECE_KINDS = 2 * (PieceType.values().length - 1);
+
+  /**
+   * The number of input features of one perspective.
+   */
+  public static final int FEATURE_COUNT = BoardUtils.TOTAL_SQUARES * PIECE_KINDS * BoardUtils.TOTAL_SQUARES;
+
+  /**
+   * An upper bound on the number of active features of one perspective, one per occupied square.
+   */
+  public static final int MAX_ACTIVE_FEATURES = BoardUtils.TOTAL_SQUARES;
+
+  private static final int FILE_MAGIC = 0x4E4E5545;
+  private static final int FILE_VERSION = 1;
+  private static final int HEADER_SIZE = 8 * Integer.BYTES;
+
+  // the network last loaded from each file, by real path, so that a modified file replaces its entry
+  private static final Map<Path, LoadedNetwork> LOADED_NETWORKS = new ConcurrentHashMap<>();
+
+  // one piece is one quantization step of an accumulator, so that the quantized material network is exact as well
+  private static final float MATERIAL_COUNT_SCALE = 1f / QuantizedNnueNetwork.ACTIVATION_SCALE;
+
+  private final int hiddenSize;
+  private final int l1Size;
+  private final int l2Size;
+
+  final FloatBuffer featureWeights;
+  final float[] featureBiases;
+  final float[] l1Weights;
+  final float[] l1Biases;
+  final float[] l2Weights;
+  final float[] l2Biases;
+  final float[] outputWeights;
+  final float outputBias;
+
+  /**
+   * Constructs a network from its parameters.
+   *
+   * @param hiddenSize     The size of the accumulator of one perspective.
+   * @param l1Size         The size of the first dense layer.
+   * @param l2Size         The size of the second dense layer.
+   * @param featureWeights The feature weights, {@code FEATURE_COUNT * hiddenSize} floats, feature-major.
+   * @param featureBiases  The accumulator biases, {@code hiddenSize} floats.
+   * @param l1Weights      The first dense layer weights, {@code l1Size * 2 * hiddenSize} floats.
+   * @param l1Biases       The first dense layer biases, {@code l1Size} floats.
+   * @param l2Weights      The second dense layer weights, {@code l2Size * l1Size} floats.
+   * @param l2Biases       The second dense layer biases, {@code l2Size} floats.
+   * @param outputWeights  The output weights, {@code l2Size} floats.
+   * @param outputBias     The output bias.
+   * @throws IllegalArgumentException If an array does not match the layer sizes.
+   */
+  public NnueNetwork(final int hiddenSize, final int l1Size, final int l2Size,
+                     final float[] featureWeights, final float[] featureBiases,
+                     final float[] l1Weights, final float[] l1Biases,
+                     final float[] l2Weights, final float[] l2Biases,
+                     final float[] outputWeights, final float outputBias) {
+    this(hiddenSize, l1Size, l2Size, FloatBuffer.wrap(featureWeights), featureBiases, l1Weights, l1Biases, l2Weights,
+         l2Biases, outputWeights, outputBias);
+  }
+
+  private NnueNetwork(final int hiddenSize, final int l1Size, final int l2Size,
+                      final FloatBuffer featureWeights, final float[] featureBiases,
+                      final float[] l1Weights, final float[] l1Biases,
+                      final float[] l2Weights, final float[] l2Biases,
+                      final float[] outputWeights, final float outputBias) {
+    if (featureWeights.capacity() != (long) FEATURE_COUNT * hiddenSize) {
+      throw new IllegalArgumentException("Expected " + (long) FEATURE_COUNT * hiddenSize + " feature weights, got "
+                                         + featureWeights.capacity());
+    }
+    checkLength("feature biases", featureBiases, hiddenSize);
+    checkLength("first layer weights", l1Weights, (long) l1Size * 2 * hiddenSize);
+    checkLength("first layer biases", l1Biases, l1Size);
+    checkLength("second layer weights", l2Weights, (long) l2Size * l1Size);
+    checkLength("second layer biases", l2Biases, l2Size);
+    checkLength("output weights", outputWeights, l2Size);
+    this.hiddenSize = hiddenSize;
+    this.l1Size = l1Size;
+    this.l2Size = l2Size;
+    this.featureWeights = featureWeights;
+    this.featureBiases = featureBiases;
+    this.l1Weights = l1Weights;
+    this.l1Biases = l1Biases;
+    this.l2Weights = l2Weights;
+    this.l2Biases = l2Biases;
+    this.outputWeights = outputWeights;
+    this.outputBias = outputBias;
+  }
+
+  /**
+   * Loads a network from a file, mapping it into memory. Loading a file that was loaded before, and has not been
+   * modified since, returns the network loaded then; loading a modified file replaces it, so that only the latest
+   * version of every file is kept.
+   *
+   * @param file The network file.
+   * @return The network, whose feature weights are read from the mapped file.
+   * @throws IOException              If the file cannot be read.
+   * @throws IllegalArgumentException If the file is no network file of a supported version.
+   */
+  public static NnueNetwork load(final Path file) throws IOException {
+    final Path realPath = file.toRealPath();
+    final long modifiedMillis = Files.getLastModifiedTime(realPath).toMillis();
+    final LoadedNetwork loaded = LOADED_NETWORKS.get(realPath);
+    if (loaded != null && loaded.modifiedMillis == modifiedMillis) {
+      return loaded.network;
+    }
+    final LoadedNetwork mapped = new LoadedNetwork(modifiedMillis, map(realPath));
+    // a thread that loaded the same version first wins, so that every caller shares one network
+    return LOADED_NETWORKS.merge(realPath, mapped,
+                                 (current, fresh) -> current.modifiedMillis == fresh.modifiedMillis ? current : fresh)
+      .network;
+  }
+
+  private static NnueNetwork map(final Path file) throws IOException {
+    final MappedByteBuffer mapping;
+    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      // the mapping stays valid once the channel is closed
+      mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    mapping.order(ByteOrder.LITTLE_ENDIAN);
+    if (mapping.capacity() < HEADER_SIZE || mapping.getInt(0) != FILE_MAGIC) {
+      throw new IllegalArgumentException("Not a network file: " + file);
+    }
+    if (mapping.getInt(4) != FILE_VERSION) {
+      throw new IllegalArgumentException("Unsupported network file version " + mapping.getInt(4) + ": " + file);
+    }
+    final int hiddenSize = mapping.getInt(8);
+    final int l1Size = mapping.getInt(12);
+    final int l2Size = mapping.getInt(16);
+    if (mapping.getInt(20) != FEATURE_COUNT) {
+      throw new IllegalArgumentException("Expected " + FEATURE_COUNT + " features, got " + mapping.getInt(20) + ": "
+                                         + file);
+    }
+    final float outputBias = mapping.getFloat(24);
+    final long expectedSize = HEADER_SIZE + Float.BYTES * ((long) FEATURE_COUNT * hiddenSize + hiddenSize
+      + (long) l1Size * 2 * hiddenSize + l1Size + (long) l2Size * l1Size + l2Size + l2Size);
+    if (hiddenSize <= 0 || l1Size <= 0 || l2Size <= 0 || mapping.capacity() != expectedSize) {
+      throw new IllegalArgumentException("Expected " + expectedSize + " bytes, got " + mapping.capacity() + ": "
+                                         + file);
+    }
+    final int featureBytes = FEATURE_COUNT * hiddenSize * Float.BYTES;
+    final FloatBuffer featureWeights = mapping.slice(HEADER_SIZE, featureBytes)
+      .order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+    final FloatBuffer dense = mapping.slice(HEADER_SIZE + featureBytes, mapping.capacity() - HEADER_SIZE - featureBytes)
+      .order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+    return new NnueNetwork(hiddenSize, l1Size, l2Size, featureWeights, read(dense, hiddenSize),
+                           read(dense, l1Size * 2 * hiddenSize), read(dense, l1Size), read(dense, l2Size * l1Size),
+                           read(dense, l2Size), read(dense, l2Size), outputBias);
+  }
+
+  /**
+   * Writes the network to a file in the format {@link #load(Path)} reads.
+   *
+   * @param file The file to create or overwrite.
+   * @throws IOException If the file cannot be written.
+   */
+  public void save(final Path file) throws IOException {
+    final long size = HEADER_SIZE + Float.BYTES * ((long) featureWeights.capacity() + featureBiases.length
+      + l1Weights.length + l1Biases.length + l2Weights.length + l2Biases.length + outputWeights.length);
+    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                      StandardOpenOption.WRITE,
+                                                      StandardOpenOption.TRUNCATE_EXISTING)) {
+      final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.putInt(FILE_MAGIC).putInt(FILE_VERSION).putInt(hiddenSize).putInt(l1Size).putInt(l2Size)
+        .putInt(FEATURE_COUNT).putFloat(outputBias).putInt(0);
+      final FloatBuffer floats = buffer.asFloatBuffer();
+      floats.put(featureWeights.duplicate().clear()).put(featureBiases).put(l1Weights).put(l1Biases).put(l2Weights)
+        .put(l2Biases).put(outputWeights);
+    }
+  }
+
+  /**
+   * Computes the index of a feature.
+   *
+   * @param perspective The side whose point of view the feature belongs to.
+   * @param kingSquare  The position index of the king of the perspective side.
+   * @param type        The type of the piece, not a king.
+   * @param pieceSide   The side of the piece.
+   * @param square      The position index of the piece.
+   * @return The feature index, below {@link #FEATURE_COUNT}.
+   */
+  public static int getFeatureIndex(final Side perspective, final int kingSquare, final PieceType type,
+                                    final Side pieceSide, final int square) {
+    // flipping the rows makes black's view of the board look like white's
+    final int flip = perspective.isWhite() ? 0 : 56;
+    final int kind = (pieceSide == perspective ? 0 : PIECE_KINDS / 2) + type.ordinal() - 1;
+    return (((kingSquare ^ flip) * PIECE_KINDS) + kind) * BoardUtils.TOTAL_SQUARES + (square ^ flip);
+  }
+
+  /**
+   * Collects the active features of a position from one perspective, white pieces before black ones and by piece
+   * type and square within each side.
+   *
+   * @param board       The position.
+   * @param perspective The side whose point of view the features belong to.
+   * @param features    The array receiving the feature indices, of at least {@link #MAX_ACTIVE_FEATURES} entries.
+   * @return The number of active features.
+   */
+  public static int getActiveFeatures(final Board board, final Side perspective, final int[] features) {
+    final int kingSquare = Long.numberOfTrailingZeros(board.getPieceBitboard(PieceType.KING, perspective));
+    int count = 0;
+    for (final Side side : Side.values()) {
+      for (final PieceType type : PieceType.values()) {
+        if (type.isKing()) {
+          continue;
+        }
+        long pieces = board.getPieceBitboard(type, side);
+        while (pieces != 0) {
+          features[count++] = getFeatureIndex(perspective, kingSquare, type, side, Long.numberOfTrailingZeros(pieces));
+          pieces &= pieces - 1;
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Creates a network that computes exactly the material balance of {@link MaterialEvaluator}, so that the engine
+   * evaluates sensibly before trained weights are available. The first ten accumulator neurons count the own and
+   * opponent pieces of each type, the dense layers pass these counts through and the output weighs them by
+   * {@link PieceType#getValue()}.
+   *
+   * @return The material network, with 32 neurons in every layer.
+   */
+  public static NnueNetwork material() {
+    final int size = 32;
+    final float[] featureWeights = new float[FEATURE_COUNT * size];
+    for (final PieceType type : PieceType.values()) {
+      if (type.isKing()) {
+        continue;
+      }
+      for (final Side side : Side.values()) {
+        for (int kingSquare = 0; kingSquare < BoardUtils.TOTAL_SQUARES; kingSquare++) {
+          for (int square = 0; square < BoardUtils.TOTAL_SQUARES; square++) {
+            final int feature = getFeatureIndex(Side.WHITE, kingSquare, type, side, square);
+            featureWeights[feature * size + kindOf(type, side == Side.WHITE)] = MATERIAL_COUNT_SCALE;
+          }
+        }
+      }
+    }
+    final float[] l1Weights = new float[size * 2 * size];
+    final float[] l2Weights = new float[size * size];
+    final float[] outputWeights = new float[size];
+    for (int kind = 0; kind < PIECE_KINDS; kind++) {
+      l1Weights[kind * 2 * size + kind] = 1f;
+      l2Weights[kind * size + kind] = 1f;
+    }
+    for (final PieceType type : PieceType.values()) {
+      if (!type.isKing()) {
+        outputWeights[kindOf(type, true)] = type.getValue() / MATERIAL_COUNT_SCALE;
+        outputWeights[kindOf(type, false)] = -type.getValue() / MATERIAL_COUNT_SCALE;
+      }
+    }
+    return new NnueNetwork(size, size, size, featureWeights, new float[size], l1Weights, new float[size],
+                           l2Weights, new float[size], outputWeights, 0f);
+  }
+
+  /**
+   * Creates a network with small random weights, for benchmarks and tests.
+   *
+   * @param hiddenSize The size of the accumulator of one perspective.
+   * @param seed       The seed of the weights.
+   * @return The random network, with 32 neurons in each dense layer.
+   */
+  public static NnueNetwork random(final int hiddenSize, final long seed) {
+    final SplittableRandom random = new SplittableRandom(seed);
+    final int denseSize = 32;
+    return new NnueNetwork(hiddenSize, denseSize, denseSize,
+                           randomWeights(random, FEATURE_COUNT * hiddenSize, 0.05f),
+                           randomWeights(random, hiddenSize, 0.5f),
+                           randomWeights(random, denseSize * 2 * hiddenSize, 1f / hiddenSize),
+                           randomWeights(random, denseSize, 0.1f),
+                           randomWeights(random, denseSize * denseSize, 1f / denseSize),
+                           randomWeights(random, denseSize, 0.1f),
+                           randomWeights(random, denseSize, 100f), 0f);
+  }
+
+  public int getHiddenSize() {
+    return hiddenSize;
+  }
+
+  public int getL1Size() {
+    return l1Size;
+  }
+
+  public int getL2Size() {
+    return l2Size;
+  }
+
+  /**
+   * Gets the feature kind of a piece, seen from the perspective the own flag refers to.
+   */
+  private static int kindOf(final PieceType type, final boolean own) {
+    return (own ? 0 : PIECE_KINDS / 2) + type.ordinal() - 1;
+  }
+
+  private static float[] randomWeights(final SplittableRandom random, final int size, final float scale) {
+    final float[] weights = new float[size];
+    for (int i = 0; i < size; i++) {
+      weights[i] = (float) (random.nextDouble() * 2 - 1) * scale;
+    }
+    return weights;
+  }
+
+  private static float[] read(final FloatBuffer buffer, final int length) {
+    final float[] values = new float[length];
+    buffer.get(values);
+    return values;
+  }
+
+  private static void checkLength(final String name, final float[] array, final long length) {
+    if (array.length != length) {
+      throw new IllegalArgumentException("Expected " + length + " " + name + ", got " + array.length);
+    }
+  }
+
+  /**
+   * A network loaded from a file, with the modification time of the file it was loaded at.
+   */
+  private static final class LoadedNetwork {
+    private final long modifiedMillis;
+    private final NnueNetwork network;
+
+    private LoadedNetwork(final long modifiedMillis, final NnueNetwork network) {
+      this.modifiedMillis = modifiedMillis;
+      this.network = network;
+    }
+  }
+}
@@ -0,0 +1,292 @@
+package main.com.chess.engine.evaluation;
+
+import main.com.chess.engine.board.AttackTables;
+import main.com.chess.engine.board.Board;
+import main.com.chess.engine.board.BoardUtils;
+import main.com.chess.engine.common.Side;
+import main.com.chess.engine.pieces.PieceType;
+
+/**
+ * A cache of pawn structure evaluations, keyed by the {@link Board#getPawnKey() pawn key} of positions.
+ * <p>
+ * Pawns move rarely compared to other pieces, so most positions of a search share their pawn structure with many
+ * others. For each structure the table keeps the pawn bitboards, the squares attacked by the pawns of each side,
+ * the passed pawns of each side and the middlegame and endgame scores of the structure terms: doubled, isolated,
+ * backward and passed pawns. The pawn shield of a king, which also depends on the king square, is cached for the
+ * last king square asked for. Scores are from white's point of view.
+ * <p>
+ * The table is direct-mapped over parallel primitive arrays, with no object per entry, and is not thread-safe: every
+ * search thread uses a table of its own. {@link #probe(Board)} returns the slot of a position's structure, computing
+ * it on a miss, and the getters read the slot.
+ */
+public class PawnHashTable {
+  private static final int DOUBLED_MG = -10;
+  private static final int DOUBLED_EG = -20;
+  private static final int ISOLATED_MG = -10;
+  private static final int ISOLATED_EG = -15;
+  private static final int BACKWARD_MG = -8;
+  private static final int BACKWARD_EG = -12;
+  // by rank, counted from the side's own first rank
+  private static final int[] PASSED_MG = {0, 5, 10, 15, 25, 40, 60, 0};
+  private static final int[] PASSED_EG = {0, 10, 20, 35, 55, 85, 120, 0};
+  // per own pawn one and two ranks in front of the king, on its column and the adjacent ones
+  private static final int SHIELD_NEAR = 15;
+  private static final int SHIELD_FAR = 8;
+
+  private static final long[] COLUMNS = new long[BoardUtils.BOARD_COLS];
+  private static final long[] ADJACENT_COLUMNS = new long[BoardUtils.BOARD_COLS];
+  private static final long[] ROWS = new long[BoardUtils.BOARD_ROWS];
+  // squares strictly in front of a square, from the point of view of each side, on its column only
+  private static final long[][] FRONT = new long[2][BoardUtils.TOTAL_SQUARES];
+  // squares strictly in front of a square on its column and the adjacent ones
+  private static final long[][] PASSED_SPAN = new long[2][BoardUtils.TOTAL_SQUARES];
+
+  static {
+    for (int col = 0; col < BoardUtils.BOARD_COLS; col++) {
+      for (int row = 0; row < BoardUtils.BOARD_ROWS; row++) {
+        COLUMNS[col] |= 1L << (row * BoardUtils.BOARD_COLS + col);
+        ROWS[row] |= 1L << (row * BoardUtils.BOARD_COLS + col);
+      }
+    }
+    for (int col = 0; col < BoardUtils.BOARD_COLS; col++) {
+      ADJACENT_COLUMNS[col] = (col > 0 ? COLUMNS[col - 1] : 0L)
+        | (col < BoardUtils.BOARD_COLS - 1 ? COLUMNS[col + 1] : 0L);
+    }
+    for (int square = 0; square < BoardUtils.TOTAL_SQUARES; square++) {
+      final int row = square / BoardUtils.BOARD_COLS;
+      final int col = square % BoardUtils.BOARD_COLS;
+      long whiteAhead = 0L;
+      long blackAhead = 0L;
+      for (int r = 0; r < BoardUtils.BOARD_ROWS; r++) {
+        // white pawns move towards row 0, black pawns towards row 7
+        whiteAhead |= r < row ? ROWS[r] : 0L;
+        blackAhead |= r > row ? ROWS[r] : 0L;
+      }
+      FRONT[Side.WHITE.ordinal()][square] = whiteAhead & COLUMNS[col];
+      FRONT[Side.BLACK.ordinal()][square] = blackAhead & COLUMNS[col];
+      PASSED_SPAN[Side.WHITE.ordinal()][square] = whiteAhead & (COLUMNS[col] | ADJACENT_COLUMNS[col]);
+      PASSED_SPAN[Side.BLACK.ordinal()][square] = blackAhead & (COLUMNS[col] | ADJACENT_COLUMNS[col]);
+    }
+  }
+
+  private final int mask;
+  private final long[] keys;
+  private final long[] pawns;
+  private final long[] pawnAttacks;
+  private final long[] passedPawns;
+  private final int[] middlegameScores;
+  private final int[] endgameScores;
+  private final int[] shieldKingSquares;
+  private final int[] shieldScores;
+  private final boolean[] used;
+
+  private long probes;
+  private long hits;
+
+  /**
+   * Constructs a pawn hash table.
+   *
+   * @param entries The number of entries, a power of two.
+   * @throws IllegalArgumentException If the number of entries is not a positive power of two.
+   */
+  public PawnHashTable(final int entries) {
+    if (entries <= 0 || Integer.bitCount(entries) != 1) {
+      throw new IllegalArgumentException("Pawn hash size must be a power of two: " + entries);
+    }
+    this.mask = entries - 1;
+    this.keys = new long[entries];
+    this.pawns = new long[2 * entries];
+    this.pawnAttacks = new long[2 * entries];
+    this.passedPawns = new long[2 * entries];
+    this.middlegameScores = new int[entries];
+    this.endgameScores = new int[entries];
+    this.shieldKingSquares = new int[2 * entries];
+    this.shieldScores = new int[2 * entries];
+    this.used = new boolean[entries];
+  }
+
+  /**
+   * Finds the entry of the pawn structure of a position, computing it if the table does not hold it.
+   *
+   * @param board The position.
+   * @return The slot of the entry, valid until the next probe.
+   */
+  public int probe(final Board board) {
+    final long key = board.getPawnKey();
+    final int slot = (int) key & mask;
+    probes++;
+    if (used[slot] && keys[slot] == key) {
+      hits++;
+      return slot;
+    }
+    keys[slot] = key;
+    used[slot] = true;
+    compute(slot, board.getPieceBitboard(PieceType.PAWN, Side.WHITE),
+            board.getPieceBitboard(PieceType.PAWN, Side.BLACK));
+    return slot;
+  }
+
+  /**
+   * Gets the middlegame score of the pawn structure terms of an entry.
+   *
+   * @param slot The slot returned by {@link #probe(Board)}.
+   * @return The score in centipawns, from white's point of view.
+   */
+  public int getMiddlegameScore(final int slot) {
+    return middlegameScores[slot];
+  }
+
+  /**
+   * Gets the endgame score of the pawn structure terms of an entry.
+   *
+   * @param slot The slot returned by {@link #probe(Board)}.
+   * @return The score in centipawns, from white's point of view.
+   */
+  public int getEndgameScore(final int slot) {
+    return endgameScores[slot];
+  }
+
+  /**
+   * Gets the squares attacked by the pawns of a side.
+   *
+   * @param slot The slot returned by {@link #probe(Board)}.
+   * @param side The side of the pawns.
+   * @return The bitboard of attacked squares.
+   */
+  public long getPawnAttacks(final int slot, final Side side) {
+    return pawnAttacks[2 * slot + side.ordinal()];
+  }
+
+  /**
+   * Gets the passed pawns of a side.
+   *
+   * @param slot The slot returned by {@link #probe(Board)}.
+   * @param side The side of the pawns.
+   * @return The bitboard of passed pawns.
+   */
+  public long getPassedPawns(final int slot, final Side side) {
+    return passedPawns[2 * slot + side.ordinal()];
+  }
+
+  /**
+   * Gets the middlegame bonus of the pawns sheltering a king, computed once per king square.
+   *
+   * @param slot       The slot returned by {@link #probe(Board)}.
+   * @param side       The side of the king.
+   * @param kingSquare The position index of the king.
+   * @return The bonus in centipawns, for the side of the king.
+   */
+  public int getShieldScore(final int slot, final Side side, final int kingSquare) {
+    final int index = 2 * slot + side.ordinal();
+    // king squares are stored plus one, so that a fresh entry holds no king square
+    if (shieldKingSquares[index] != kingSquare + 1) {
+      shieldKingSquares[index] = kingSquare + 1;
+      shieldScores[index] = computeShield(pawns[index], side, kingSquare);
+    }
+    return shieldScores[index];
+  }
+
+  /**
+   * Gets the number of probes since the table was created.
+   */
+  public long getProbes() {
+    return probes;
+  }
+
+  /**
+   * Gets the number of probes that found their entry.
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * Computes and stores every term of a pawn structure.
+   */
+  private void compute(final int slot, final long whitePawns, final long blackPawns) {
+    int middlegame = 0;
+    int endgame = 0;
+    for (final Side side : Side.values()) {
+      final int index = 2 * slot + side.ordinal();
+      final long own = side.isWhite() ? whitePawns : blackPawns;
+      final long enemy = side.isWhite() ? blackPawns : whitePawns;
+      final long enemyAttacks = attacks(enemy, side.getOpponent());
+      final int sign = side.isWhite() ? 1 : -1;
+      long passed = 0L;
+      long remaining = own;
+      while (remaining != 0) {
+        final int square = Long.numberOfTrailingZeros(remaining);
+        remaining &= remaining - 1;
+        final int col = square % BoardUtils.BOARD_COLS;
+        final long front = FRONT[side.ordinal()][square];
+        if ((own & front) != 0) {
+          middlegame += sign * DOUBLED_MG;
+          endgame += sign * DOUBLED_EG;
+        }
+        if ((own & ADJACENT_COLUMNS[col]) == 0) {
+          middlegame += sign * ISOLATED_MG;
+          endgame += sign * ISOLATED_EG;
+        } else if (isBackward(own, side, square, enemyAttacks)) {
+          middlegame += sign * BACKWARD_MG;
+          endgame += sign * BACKWARD_EG;
+        }
+        if ((enemy & PASSED_SPAN[side.ordinal()][square]) == 0 && (own & front) == 0) {
+          passed |= 1L << square;
+          final int rank = relativeRank(side, square);
+          middlegame += sign * PASSED_MG[rank];
+          endgame += sign * PASSED_EG[rank];
+        }
+      }
+      pawns[index] = own;
+      pawnAttacks[index] = attacks(own, side);
+      passedPawns[index] = passed;
+      shieldKingSquares[index] = 0;
+    }
+    middlegameScores[slot] = middlegame;
+    endgameScores[slot] = endgame;
+  }
+
+  /**
+   * Checks whether a pawn that has neighbours is backward: no pawn on an adjacent column stands level with or behind
+   * it to support its advance, and an enemy pawn attacks the square in front of it.
+   */
+  private static boolean isBackward(final long own, final Side side, final int square, final long enemyAttacks) {
+    final int col = square % BoardUtils.BOARD_COLS;
+    // adjacent squares level with the pawn or behind it are those not strictly in front of it
+    if ((own & ADJACENT_COLUMNS[col] & ~PASSED_SPAN[side.ordinal()][square]) != 0) {
+      return false;
+    }
+    final int stop = side.isWhite() ? square - BoardUtils.BOARD_COLS : square + BoardUtils.BOARD_COLS;
+    return stop >= 0 && stop < BoardUtils.TOTAL_SQUARES && (enemyAttacks & 1L << stop) != 0;
+  }
+
+  private static int computeShield(final long own, final Side side, final int kingSquare) {
+    final int col = kingSquare % BoardUtils.BOARD_COLS;
+    final int row = kingSquare / BoardUtils.BOARD_COLS;
+    final int step = side.isWhite() ? -1 : 1;
+    final long columns = COLUMNS[col] | ADJACENT_COLUMNS[col];
+    int score = 0;
+    if (row + step >= 0 && row + step < BoardUtils.BOARD_ROWS) {
+      score += SHIELD_NEAR * Long.bitCount(own & columns & ROWS[row + step]);
+    }
+    if (row + 2 * step >= 0 && row + 2 * step < BoardUtils.BOARD_ROWS) {
+      score += SHIELD_FAR * Long.bitCount(own & columns & ROWS[row + 2 * step]);
+    }
+    return score;
+  }
+
+  private static long attacks(final long pawnBitboard, final Side side) {
+    long attacks = 0L;
+    long remaining = pawnBitboard;
+    while (remaining != 0) {
+      attacks |= AttackTables.getPawnAttacks(side, Long.numberOfTrailingZeros(remaining));
+      remaining &= remaining - 1;
+    }
+    return attacks;
+  }
+
+  private static int relativeRank(final Side side, final int square) {
+    final int row = square / BoardUtils.BOARD_COLS;
+    return side.isWhite() ? BoardUtils.BOARD_ROWS - 1 - row : row;
+  }
+}
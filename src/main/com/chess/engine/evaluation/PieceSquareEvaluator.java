@@ -0,0 +1,20 @@
+package main.com.chess.engine.evaluation;
+
+import main.com.chess.engine.board.Board;
+import main.com.chess.engine.board.PieceSquareTables;
+
+/**
+ * Evaluates positions by tapered material and piece-square values, which the boards keep up to date as moves are
+ * made, so an evaluation reads three numbers off the board and costs the same whatever the position.
+ */
+public class PieceSquareEvaluator implements Evaluator {
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int evaluate(final Board board) {
+    final int score = PieceSquareTables.taper(board.getMiddlegameScore(), board.getEndgameScore(), board.getPhase());
+    return board.getNextMoveMaker().isWhite() ? score : -score;
+  }
+}
@@ -0,0 +1,91 @@
+package main.com.chess.engine.evaluation;
+
+/**
+ * The integer arithmetic of a {@link QuantizedNnueEvaluator}, in a scalar implementation and in one using the
+ * incubating Vector API.
+ * <p>
+ * The vector implementation is loaded by name when first needed, so that this package runs on JVMs started without
+ * the {@code jdk.incubator.vector} module; it is chosen by default whenever it loads. Both implementations compute
+ * exactly the same integers.
+ */
+interface QuantizedKernels {
+  /**
+   * Set to {@code true} to use the scalar kernels even when the Vector API is available.
+   */
+  String SCALAR_PROPERTY = "chess.nnue.scalar";
+
+  /**
+   * Adds a weight column to an accumulator, wrapping around on overflow.
+   *
+   * @param accumulator The accumulator.
+   * @param weights     The feature weights.
+   * @param offset      The index of the first weight of the column.
+   */
+  void add(short[] accumulator, short[] weights, int offset);
+
+  /**
+   * Subtracts a weight column from an accumulator, wrapping around on overflow.
+   *
+   * @param accumulator The accumulator.
+   * @param weights     The feature weights.
+   * @param offset      The index of the first weight of the column.
+   */
+  void subtract(short[] accumulator, short[] weights, int offset);
+
+  /**
+   * Clamps an accumulator to {@code [0, }{@value QuantizedNnueNetwork#ACTIVATION_SCALE}{@code ]}.
+   *
+   * @param accumulator The accumulator.
+   * @param output      The activations to write the clamped accumulator to.
+   * @param offset      The index of the first activation to write.
+   */
+  void clippedRelu(short[] accumulator, byte[] output, int offset);
+
+  /**
+   * Computes a dense layer followed by a clipped ReLU.
+   *
+   * @param weights The weights, one row of {@code input.length} weights per output neuron.
+   * @param biases  The biases, at the scale of the products of weights and activations.
+   * @param input   The input activations.
+   * @param output  The output activations.
+   */
+  void dense(byte[] weights, int[] biases, byte[] input, byte[] output);
+
+  /**
+   * Gets the kernels used by default.
+   */
+  static QuantizedKernels getDefault() {
+    return Holder.DEFAULT;
+  }
+
+  /**
+   * Gets the kernels using the Vector API.
+   *
+   * @return The vector kernels, or {@code null} if the Vector API is unavailable.
+   */
+  static QuantizedKernels getVector() {
+    return Holder.VECTOR;
+  }
+
+  /**
+   * Chooses the kernels once, when they are first used.
+   */
+  final class Holder {
+    private static final QuantizedKernels VECTOR = loadVector();
+    private static final QuantizedKernels DEFAULT =
+      VECTOR == null || Boolean.getBoolean(SCALAR_PROPERTY) ? ScalarQuantizedKernels.INSTANCE : VECTOR;
+
+    private Holder() {
+    }
+
+    private static QuantizedKernels loadVector() {
+      try {
+        return (QuantizedKernels) Class.forName(QuantizedKernels.class.getPackageName() + ".VectorQuantizedKernels")
+          .getDeclaredConstructor().newInstance();
+      } catch (final ReflectiveOperationException | LinkageError e) {
+        // the jdk.incubator.vector module is not available
+        return null;
+      }
+    }
+  }
+}
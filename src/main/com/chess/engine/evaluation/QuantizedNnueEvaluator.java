@@ -0,0 +1,133 @@
+package main.com.chess.engine.evaluation;
+
+import main.com.chess.engine.common.Side;
+
+import java.util.Arrays;
+
+/**
+ * Evaluates positions with a {@link QuantizedNnueNetwork} in integer arithmetic, keeping the short accumulators of
+ * the network up to date incrementally as described in {@link AbstractNnueEvaluator}.
+ * <p>
+ * The arithmetic runs on SIMD vectors through the incubating Vector API when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}, and in scalar code otherwise, or when the system property
+ * {@value QuantizedKernels#SCALAR_PROPERTY} is set; the choice is made once, at startup, and both compute the same
+ * scores.
+ */
+public class QuantizedNnueEvaluator extends AbstractNnueEvaluator {
+  private final QuantizedNnueNetwork network;
+  private final QuantizedKernels kernels;
+  private final int hiddenSize;
+
+  // per stack entry and perspective
+  private short[][][] accumulators;
+
+  private final byte[] input;
+  private final byte[] l1Output;
+  private final byte[] l2Output;
+
+  /**
+   * Constructs an evaluator using the given network and the kernels chosen at startup.
+   *
+   * @param network The network, which may be shared by any number of evaluators.
+   */
+  public QuantizedNnueEvaluator(final QuantizedNnueNetwork network) {
+    this(network, QuantizedKernels.getDefault());
+  }
+
+  /**
+   * Constructs an evaluator using the given network and explicitly chosen kernels, e.g. to compare them.
+   *
+   * @param network    The network, which may be shared by any number of evaluators.
+   * @param vectorized Whether to use the Vector API.
+   * @throws UnsupportedOperationException If the Vector API is requested but unavailable.
+   */
+  public QuantizedNnueEvaluator(final QuantizedNnueNetwork network, final boolean vectorized) {
+    this(network, vectorized ? getVectorKernels() : ScalarQuantizedKernels.INSTANCE);
+  }
+
+  private QuantizedNnueEvaluator(final QuantizedNnueNetwork network, final QuantizedKernels kernels) {
+    this.network = network;
+    this.kernels = kernels;
+    this.hiddenSize = network.getHiddenSize();
+    this.accumulators = new short[INITIAL_STACK_SIZE][PERSPECTIVES][hiddenSize];
+    this.input = new byte[2 * hiddenSize];
+    this.l1Output = new byte[network.getL1Size()];
+    this.l2Output = new byte[network.getL2Size()];
+  }
+
+  /**
+   * Checks whether the Vector API is available to the quantized evaluators.
+   *
+   * @return {@code true} if the JVM runs with the {@code jdk.incubator.vector} module, {@code false} otherwise.
+   */
+  public static boolean isVectorApiAvailable() {
+    return QuantizedKernels.getVector() != null;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Evaluator forThread() {
+    return new QuantizedNnueEvaluator(network, kernels);
+  }
+
+  @Override
+  void refreshAccumulator(final int entry, final int perspective, final int[] features, final int count) {
+    final short[] accumulator = accumulators[entry][perspective];
+    System.arraycopy(network.featureBiases, 0, accumulator, 0, hiddenSize);
+    for (int i = 0; i < count; i++) {
+      kernels.add(accumulator, network.featureWeights, features[i] * hiddenSize);
+    }
+  }
+
+  @Override
+  void copyAccumulator(final int entry, final int perspective) {
+    System.arraycopy(accumulators[entry][perspective], 0, accumulators[entry + 1][perspective], 0, hiddenSize);
+  }
+
+  @Override
+  void addFeature(final int entry, final int perspective, final int feature) {
+    kernels.add(accumulators[entry][perspective], network.featureWeights, feature * hiddenSize);
+  }
+
+  @Override
+  void subtractFeature(final int entry, final int perspective, final int feature) {
+    kernels.subtract(accumulators[entry][perspective], network.featureWeights, feature * hiddenSize);
+  }
+
+  @Override
+  int forward(final int entry, final Side sideToMove) {
+    kernels.clippedRelu(accumulators[entry][sideToMove.ordinal()], input, 0);
+    kernels.clippedRelu(accumulators[entry][sideToMove.getOpponent().ordinal()], input, hiddenSize);
+    kernels.dense(network.l1Weights, network.l1Biases, input, l1Output);
+    kernels.dense(network.l2Weights, network.l2Biases, l1Output, l2Output);
+    int output = network.outputBias;
+    for (int i = 0; i < l2Output.length; i++) {
+      output += network.outputWeights[i] * l2Output[i];
+    }
+    return Math.floorDiv(output + QuantizedNnueNetwork.ACTIVATION_SCALE / 2, QuantizedNnueNetwork.ACTIVATION_SCALE);
+  }
+
+  @Override
+  void growAccumulators(final int size) {
+    final int oldSize = accumulators.length;
+    accumulators = Arrays.copyOf(accumulators, size);
+    for (int i = oldSize; i < size; i++) {
+      accumulators[i] = new short[PERSPECTIVES][hiddenSize];
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "quantized nnue (" + kernels + ")";
+  }
+
+  private static QuantizedKernels getVectorKernels() {
+    final QuantizedKernels vector = QuantizedKernels.getVector();
+    if (vector == null) {
+      throw new UnsupportedOperationException("The Vector API needs --add-modules jdk.incubator.vector");
+    }
+    return vector;
+  }
+}
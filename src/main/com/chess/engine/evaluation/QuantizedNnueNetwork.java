@@ -0,0 +1,112 @@
+package main.com.chess.engine.evaluation;
+
+import java.nio.FloatBuffer;
+
+/**
+ * The parameters of an {@link NnueNetwork} quantized to small integers, for fast inference.
+ * <p>
+ * Activations are fixed-point numbers where {@value #ACTIVATION_SCALE} stands for 1, so the clipped ReLU clamps them
+ * to {@code [0, 127]} and they fit a byte. The feature weights and biases are scaled alike and stored as shorts, so
+ * the accumulators are shorts too. The dense layer weights are scaled by {@code 1 << }{@value #WEIGHT_SHIFT} and
+ * stored as bytes; their biases are stored as ints at the scale of the products, and the sums are shifted back to
+ * the activation scale before clipping. The output weights are stored as ints in centipawns per unit activation, and
+ * the output sum is divided by the activation scale, rounding to nearest.
+ * <p>
+ * Weights are rounded to the nearest step, so a quantized network only approximates the float one in general; the
+ * {@link NnueNetwork#material() material network} is quantized exactly.
+ */
+public final class QuantizedNnueNetwork {
+  /**
+   * The fixed-point value of an activation of 1.
+   */
+  public static final int ACTIVATION_SCALE = 127;
+
+  /**
+   * The binary logarithm of the fixed-point value of a dense layer weight of 1.
+   */
+  public static final int WEIGHT_SHIFT = 6;
+
+  private final int hiddenSize;
+  private final int l1Size;
+  private final int l2Size;
+
+  final short[] featureWeights;
+  final short[] featureBiases;
+  final byte[] l1Weights;
+  final int[] l1Biases;
+  final byte[] l2Weights;
+  final int[] l2Biases;
+  final int[] outputWeights;
+  final int outputBias;
+
+  private QuantizedNnueNetwork(final NnueNetwork network) {
+    this.hiddenSize = network.getHiddenSize();
+    this.l1Size = network.getL1Size();
+    this.l2Size = network.getL2Size();
+    final FloatBuffer weights = network.featureWeights;
+    this.featureWeights = new short[weights.capacity()];
+    for (int i = 0; i < featureWeights.length; i++) {
+      featureWeights[i] = (short) quantize("feature weight", weights.get(i), ACTIVATION_SCALE, Short.MAX_VALUE);
+    }
+    this.featureBiases = new short[hiddenSize];
+    for (int i = 0; i < hiddenSize; i++) {
+      featureBiases[i] = (short) quantize("feature bias", network.featureBiases[i], ACTIVATION_SCALE, Short.MAX_VALUE);
+    }
+    this.l1Weights = quantizeWeights("first layer weight", network.l1Weights);
+    this.l1Biases = quantizeBiases(network.l1Biases);
+    this.l2Weights = quantizeWeights("second layer weight", network.l2Weights);
+    this.l2Biases = quantizeBiases(network.l2Biases);
+    this.outputWeights = new int[l2Size];
+    for (int i = 0; i < l2Size; i++) {
+      outputWeights[i] = quantize("output weight", network.outputWeights[i], 1, Integer.MAX_VALUE / ACTIVATION_SCALE);
+    }
+    this.outputBias = quantize("output bias", network.outputBias, ACTIVATION_SCALE, Integer.MAX_VALUE / 2);
+  }
+
+  /**
+   * Quantizes a network.
+   *
+   * @param network The float network.
+   * @return The quantized network.
+   * @throws IllegalArgumentException If a parameter is out of the range of its integer type.
+   */
+  public static QuantizedNnueNetwork quantize(final NnueNetwork network) {
+    return new QuantizedNnueNetwork(network);
+  }
+
+  public int getHiddenSize() {
+    return hiddenSize;
+  }
+
+  public int getL1Size() {
+    return l1Size;
+  }
+
+  public int getL2Size() {
+    return l2Size;
+  }
+
+  private static byte[] quantizeWeights(final String name, final float[] weights) {
+    final byte[] quantized = new byte[weights.length];
+    for (int i = 0; i < weights.length; i++) {
+      quantized[i] = (byte) quantize(name, weights[i], 1 << WEIGHT_SHIFT, Byte.MAX_VALUE);
+    }
+    return quantized;
+  }
+
+  private static int[] quantizeBiases(final float[] biases) {
+    final int[] quantized = new int[biases.length];
+    for (int i = 0; i < biases.length; i++) {
+      quantized[i] = quantize("dense bias", biases[i], ACTIVATION_SCALE << WEIGHT_SHIFT, Integer.MAX_VALUE / 2);
+    }
+    return quantized;
+  }
+
+  private static int quantize(final String name, final float value, final int scale, final int limit) {
+    final long quantized = Math.round((double) value * scale);
+    if (quantized > limit || quantized < -limit - 1) {
+      throw new IllegalArgumentException("Cannot quantize " + name + " " + value + " to at most " + limit + " steps");
+    }
+    return (int) quantized;
+  }
+}
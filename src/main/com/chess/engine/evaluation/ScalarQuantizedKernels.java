@@ -0,0 +1,53 @@
+package main.com.chess.engine.evaluation;
+
+/**
+ * The quantized inference kernels in plain Java, used when the Vector API is unavailable.
+ */
+final class ScalarQuantizedKernels implements QuantizedKernels {
+  static final ScalarQuantizedKernels INSTANCE = new ScalarQuantizedKernels();
+
+  private ScalarQuantizedKernels() {
+  }
+
+  @Override
+  public void add(final short[] accumulator, final short[] weights, final int offset) {
+    for (int i = 0; i < accumulator.length; i++) {
+      accumulator[i] += weights[offset + i];
+    }
+  }
+
+  @Override
+  public void subtract(final short[] accumulator, final short[] weights, final int offset) {
+    for (int i = 0; i < accumulator.length; i++) {
+      accumulator[i] -= weights[offset + i];
+    }
+  }
+
+  @Override
+  public void clippedRelu(final short[] accumulator, final byte[] output, final int offset) {
+    for (int i = 0; i < accumulator.length; i++) {
+      output[offset + i] = (byte) clamp(accumulator[i]);
+    }
+  }
+
+  @Override
+  public void dense(final byte[] weights, final int[] biases, final byte[] input, final byte[] output) {
+    for (int o = 0; o < output.length; o++) {
+      final int row = o * input.length;
+      int sum = biases[o];
+      for (int i = 0; i < input.length; i++) {
+        sum += weights[row + i] * input[i];
+      }
+      output[o] = (byte) clamp(sum >> QuantizedNnueNetwork.WEIGHT_SHIFT);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "scalar";
+  }
+
+  static int clamp(final int value) {
+    return Math.min(QuantizedNnueNetwork.ACTIVATION_SCALE, Math.max(0, value));
+  }
+}
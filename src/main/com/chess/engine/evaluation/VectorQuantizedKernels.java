@@ -0,0 +1,98 @@
+package main.com.chess.engine.evaluation;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The quantized inference kernels using the incubating Vector API, in the widest vectors the CPU supports.
+ * <p>
+ * Accumulators are processed as shorts. Dense layers widen bytes to shorts, whose products fit a short, and sum the
+ * products as ints; integer sums do not depend on their order, so the results are exactly those of the scalar
+ * kernels. Compiling and using this class needs {@code --add-modules jdk.incubator.vector}; it is only ever loaded by
+ * name, from {@link QuantizedKernels}.
+ */
+final class VectorQuantizedKernels implements QuantizedKernels {
+  private static final VectorSpecies<Short> SHORTS = ShortVector.SPECIES_PREFERRED;
+  // as many lanes as the shorts, to widen from
+  private static final VectorSpecies<Byte> BYTES =
+    VectorSpecies.of(byte.class, VectorShape.forBitSize(SHORTS.vectorBitSize() / 2));
+  // as many bits as the shorts, to widen to in two parts
+  private static final VectorSpecies<Integer> INTS = VectorSpecies.of(int.class, SHORTS.vectorShape());
+
+  private static final short MAX_ACTIVATION = QuantizedNnueNetwork.ACTIVATION_SCALE;
+
+  VectorQuantizedKernels() {
+  }
+
+  @Override
+  public void add(final short[] accumulator, final short[] weights, final int offset) {
+    final int bound = SHORTS.loopBound(accumulator.length);
+    int i = 0;
+    for (; i < bound; i += SHORTS.length()) {
+      ShortVector.fromArray(SHORTS, accumulator, i).add(ShortVector.fromArray(SHORTS, weights, offset + i))
+        .intoArray(accumulator, i);
+    }
+    for (; i < accumulator.length; i++) {
+      accumulator[i] += weights[offset + i];
+    }
+  }
+
+  @Override
+  public void subtract(final short[] accumulator, final short[] weights, final int offset) {
+    final int bound = SHORTS.loopBound(accumulator.length);
+    int i = 0;
+    for (; i < bound; i += SHORTS.length()) {
+      ShortVector.fromArray(SHORTS, accumulator, i).sub(ShortVector.fromArray(SHORTS, weights, offset + i))
+        .intoArray(accumulator, i);
+    }
+    for (; i < accumulator.length; i++) {
+      accumulator[i] -= weights[offset + i];
+    }
+  }
+
+  @Override
+  public void clippedRelu(final short[] accumulator, final byte[] output, final int offset) {
+    final int bound = SHORTS.loopBound(accumulator.length);
+    int i = 0;
+    for (; i < bound; i += SHORTS.length()) {
+      final ShortVector clamped = ShortVector.fromArray(SHORTS, accumulator, i).max((short) 0).min(MAX_ACTIVATION);
+      ((ByteVector) clamped.convertShape(VectorOperators.S2B, BYTES, 0)).intoArray(output, offset + i);
+    }
+    for (; i < accumulator.length; i++) {
+      output[offset + i] = (byte) ScalarQuantizedKernels.clamp(accumulator[i]);
+    }
+  }
+
+  @Override
+  public void dense(final byte[] weights, final int[] biases, final byte[] input, final byte[] output) {
+    final int bound = SHORTS.loopBound(input.length);
+    for (int o = 0; o < output.length; o++) {
+      final int row = o * input.length;
+      IntVector sums = IntVector.zero(INTS);
+      int i = 0;
+      for (; i < bound; i += SHORTS.length()) {
+        final ShortVector activations =
+          (ShortVector) ByteVector.fromArray(BYTES, input, i).convertShape(VectorOperators.B2S, SHORTS, 0);
+        final ShortVector rowWeights =
+          (ShortVector) ByteVector.fromArray(BYTES, weights, row + i).convertShape(VectorOperators.B2S, SHORTS, 0);
+        final ShortVector products = activations.mul(rowWeights);
+        sums = sums.add((IntVector) products.convertShape(VectorOperators.S2I, INTS, 0))
+          .add((IntVector) products.convertShape(VectorOperators.S2I, INTS, 1));
+      }
+      int sum = biases[o] + sums.reduceLanes(VectorOperators.ADD);
+      for (; i < input.length; i++) {
+        sum += weights[row + i] * input[i];
+      }
+      output[o] = (byte) ScalarQuantizedKernels.clamp(sum >> QuantizedNnueNetwork.WEIGHT_SHIFT);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "vector " + SHORTS.vectorBitSize() + " bits";
+  }
+}
@@ -2,6 +2,7 @@ package main.com.chess.engine.moves;
 
 import main.com.chess.engine.board.Board;
 import main.com.chess.engine.board.ChessBoard;
+import main.com.chess.engine.common.Position;
 import main.com.chess.engine.pieces.Piece;
 
 /**
@@ -21,6 +22,19 @@ public class CaptureMove extends Move {
     this.capturedPiece = capturedPiece;
   }
 
+  /**
+   * Constructs a capture move whose destination differs from the square of the captured piece.
+   *
+   * @param attackingPiece The piece making the capture move.
+   * @param capturedPiece  The piece being captured.
+   * @param destination    The destination position of the attacking piece.
+   */
+  protected CaptureMove(final Board board, final Piece attackingPiece, final Piece capturedPiece,
+                        final Position destination) {
+    super(board, attackingPiece, destination);
+    this.capturedPiece = capturedPiece;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -56,6 +70,7 @@ public class CaptureMove extends Move {
     builder.setPiece(movingPiece.move(this));
     // change the player turn
     builder.setNextMoveMaker(board.getCurrentPlayer().getOpponent().getSide());
+    setIncrementalState(builder);
     return builder.build();
   }
 }
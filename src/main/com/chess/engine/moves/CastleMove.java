@@ -4,7 +4,8 @@ import main.com.chess.engine.board.Board;
 import main.com.chess.engine.board.ChessBoard;
 import main.com.chess.engine.common.Position;
 import main.com.chess.engine.pieces.Piece;
-import main.com.chess.engine.pieces.RookChessPiece;
+import main.com.chess.engine.pieces.PieceFactory;
+import main.com.chess.engine.pieces.PieceType;
 
 import java.util.Objects;
 
@@ -61,8 +62,9 @@ public abstract class CastleMove extends Move{
     }
     builder
       .setPiece(movingPiece.move(this))
-      .setPiece(new RookChessPiece(new Position(rookDestination.getX()), rook.getSide(), true))
+      .setPiece(PieceFactory.getPiece(PieceType.ROOK, rook.getSide(), rookDestination, true))
       .setNextMoveMaker(board.getCurrentPlayer().getOpponent().getSide());
+    setIncrementalState(builder);
     return builder.build();
   }
 }
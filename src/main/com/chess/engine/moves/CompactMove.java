@@ -0,0 +1,245 @@
+package main.com.chess.engine.moves;
+
+import main.com.chess.engine.board.Board;
+import main.com.chess.engine.board.BoardUtils;
+import main.com.chess.engine.common.Position;
+import main.com.chess.engine.pieces.Piece;
+import main.com.chess.engine.pieces.PieceType;
+
+/**
+ * Encodes a move into a single {@code int} so that search and move generation do not allocate per move.
+ * <p>
+ * Layout, from the least significant bit:
+ * <pre>
+ *   bits  0- 5  origin square
+ *   bits  6-11  destination square
+ *   bits 12-14  moving piece type (ordinal)
+ *   bits 15-17  captured piece type (ordinal + 1, 0 when nothing is captured)
+ *   bits 18-20  promotion piece type (ordinal + 1, 0 when the move is no promotion)
+ *   bit  21     pawn double jump
+ *   bit  22     en-passant capture
+ *   bit  23     castling
+ * </pre>
+ * The side of the moving piece is not encoded; it is the side to move of the board the move belongs to.
+ * {@link #NONE} (zero) never denotes a real move since origin and destination always differ.
+ */
+public final class CompactMove {
+  public static final int NONE = 0;
+
+  public static final int FLAG_DOUBLE_JUMP = 1 << 21;
+  public static final int FLAG_EN_PASSANT = 1 << 22;
+  public static final int FLAG_CASTLING = 1 << 23;
+
+  private static final int SQUARE_MASK = 0x3F;
+  private static final int TYPE_MASK = 0x7;
+  private static final int DESTINATION_SHIFT = 6;
+  private static final int MOVING_TYPE_SHIFT = 12;
+  private static final int CAPTURED_TYPE_SHIFT = 15;
+  private static final int PROMOTION_TYPE_SHIFT = 18;
+
+  private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+  private CompactMove() {
+  }
+
+  /**
+   * Encodes a move.
+   *
+   * @param origin        The origin square.
+   * @param destination   The destination square.
+   * @param movingType    The type of the moving piece.
+   * @param capturedType  The type of the captured piece, or {@code null}.
+   * @param promotionType The type the pawn is promoted to, or {@code null}.
+   * @param flags         Any combination of the {@code FLAG_*} constants.
+   * @return The encoded move.
+   */
+  public static int encode(final int origin, final int destination, final PieceType movingType,
+                           final PieceType capturedType, final PieceType promotionType, final int flags) {
+    return origin
+      | destination << DESTINATION_SHIFT
+      | movingType.ordinal() << MOVING_TYPE_SHIFT
+      | (capturedType == null ? 0 : capturedType.ordinal() + 1) << CAPTURED_TYPE_SHIFT
+      | (promotionType == null ? 0 : promotionType.ordinal() + 1) << PROMOTION_TYPE_SHIFT
+      | flags;
+  }
+
+  public static int getOrigin(final int move) {
+    return move & SQUARE_MASK;
+  }
+
+  public static int getDestination(final int move) {
+    return (move >>> DESTINATION_SHIFT) & SQUARE_MASK;
+  }
+
+  public static PieceType getMovingType(final int move) {
+    return PIECE_TYPES[(move >>> MOVING_TYPE_SHIFT) & TYPE_MASK];
+  }
+
+  /**
+   * Gets the type of the captured piece.
+   *
+   * @param move The encoded move.
+   * @return The captured piece type, or {@code null} if the move captures nothing.
+   */
+  public static PieceType getCapturedType(final int move) {
+    final int code = (move >>> CAPTURED_TYPE_SHIFT) & TYPE_MASK;
+    return code == 0 ? null : PIECE_TYPES[code - 1];
+  }
+
+  /**
+   * Gets the type the pawn is promoted to.
+   *
+   * @param move The encoded move.
+   * @return The promotion piece type, or {@code null} if the move is no promotion.
+   */
+  public static PieceType getPromotionType(final int move) {
+    final int code = (move >>> PROMOTION_TYPE_SHIFT) & TYPE_MASK;
+    return code == 0 ? null : PIECE_TYPES[code - 1];
+  }
+
+  public static boolean isCapture(final int move) {
+    return ((move >>> CAPTURED_TYPE_SHIFT) & TYPE_MASK) != 0;
+  }
+
+  public static boolean isPromotion(final int move) {
+    return ((move >>> PROMOTION_TYPE_SHIFT) & TYPE_MASK) != 0;
+  }
+
+  public static boolean isDoubleJump(final int move) {
+    return (move & FLAG_DOUBLE_JUMP) != 0;
+  }
+
+  public static boolean isEnPassant(final int move) {
+    return (move & FLAG_EN_PASSANT) != 0;
+  }
+
+  public static boolean isCastling(final int move) {
+    return (move & FLAG_CASTLING) != 0;
+  }
+
+  /**
+   * Gets the square of the captured piece, which differs from the destination for en-passant captures.
+   *
+   * @param move The encoded move.
+   * @return The square of the captured piece.
+   */
+  public static int getCapturedSquare(final int move) {
+    final int destination = getDestination(move);
+    if (!isEnPassant(move)) {
+      return destination;
+    }
+    // the captured pawn stands on the origin row, in the destination column
+    return (getOrigin(move) / BoardUtils.BOARD_COLS) * BoardUtils.BOARD_COLS + destination % BoardUtils.BOARD_COLS;
+  }
+
+  /**
+   * Gets the origin square of the rook of a castling move.
+   *
+   * @param move The encoded castling move.
+   * @return The rook origin square.
+   */
+  public static int getRookOrigin(final int move) {
+    final int destination = getDestination(move);
+    return destination > getOrigin(move) ? destination + 1 : destination - 2;
+  }
+
+  /**
+   * Gets the destination square of the rook of a castling move.
+   *
+   * @param move The encoded castling move.
+   * @return The rook destination square.
+   */
+  public static int getRookDestination(final int move) {
+    final int destination = getDestination(move);
+    return destination > getOrigin(move) ? destination - 1 : destination + 1;
+  }
+
+  /**
+   * Encodes a move of the {@link Move} hierarchy.
+   *
+   * @param move The move to encode.
+   * @return The encoded move.
+   */
+  public static int fromMove(final Move move) {
+    int flags = 0;
+    if (move instanceof PawnJumpMove) {
+      flags |= FLAG_DOUBLE_JUMP;
+    } else if (move instanceof PawnEnPassantCaptureMove) {
+      flags |= FLAG_EN_PASSANT;
+    } else if (move.isCastlingMove()) {
+      flags |= FLAG_CASTLING;
+    }
+    final Piece capturedPiece = move.getCapturedPiece();
+    return encode(move.getOrigin().getX(), move.getDestination().getX(), move.getMovingPiece().getType(),
+                  capturedPiece == null ? null : capturedPiece.getType(),
+                  move instanceof PawnPromotionMove promotionMove ? promotionMove.getPromotionType() : null,
+                  flags);
+  }
+
+  /**
+   * Creates the {@link Move} counterpart of an encoded move on the given board.
+   *
+   * @param move  The encoded move.
+   * @param board The board holding the position the move is played from.
+   * @return The move object.
+   */
+  public static Move toMove(final int move, final Board board) {
+    final Piece movingPiece = pieceAt(board, getOrigin(move));
+    final Position destination = Position.of(getDestination(move));
+
+    if (isCastling(move)) {
+      final Piece rook = pieceAt(board, getRookOrigin(move));
+      final Position rookOrigin = Position.of(getRookOrigin(move));
+      final Position rookDestination = Position.of(getRookDestination(move));
+      return getDestination(move) > getOrigin(move)
+        ? new KingSideCastleMove(board, movingPiece, destination, rook, rookOrigin, rookDestination)
+        : new QueenSideCastleMove(board, movingPiece, destination, rook, rookOrigin, rookDestination);
+    }
+    if (isEnPassant(move)) {
+      return new PawnEnPassantCaptureMove(board, movingPiece, pieceAt(board, getCapturedSquare(move)), destination);
+    }
+    if (isDoubleJump(move)) {
+      return new PawnJumpMove(board, movingPiece, destination);
+    }
+
+    final Move baseMove;
+    if (isCapture(move)) {
+      final Piece capturedPiece = pieceAt(board, getDestination(move));
+      baseMove = movingPiece.getType().isPawn()
+        ? new PawnCaptureMove(board, movingPiece, capturedPiece)
+        : new CaptureMove(board, movingPiece, capturedPiece);
+    } else {
+      baseMove = movingPiece.getType().isPawn()
+        ? new PawnMove(board, movingPiece, destination)
+        : new MajorMove(board, movingPiece, destination);
+    }
+    return isPromotion(move) ? new PawnPromotionMove(baseMove, getPromotionType(move)) : baseMove;
+  }
+
+  /**
+   * Formats an encoded move in coordinate notation, e.g. {@code e2e4} or {@code e7e8q}.
+   *
+   * @param move The encoded move.
+   * @return The move in coordinate notation.
+   */
+  public static String toNotation(final int move) {
+    final String notation = squareToNotation(getOrigin(move)) + squareToNotation(getDestination(move));
+    return isPromotion(move) ? notation + getPromotionType(move).getCode().toLowerCase() : notation;
+  }
+
+  /**
+   * Formats a square in coordinate notation, where index 0 is {@code a8} and index 63 is {@code h1}.
+   *
+   * @param square The position index of the square.
+   * @return The square in coordinate notation.
+   */
+  public static String squareToNotation(final int square) {
+    final char file = (char) ('a' + square % BoardUtils.BOARD_COLS);
+    final char rank = (char) ('0' + BoardUtils.BOARD_ROWS - square / BoardUtils.BOARD_COLS);
+    return "" + file + rank;
+  }
+
+  private static Piece pieceAt(final Board board, final int square) {
+    return board.getSquare(Position.of(square)).getOccupiedBy();
+  }
+}
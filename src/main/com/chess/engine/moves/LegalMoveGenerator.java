@@ -0,0 +1,312 @@
+package main.com.chess.engine.moves;
+
+import main.com.chess.engine.board.AttackMap;
+import main.com.chess.engine.board.AttackTables;
+import main.com.chess.engine.board.Board;
+import main.com.chess.engine.board.CastlingRights;
+import main.com.chess.engine.board.MagicBitboards;
+import main.com.chess.engine.common.Side;
+import main.com.chess.engine.pieces.PieceType;
+
+/**
+ * Generates strictly legal {@link CompactMove encoded moves}, so that no move has to be tried on a board to find out
+ * whether it leaves the own king in check.
+ * <p>
+ * Before any move is emitted, three things are computed from the bitboards:
+ * <ul>
+ *   <li>the king danger squares, attacked by the opponent once the king is lifted off the board, which the king
+ *   must not move to;</li>
+ *   <li>the check mask: with a single checker, the other pieces may only capture it or block its line; with two
+ *   checkers, only the king may move;</li>
+ *   <li>the pinned pieces, which may only move along the line between their king and the pinning slider.</li>
+ * </ul>
+ * En-passant captures, which remove two pieces from a row at once, are verified by recomputing the slider attacks
+ * on the king for the occupancy after the capture.
+ */
+public final class LegalMoveGenerator {
+  private static final PieceType[] PIECE_TYPES = PieceType.values();
+  private static final PieceType[] PROMOTION_TYPES = {
+    PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT
+  };
+  private static final PieceType[] SLIDING_AND_KNIGHT_TYPES = {
+    PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN
+  };
+
+  private static final long WHITE_PAWN_START_ROW = 0x00FF000000000000L;
+  private static final long BLACK_PAWN_START_ROW = 0x000000000000FF00L;
+  // the rows pawns promote on
+  private static final long LAST_ROW_WHITE = 0x00000000000000FFL;
+  private static final long LAST_ROW_BLACK = 0xFF00000000000000L;
+  private static final long PROMOTION_ROWS = LAST_ROW_WHITE | LAST_ROW_BLACK;
+
+  private LegalMoveGenerator() {
+  }
+
+  /**
+   * Appends all legal moves of the side to move to the given list.
+   *
+   * @param board The board to generate moves for.
+   * @param moves The list receiving the encoded moves.
+   */
+  public static void generateLegalMoves(final Board board, final MoveList moves) {
+    generateLegalMoves(board, board.getNextMoveMaker(), moves);
+  }
+
+  /**
+   * Appends all legal moves of the given side to the given list. For the side not to move, these are the moves it
+   * could make if it were its turn; en passant only ever belongs to the side to move.
+   *
+   * @param board The board to generate moves for.
+   * @param side  The side whose moves are generated.
+   * @param moves The list receiving the encoded moves.
+   * @throws IllegalStateException If the side has no king.
+   */
+  public static void generateLegalMoves(final Board board, final Side side, final MoveList moves) {
+    generate(board, side, false, moves);
+  }
+
+  /**
+   * Appends the legal captures and promotions of the side to move to the given list, including en-passant captures
+   * and capturing or quiet promotions, but no other quiet moves. Meant for quiescence search, which would otherwise
+   * pay for generating quiet moves at every leaf.
+   *
+   * @param board The board to generate moves for.
+   * @param moves The list receiving the encoded moves.
+   */
+  public static void generateLegalCaptures(final Board board, final MoveList moves) {
+    generate(board, board.getNextMoveMaker(), true, moves);
+  }
+
+  private static void generate(final Board board, final Side side, final boolean capturesOnly, final MoveList moves) {
+    final long king = board.getPieceBitboard(PieceType.KING, side);
+    if (king == 0) {
+      throw new IllegalStateException("No " + side + " king on the board.");
+    }
+    final int kingSquare = Long.numberOfTrailingZeros(king);
+    final Side opponent = side.getOpponent();
+    final long occupied = board.getOccupiedBitboard();
+    // the squares pieces may move to: empty or opponent squares, or only opponent squares when capturing
+    final long targets = capturesOnly ? board.getSideBitboard(opponent) : ~board.getSideBitboard(side);
+
+    final long checkers = AttackMap.getAttackers(board, kingSquare, opponent, occupied);
+    final long kingDanger = getAttackedSquares(board, opponent, occupied & ~king);
+    addMoves(board, kingSquare, PieceType.KING, AttackTables.getKingAttacks(kingSquare) & targets & ~kingDanger,
+             opponent, moves);
+    if (Long.bitCount(checkers) > 1) {
+      return;
+    }
+
+    long checkMask = ~0L;
+    if (checkers != 0) {
+      checkMask = checkers | AttackTables.getBetween(kingSquare, Long.numberOfTrailingZeros(checkers));
+    } else if (!capturesOnly) {
+      generateCastlingMoves(board, side, occupied, kingDanger, moves);
+    }
+    final long pinned = getPinnedPieces(board, side, kingSquare, occupied);
+
+    for (final PieceType type : SLIDING_AND_KNIGHT_TYPES) {
+      long pieces = board.getPieceBitboard(type, side);
+      while (pieces != 0) {
+        final int origin = Long.numberOfTrailingZeros(pieces);
+        final long pinMask = getPinMask(pinned, kingSquare, origin);
+        final long attacks = AttackMap.getAttacks(type, side, origin, occupied);
+        addMoves(board, origin, type, attacks & targets & checkMask & pinMask, opponent, moves);
+        pieces &= pieces - 1;
+      }
+    }
+    generatePawnMoves(board, side, kingSquare, occupied, checkers, checkMask, pinned, capturesOnly, moves);
+  }
+
+  /**
+   * Computes the squares attacked by a side for a given occupancy.
+   *
+   * @param board    The board to inspect.
+   * @param side     The attacking side.
+   * @param occupied The occupancy bitboard to compute sliding attacks with.
+   * @return The bitboard of attacked squares.
+   */
+  public static long getAttackedSquares(final Board board, final Side side, final long occupied) {
+    long attacked = 0L;
+    for (final PieceType type : PieceType.values()) {
+      long pieces = board.getPieceBitboard(type, side);
+      while (pieces != 0) {
+        attacked |= AttackMap.getAttacks(type, side, Long.numberOfTrailingZeros(pieces), occupied);
+        pieces &= pieces - 1;
+      }
+    }
+    return attacked;
+  }
+
+  /**
+   * Computes the pieces of a side that are pinned to their king: the only piece between the king and an opponent
+   * slider attacking along that line.
+   *
+   * @param board      The board to inspect.
+   * @param side       The side of the king.
+   * @param kingSquare The position index of the king.
+   * @param occupied   The occupancy bitboard of the board.
+   * @return The bitboard of pinned pieces.
+   */
+  public static long getPinnedPieces(final Board board, final Side side, final int kingSquare, final long occupied) {
+    final Side opponent = side.getOpponent();
+    final long enemy = board.getSideBitboard(opponent);
+    final long queens = board.getPieceBitboard(PieceType.QUEEN, opponent);
+    // sliders seen from the king when only opponent pieces block the view
+    long snipers = (MagicBitboards.getRookAttacks(kingSquare, enemy) & (board.getPieceBitboard(PieceType.ROOK, opponent) | queens))
+      | (MagicBitboards.getBishopAttacks(kingSquare, enemy) & (board.getPieceBitboard(PieceType.BISHOP, opponent) | queens));
+    long pinned = 0L;
+    while (snipers != 0) {
+      final long blockers = AttackTables.getBetween(kingSquare, Long.numberOfTrailingZeros(snipers)) & occupied;
+      if (Long.bitCount(blockers) == 1) {
+        pinned |= blockers & board.getSideBitboard(side);
+      }
+      snipers &= snipers - 1;
+    }
+    return pinned;
+  }
+
+  private static long getPinMask(final long pinned, final int kingSquare, final int origin) {
+    return (pinned & (1L << origin)) != 0 ? AttackTables.getLine(kingSquare, origin) : ~0L;
+  }
+
+  private static void addMoves(final Board board, final int origin, final PieceType type, final long targets,
+                               final Side opponent, final MoveList moves) {
+    long remaining = targets;
+    while (remaining != 0) {
+      final int destination = Long.numberOfTrailingZeros(remaining);
+      moves.add(CompactMove.encode(origin, destination, type,
+                                   getPieceTypeAt(board, destination, opponent), null, 0));
+      remaining &= remaining - 1;
+    }
+  }
+
+  private static void generatePawnMoves(final Board board, final Side side, final int kingSquare, final long occupied,
+                                        final long checkers, final long checkMask, final long pinned,
+                                        final boolean capturesOnly, final MoveList moves) {
+    final Side opponent = side.getOpponent();
+    final int forward = side.isWhite() ? -8 : 8;
+    final long startRow = side.isWhite() ? WHITE_PAWN_START_ROW : BLACK_PAWN_START_ROW;
+    // when capturing only, pushes are generated for promotions alone
+    final long pushTargets = capturesOnly ? (side.isWhite() ? LAST_ROW_WHITE : LAST_ROW_BLACK) : ~0L;
+    final long enemy = board.getSideBitboard(opponent);
+    long pawns = board.getPieceBitboard(PieceType.PAWN, side);
+
+    while (pawns != 0) {
+      final int origin = Long.numberOfTrailingZeros(pawns);
+      final long targetMask = checkMask & getPinMask(pinned, kingSquare, origin);
+      final int destination = origin + forward;
+      if ((occupied & (1L << destination)) == 0) {
+        if ((targetMask & pushTargets & (1L << destination)) != 0) {
+          addPawnMove(origin, destination, null, moves);
+        }
+        final int jumpDestination = destination + forward;
+        if (!capturesOnly && (startRow & (1L << origin)) != 0 && (occupied & (1L << jumpDestination)) == 0
+            && (targetMask & (1L << jumpDestination)) != 0) {
+          moves.add(CompactMove.encode(origin, jumpDestination, PieceType.PAWN, null, null, CompactMove.FLAG_DOUBLE_JUMP));
+        }
+      }
+      long captures = AttackTables.getPawnAttacks(side, origin) & enemy & targetMask;
+      while (captures != 0) {
+        final int target = Long.numberOfTrailingZeros(captures);
+        addPawnMove(origin, target, getPieceTypeAt(board, target, opponent), moves);
+        captures &= captures - 1;
+      }
+      pawns &= pawns - 1;
+    }
+
+    final int enPassantSquare = board.getEnPassantSquare();
+    if (side != board.getNextMoveMaker() || enPassantSquare < 0) {
+      return;
+    }
+    final int destination = enPassantSquare + forward;
+    // a checking knight stays a checker after any en-passant capture; a checking pawn only if it is not the one taken
+    if ((checkers & ~(1L << enPassantSquare) & ~getSliders(board, opponent)) != 0) {
+      return;
+    }
+    long attackers = AttackTables.getPawnAttacks(opponent, destination) & board.getPieceBitboard(PieceType.PAWN, side);
+    while (attackers != 0) {
+      final int origin = Long.numberOfTrailingZeros(attackers);
+      final long occupiedAfter = (occupied & ~(1L << origin) & ~(1L << enPassantSquare)) | (1L << destination);
+      if (!isAttackedBySliders(board, kingSquare, opponent, occupiedAfter)) {
+        moves.add(CompactMove.encode(origin, destination, PieceType.PAWN, PieceType.PAWN, null,
+                                     CompactMove.FLAG_EN_PASSANT));
+      }
+      attackers &= attackers - 1;
+    }
+  }
+
+  /**
+   * Adds a pawn move, or one move per promotion piece type when the pawn reaches the last row.
+   */
+  private static void addPawnMove(final int origin, final int destination, final PieceType capturedType,
+                                  final MoveList moves) {
+    if ((PROMOTION_ROWS & (1L << destination)) != 0) {
+      for (final PieceType promotionType : PROMOTION_TYPES) {
+        moves.add(CompactMove.encode(origin, destination, PieceType.PAWN, capturedType, promotionType, 0));
+      }
+    } else {
+      moves.add(CompactMove.encode(origin, destination, PieceType.PAWN, capturedType, null, 0));
+    }
+  }
+
+  /**
+   * Gets the type of the piece of the given side standing on a square, or {@code null} if there is none.
+   */
+  private static PieceType getPieceTypeAt(final Board board, final int square, final Side side) {
+    final long mask = 1L << square;
+    if ((board.getSideBitboard(side) & mask) == 0) {
+      return null;
+    }
+    for (final PieceType type : PIECE_TYPES) {
+      if ((board.getPieceBitboard(type, side) & mask) != 0) {
+        return type;
+      }
+    }
+    return null;
+  }
+
+  private static long getSliders(final Board board, final Side side) {
+    return board.getPieceBitboard(PieceType.BISHOP, side) | board.getPieceBitboard(PieceType.ROOK, side)
+      | board.getPieceBitboard(PieceType.QUEEN, side);
+  }
+
+  private static boolean isAttackedBySliders(final Board board, final int square, final Side bySide,
+                                             final long occupied) {
+    final long queens = board.getPieceBitboard(PieceType.QUEEN, bySide);
+    return (MagicBitboards.getRookAttacks(square, occupied) & (board.getPieceBitboard(PieceType.ROOK, bySide) | queens)) != 0
+      || (MagicBitboards.getBishopAttacks(square, occupied) & (board.getPieceBitboard(PieceType.BISHOP, bySide) | queens)) != 0;
+  }
+
+  private static void generateCastlingMoves(final Board board, final Side side, final long occupied,
+                                            final long kingDanger, final MoveList moves) {
+    final int rights = board.getCastlingRights();
+    if (side.isWhite()) {
+      addCastlingMove(rights, CastlingRights.WHITE_KING_SIDE, CastlingRights.WHITE_KING_SQUARE,
+                      CastlingRights.WHITE_KING_SIDE_ROOK_SQUARE, occupied, kingDanger, moves);
+      addCastlingMove(rights, CastlingRights.WHITE_QUEEN_SIDE, CastlingRights.WHITE_KING_SQUARE,
+                      CastlingRights.WHITE_QUEEN_SIDE_ROOK_SQUARE, occupied, kingDanger, moves);
+    } else {
+      addCastlingMove(rights, CastlingRights.BLACK_KING_SIDE, CastlingRights.BLACK_KING_SQUARE,
+                      CastlingRights.BLACK_KING_SIDE_ROOK_SQUARE, occupied, kingDanger, moves);
+      addCastlingMove(rights, CastlingRights.BLACK_QUEEN_SIDE, CastlingRights.BLACK_KING_SQUARE,
+                      CastlingRights.BLACK_QUEEN_SIDE_ROOK_SQUARE, occupied, kingDanger, moves);
+    }
+  }
+
+  /**
+   * Adds a castling move if the right is held, every square between king and rook is empty and the squares the
+   * king passes over and lands on are not attacked. The king is known not to be in check.
+   */
+  private static void addCastlingMove(final int rights, final int right, final int kingSquare, final int rookSquare,
+                                      final long occupied, final long kingDanger, final MoveList moves) {
+    if ((rights & right) == 0 || (AttackTables.getBetween(kingSquare, rookSquare) & occupied) != 0) {
+      return;
+    }
+    final int kingDestination = rookSquare > kingSquare ? kingSquare + 2 : kingSquare - 2;
+    if ((AttackTables.getBetween(kingSquare, kingDestination) & kingDanger) != 0
+        || (kingDanger & (1L << kingDestination)) != 0) {
+      return;
+    }
+    moves.add(CompactMove.encode(kingSquare, kingDestination, PieceType.KING, null, null, CompactMove.FLAG_CASTLING));
+  }
+}
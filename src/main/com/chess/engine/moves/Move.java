@@ -2,7 +2,10 @@ package main.com.chess.engine.moves;
 
 import main.com.chess.engine.board.Board;
 import main.com.chess.engine.board.ChessBoard;
+import main.com.chess.engine.board.PieceSquareTables;
+import main.com.chess.engine.board.Zobrist;
 import main.com.chess.engine.common.Position;
+import main.com.chess.engine.common.Side;
 import main.com.chess.engine.pieces.Piece;
 
 import java.util.Objects;
@@ -30,6 +33,22 @@ public abstract class Move implements MoveExecutor{
     this.movingPiece = movingPiece;
     this.destination = destination;
   }
+
+  /**
+   * Constructs a move from an explicit origin, without touching the moving piece, which may be absent.
+   *
+   * @param board       The board the move belongs to, or {@code null} for a move of no board.
+   * @param origin      The origin position of the move.
+   * @param movingPiece The piece making the move, or {@code null}.
+   * @param destination The destination position of the move.
+   */
+  protected Move(final Board board, final Position origin, final Piece movingPiece, final Position destination) {
+    this.board = board;
+    this.origin = origin;
+    this.movingPiece = movingPiece;
+    this.destination = destination;
+  }
+
   /**
    * Gets the board to which this move belongs.
    *
@@ -85,9 +104,27 @@ public abstract class Move implements MoveExecutor{
     // place the moving piece into its destination
     builder.setPiece(movingPiece.move(this));
     builder.setNextMoveMaker(board.getCurrentPlayer().getOpponent().getSide());
+    setIncrementalState(builder);
     return builder.build();
   }
 
+  /**
+   * Derives the Zobrist key, the pawn key and the piece-square scores of the board reached by this move from those of
+   * the board it is played on, so that executing a move does not rehash or rescore the whole position.
+   *
+   * @param builder The builder of the board reached by this move.
+   */
+  protected void setIncrementalState(final ChessBoard.Builder builder) {
+    final int move = CompactMove.fromMove(this);
+    final Side side = movingPiece.getSide();
+    builder
+      .setZobristKey(Zobrist.updateKey(board, move, side))
+      .setPawnKey(Zobrist.updatePawnKey(board.getPawnKey(), move, side))
+      .setPieceSquareScores(PieceSquareTables.updateMiddlegameScore(board.getMiddlegameScore(), move, side),
+                            PieceSquareTables.updateEndgameScore(board.getEndgameScore(), move, side),
+                            PieceSquareTables.updatePhase(board.getPhase(), move));
+  }
+
   /**
    * Indicates whether this move in chess game capture another piece ( of different side ).
    * @return {@code true} if it captures a piece while making move, {@code false} otherwise
@@ -112,6 +149,14 @@ public abstract class Move implements MoveExecutor{
     return false;
   }
 
+  /**
+   * Checks if the move promotes a pawn.
+   * @return {@code true} if the move is a pawn promotion, {@code false} otherwise.
+   */
+  public boolean isPromotionMove(){
+    return false;
+  }
+
   /**
    * Checks if this move is equal to another object.
    *
@@ -122,7 +167,7 @@ public abstract class Move implements MoveExecutor{
   public boolean equals(Object o) {
     if (this == o) return true;
     if (!(o instanceof Move move)) return false;
-    return Objects.equals(movingPiece, move.movingPiece) && Objects.equals(destination, move.destination) &&
+    return Objects.equals(movingPiece, move.movingPiece) && destination == move.destination &&
       Objects.equals(getCapturedPiece(), move.getCapturedPiece());
   }
 
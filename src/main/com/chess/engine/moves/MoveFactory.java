@@ -2,14 +2,38 @@ package main.com.chess.engine.moves;
 
 import main.com.chess.engine.board.Board;
 import main.com.chess.engine.common.Position;
-
-import java.util.Objects;
+import main.com.chess.engine.pieces.PieceType;
 
 public class MoveFactory {
   private static final Move NULL_MOVE = new NullMove();
+
+  /**
+   * Finds the legal move between two squares. A pawn reaching the last rank promotes to a queen; use
+   * {@link #createMove(Board, Position, Position, PieceType)} to choose another piece.
+   *
+   * @param board          The board the move is made on.
+   * @param initialPos     The origin of the move.
+   * @param destinationPos The destination of the move.
+   * @return The legal move, or a null move if there is none.
+   */
   public static Move createMove(final Board board, final Position initialPos, final Position destinationPos){
+    return createMove(board, initialPos, destinationPos, PieceType.QUEEN);
+  }
+
+  /**
+   * Finds the legal move between two squares, promoting to the given piece if the move is a promotion.
+   *
+   * @param board          The board the move is made on.
+   * @param initialPos     The origin of the move.
+   * @param destinationPos The destination of the move.
+   * @param promotionType  The piece a pawn reaching the last rank promotes to; ignored by other moves.
+   * @return The legal move, or a null move if there is none.
+   */
+  public static Move createMove(final Board board, final Position initialPos, final Position destinationPos,
+                                final PieceType promotionType){
     for(final Move move: board.getAllLegalMoves()){
-      if(Objects.equals(move.getOrigin(), initialPos) && Objects.equals(move.getDestination(), destinationPos)){
+      if(move.getOrigin() == initialPos && move.getDestination() == destinationPos
+         && (!(move instanceof PawnPromotionMove promotionMove) || promotionMove.getPromotionType() == promotionType)){
         return move;
       }
     }
@@ -0,0 +1,117 @@
+package main.com.chess.engine.moves;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of {@link CompactMove encoded moves} backed by an {@code int[]}.
+ * <p>
+ * Lists are meant to be allocated once per search ply and reused through {@link #clear()}.
+ */
+public class MoveList {
+  /**
+   * The initial capacity, above the number of legal moves of any position.
+   */
+  public static final int DEFAULT_CAPACITY = 256;
+
+  private int[] moves;
+  private int size;
+
+  /**
+   * Constructs an empty move list with a capacity large enough for any legal position.
+   */
+  public MoveList() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructs an empty move list with the given initial capacity.
+   *
+   * @param capacity The initial capacity.
+   */
+  public MoveList(final int capacity) {
+    this.moves = new int[capacity];
+  }
+
+  /**
+   * Appends an encoded move.
+   *
+   * @param move The encoded move.
+   */
+  public void add(final int move) {
+    if (size == moves.length) {
+      moves = Arrays.copyOf(moves, moves.length * 2);
+    }
+    moves[size++] = move;
+  }
+
+  /**
+   * Gets the encoded move at the given index.
+   *
+   * @param index The index of the move.
+   * @return The encoded move.
+   */
+  public int get(final int index) {
+    return moves[index];
+  }
+
+  /**
+   * Replaces the encoded move at the given index.
+   *
+   * @param index The index of the move.
+   * @param move  The encoded move.
+   */
+  public void set(final int index, final int move) {
+    moves[index] = move;
+  }
+
+  /**
+   * Swaps the encoded moves at the given indices.
+   *
+   * @param i The index of the first move.
+   * @param j The index of the second move.
+   */
+  public void swap(final int i, final int j) {
+    final int move = moves[i];
+    moves[i] = moves[j];
+    moves[j] = move;
+  }
+
+  /**
+   * Checks whether the list holds the given encoded move.
+   *
+   * @param move The encoded move.
+   * @return {@code true} if the move is in the list, {@code false} otherwise.
+   */
+  public boolean contains(final int move) {
+    for (int i = 0; i < size; i++) {
+      if (moves[i] == move) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Removes all moves while keeping the backing array.
+   */
+  public void clear() {
+    size = 0;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < size; i++) {
+      sb.append(i == 0 ? "" : ", ").append(CompactMove.toNotation(moves[i]));
+    }
+    return sb.append(']').toString();
+  }
+}
@@ -10,7 +10,7 @@ import main.com.chess.engine.pieces.Piece;
 public class NullMove extends Move{
 
   public NullMove(){
-    super(null, null, new Position(-1));
+    super(null, Position.INVALID, null, Position.INVALID);
   }
 
   /**
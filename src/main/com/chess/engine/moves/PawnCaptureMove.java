@@ -1,6 +1,7 @@
 package main.com.chess.engine.moves;
 
 import main.com.chess.engine.board.Board;
+import main.com.chess.engine.common.Position;
 import main.com.chess.engine.pieces.Piece;
 
 /**
@@ -17,4 +18,16 @@ public class PawnCaptureMove extends CaptureMove{
   public PawnCaptureMove(Board board, Piece attackingPiece, Piece capturedPiece) {
     super(board, attackingPiece, capturedPiece);
   }
+
+  /**
+   * Constructs a pawn capture move whose destination differs from the square of the captured piece.
+   *
+   * @param board
+   * @param attackingPiece The piece making the capture move.
+   * @param capturedPiece  The piece being captured.
+   * @param destination    The destination position of the attacking piece.
+   */
+  protected PawnCaptureMove(Board board, Piece attackingPiece, Piece capturedPiece, Position destination) {
+    super(board, attackingPiece, capturedPiece, destination);
+  }
 }
@@ -1,6 +1,7 @@
 package main.com.chess.engine.moves;
 
 import main.com.chess.engine.board.Board;
+import main.com.chess.engine.common.Position;
 import main.com.chess.engine.pieces.Piece;
 
 /**
@@ -12,9 +13,10 @@ public class PawnEnPassantCaptureMove extends PawnCaptureMove{
    *
    * @param board
    * @param attackingPiece The piece making the capture move.
-   * @param capturedPiece  The piece being captured.
+   * @param capturedPiece  The pawn being captured.
+   * @param destination    The square the capturing pawn moves to, right behind the captured pawn.
    */
-  public PawnEnPassantCaptureMove(Board board, Piece attackingPiece, Piece capturedPiece) {
-    super(board, attackingPiece, capturedPiece);
+  public PawnEnPassantCaptureMove(Board board, Piece attackingPiece, Piece capturedPiece, Position destination) {
+    super(board, attackingPiece, capturedPiece, destination);
   }
 }
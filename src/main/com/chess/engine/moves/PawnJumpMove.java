@@ -38,6 +38,7 @@ public class PawnJumpMove extends Move{
       .setPiece(movedPawnInstance)
       .setEnPassant(movedPawnInstance)
       .setNextMoveMaker(board.getCurrentPlayer().getOpponent().getSide());
+    setIncrementalState(builder);
     return builder.build();
   }
 }
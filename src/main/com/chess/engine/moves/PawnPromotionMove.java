@@ -0,0 +1,94 @@
+package main.com.chess.engine.moves;
+
+import main.com.chess.engine.board.Board;
+import main.com.chess.engine.board.ChessBoard;
+import main.com.chess.engine.pieces.Piece;
+import main.com.chess.engine.pieces.PieceType;
+
+import java.util.Objects;
+
+/**
+ * Represents a pawn move (quiet or capturing) onto the last row, where the pawn is replaced by another piece.
+ */
+public class PawnPromotionMove extends Move{
+  private final Move decoratedMove;
+  private final PieceType promotionType;
+
+  /**
+   * Constructs a promotion move out of the pawn move reaching the last row.
+   *
+   * @param decoratedMove The pawn move or pawn capture move reaching the last row.
+   * @param promotionType The type of the piece the pawn is promoted to.
+   */
+  public PawnPromotionMove(final Move decoratedMove, final PieceType promotionType) {
+    super(decoratedMove.getBoard(), decoratedMove.getMovingPiece(), decoratedMove.getDestination());
+    this.decoratedMove = decoratedMove;
+    this.promotionType = promotionType;
+  }
+
+  /**
+   * Gets the type of the piece the pawn is promoted to.
+   *
+   * @return The promotion piece type.
+   */
+  public PieceType getPromotionType() {
+    return promotionType;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isPromotionMove(){
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isCapturingMove(){
+    return decoratedMove.isCapturingMove();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Piece getCapturedPiece(){
+    return decoratedMove.getCapturedPiece();
+  }
+
+  @Override
+  public Board execute() {
+    final ChessBoard.Builder builder = ChessBoard.builder();
+    for(final Piece piece: board.getCurrentPlayer().getAllActivePieces()){
+      if(!movingPiece.equals(piece)){
+        builder.setPiece(piece);
+      }
+    }
+    for(final Piece piece: board.getCurrentPlayer().getOpponent().getAllActivePieces()){
+      if(!piece.equals(getCapturedPiece())){
+        builder.setPiece(piece);
+      }
+    }
+    // place the promoted piece instead of the pawn
+    builder
+      .setPiece(promotionType.createPiece(destination, movingPiece.getSide(), true))
+      .setNextMoveMaker(board.getCurrentPlayer().getOpponent().getSide());
+    setIncrementalState(builder);
+    return builder.build();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof PawnPromotionMove that)) return false;
+    return super.equals(o) && promotionType == that.promotionType;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(super.hashCode(), promotionType);
+  }
+}
@@ -0,0 +1,190 @@
+package main.com.chess.engine.perft;
+
+import main.com.chess.engine.board.Board;
+import main.com.chess.engine.moves.CompactMove;
+import main.com.chess.engine.moves.Move;
+import main.com.chess.engine.moves.MoveTransition;
+import main.com.chess.engine.player.Player;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Counts the leaf nodes of the legal move tree of a position to a fixed depth (perft), the standard way of
+ * verifying and timing move generation.
+ * <p>
+ * The tree is walked through {@link Player#getAllLegalMoves()} and {@link Player#makeMove(Move)}, so counts match
+ * the published reference values only if the rules are implemented completely. With more than one thread the root
+ * moves are split across a fork-join pool; with a cache, node counts of subtrees reached by transposition are reused.
+ */
+public class Perft {
+  private final int threads;
+  private final PerftCache cache;
+
+  private Perft(final Builder builder) {
+    this.threads = builder.threads;
+    this.cache = builder.cacheSizeInMb > 0 ? new PerftCache(builder.cacheSizeInMb) : null;
+  }
+
+  /**
+   * Counts the leaf nodes of the given position at the given depth.
+   *
+   * @param board The position to count from.
+   * @param depth The depth in plies.
+   * @return The number of leaf nodes.
+   */
+  public long count(final Board board, final int depth) {
+    if (threads <= 1 || depth <= 1) {
+      return countNodes(board, depth);
+    }
+    long nodes = 0;
+    for (final long subtreeNodes : countRootMoves(board, depth).values()) {
+      nodes += subtreeNodes;
+    }
+    return nodes;
+  }
+
+  /**
+   * Counts the leaf nodes below every legal root move, as printed by the {@code divide} command of other engines.
+   *
+   * @param board The position to count from.
+   * @param depth The depth in plies, including the root move.
+   * @return The node count of each root move in coordinate notation, in move generation order.
+   */
+  public Map<String, Long> divide(final Board board, final int depth) {
+    final Map<String, Long> divide = new LinkedHashMap<>();
+    for (final Map.Entry<Move, Long> entry : countRootMoves(board, depth).entrySet()) {
+      divide.put(CompactMove.toNotation(CompactMove.fromMove(entry.getKey())), entry.getValue());
+    }
+    return divide;
+  }
+
+  /**
+   * Counts the leaf nodes of a subtree on the calling thread.
+   *
+   * @param board The root of the subtree.
+   * @param depth The remaining depth.
+   * @return The number of leaf nodes.
+   */
+  long countNodes(final Board board, final int depth) {
+    if (depth == 0) {
+      return 1L;
+    }
+    if (cache != null && depth > 1) {
+      final long cached = cache.probe(board.getZobristKey(), depth);
+      if (cached != PerftCache.MISS) {
+        return cached;
+      }
+    }
+    final Player player = board.getCurrentPlayer();
+    if (depth == 1) {
+      // legal moves are strictly legal, so the last ply needs no move to be made
+      return player.getAllLegalMoves().size();
+    }
+    long nodes = 0;
+    for (final Move move : player.getAllLegalMoves()) {
+      final MoveTransition transition = player.makeMove(move);
+      if (transition.getStatus().isDone()) {
+        nodes += countNodes(transition.getTransitionBoard(), depth - 1);
+      }
+    }
+    if (cache != null && depth > 1) {
+      cache.store(board.getZobristKey(), depth, nodes);
+    }
+    return nodes;
+  }
+
+  private Map<Move, Long> countRootMoves(final Board board, final int depth) {
+    if (depth < 1) {
+      throw new IllegalArgumentException("Divide needs a depth of at least 1: " + depth);
+    }
+    final Player player = board.getCurrentPlayer();
+    final List<Move> moves = new ArrayList<>();
+    final List<PerftTask> tasks = new ArrayList<>();
+    for (final Move move : player.getAllLegalMoves()) {
+      final MoveTransition transition = player.makeMove(move);
+      if (transition.getStatus().isDone()) {
+        moves.add(move);
+        tasks.add(new PerftTask(this, transition.getTransitionBoard(), depth - 1));
+      }
+    }
+
+    if (threads > 1) {
+      final ForkJoinPool pool = new ForkJoinPool(threads);
+      try {
+        pool.invoke(new PerftTask.RootTask(tasks));
+      } finally {
+        pool.shutdown();
+      }
+    } else {
+      tasks.forEach(PerftTask::invoke);
+    }
+
+    final Map<Move, Long> counts = new LinkedHashMap<>();
+    for (int i = 0; i < moves.size(); i++) {
+      counts.put(moves.get(i), tasks.get(i).join());
+    }
+    return counts;
+  }
+
+  /**
+   * Creates a new instance of the Perft.Builder.
+   *
+   * @return A new perft builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Builder class for creating instances of Perft.
+   */
+  public static class Builder {
+    private int threads;
+    private int cacheSizeInMb;
+
+    /**
+     * Constructs a new perft builder for a single-threaded, uncached perft.
+     */
+    private Builder() {
+      this.threads = 1;
+    }
+
+    /**
+     * Sets the number of threads the root moves are split across.
+     *
+     * @param threads The number of threads, at least 1.
+     * @return The builder instance.
+     */
+    public Builder setThreads(final int threads) {
+      if (threads < 1) {
+        throw new IllegalArgumentException("Perft needs at least one thread: " + threads);
+      }
+      this.threads = threads;
+      return this;
+    }
+
+    /**
+     * Sets the size of the subtree count cache; zero disables the cache.
+     *
+     * @param cacheSizeInMb The cache size in megabytes.
+     * @return The builder instance.
+     */
+    public Builder setCacheSize(final int cacheSizeInMb) {
+      this.cacheSizeInMb = cacheSizeInMb;
+      return this;
+    }
+
+    /**
+     * Builds and returns an instance of Perft based on the builder's configuration.
+     *
+     * @return An instance of Perft.
+     */
+    public Perft build() {
+      return new Perft(this);
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package main.com.chess.engine.perft;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A fixed-size cache of subtree node counts keyed by position and depth, shared by all perft threads.
+ * <p>
+ * Like the search transposition table it is a single {@code long[]} of two slots per entry, the count and the key
+ * XORed with the count, so that concurrent writers need no lock and torn entries read as misses. Entries are always
+ * replaced.
+ */
+public class PerftCache {
+  /**
+   * Value returned by {@link #probe(long, int)} when the cache holds no count for the position.
+   */
+  public static final long MISS = -1L;
+
+  private static final long BYTES_PER_MB = 1024L * 1024L;
+  private static final int SLOTS_PER_ENTRY = 2;
+  private static final long DEPTH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+  private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+  private final long[] slots;
+  private final int entryMask;
+
+  /**
+   * Constructs a cache using at most the given amount of memory.
+   *
+   * @param sizeInMb The cache size in megabytes.
+   * @throws IllegalArgumentException If the size is not positive or too large for a single array.
+   */
+  public PerftCache(final int sizeInMb) {
+    if (sizeInMb <= 0) {
+      throw new IllegalArgumentException("Perft cache size must be positive: " + sizeInMb + " MB");
+    }
+    final long entries = Long.highestOneBit(sizeInMb * BYTES_PER_MB / (SLOTS_PER_ENTRY * Long.BYTES));
+    if (entries * SLOTS_PER_ENTRY > Integer.MAX_VALUE - SLOTS_PER_ENTRY) {
+      throw new IllegalArgumentException("Perft cache size too large: " + sizeInMb + " MB");
+    }
+    this.slots = new long[(int) (entries * SLOTS_PER_ENTRY)];
+    this.entryMask = (int) (entries - 1);
+  }
+
+  /**
+   * Looks up the node count of a subtree.
+   *
+   * @param key   The Zobrist key of the subtree root.
+   * @param depth The depth of the subtree.
+   * @return The node count, or {@link #MISS}.
+   */
+  public long probe(final long key, final int depth) {
+    final long depthKey = depthKey(key, depth);
+    final int slot = slot(depthKey);
+    final long count = (long) SLOTS.getOpaque(slots, slot + 1);
+    return ((long) SLOTS.getOpaque(slots, slot) ^ count) == depthKey ? count : MISS;
+  }
+
+  /**
+   * Stores the node count of a subtree.
+   *
+   * @param key   The Zobrist key of the subtree root.
+   * @param depth The depth of the subtree.
+   * @param count The node count.
+   */
+  public void store(final long key, final int depth, final long count) {
+    final long depthKey = depthKey(key, depth);
+    final int slot = slot(depthKey);
+    SLOTS.setOpaque(slots, slot, depthKey ^ count);
+    SLOTS.setOpaque(slots, slot + 1, count);
+  }
+
+  private static long depthKey(final long key, final int depth) {
+    return key ^ (depth * DEPTH_MULTIPLIER);
+  }
+
+  private int slot(final long depthKey) {
+    return ((int) (depthKey >>> 32) & entryMask) * SLOTS_PER_ENTRY;
+  }
+}
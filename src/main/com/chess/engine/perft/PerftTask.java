@@ -0,0 +1,48 @@
+package main.com.chess.engine.perft;
+
+import main.com.chess.engine.board.Board;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Counts the leaf nodes below one root move, as a unit of work for the fork-join pool.
+ */
+class PerftTask extends RecursiveTask<Long> {
+  private static final long serialVersionUID = 1L;
+
+  private final Perft perft;
+  private final Board board;
+  private final int depth;
+
+  PerftTask(final Perft perft, final Board board, final int depth) {
+    this.perft = perft;
+    this.board = board;
+    this.depth = depth;
+  }
+
+  @Override
+  protected Long compute() {
+    return perft.countNodes(board, depth);
+  }
+
+  /**
+   * Runs all root move tasks in parallel.
+   */
+  static class RootTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final List<PerftTask> tasks;
+
+    RootTask(final List<PerftTask> tasks) {
+      this.tasks = tasks;
+    }
+
+    @Override
+    protected void compute() {
+      ForkJoinTask.invokeAll(tasks);
+    }
+  }
+}
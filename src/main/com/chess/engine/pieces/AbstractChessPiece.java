@@ -1,9 +1,16 @@
 package main.com.chess.engine.pieces;
 
+import com.google.common.collect.ImmutableSet;
+import main.com.chess.engine.board.Board;
 import main.com.chess.engine.common.Position;
 import main.com.chess.engine.common.Side;
+import main.com.chess.engine.moves.CaptureMove;
+import main.com.chess.engine.moves.MajorMove;
+import main.com.chess.engine.moves.Move;
 
-import java.util.Objects;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * An abstract base class representing a chess piece.
@@ -30,20 +37,6 @@ public abstract class AbstractChessPiece implements Piece {
    */
   protected final boolean moved;
 
-  /**
-   * Constructs a new AbstractChessPiece with the specified position, side, and type.
-   *
-   * @param position The position of the piece on the chessboard.
-   * @param side     The side (color) of the piece.
-   * @param type     The type of the piece.
-   */
-  protected AbstractChessPiece(final Position position, final Side side, final PieceType type) {
-    this.position = position;
-    this.side = side;
-    this.type = type;
-    this.moved = false;
-  }
-
   /**
    * Constructs a new AbstractChessPiece with the specified position, side, type, and moved status.
    *
@@ -90,17 +83,38 @@ public abstract class AbstractChessPiece implements Piece {
     return moved;
   }
 
-
+  /**
+   * {@inheritDoc}
+   */
   @Override
-  public boolean equals(Object o) {
-    if (this == o) return true;
-    if (!(o instanceof AbstractChessPiece that)) return false;
-    return moved == that.moved && Objects.equals(position, that.position) && side == that.side && type == that.type;
+  public Piece move(final Move move) {
+    return PieceFactory.getPiece(type, side, move.getDestination(), true);
   }
 
-  @Override
-  public int hashCode() {
-    return Objects.hash(position, side, type, moved);
+  /**
+   * Creates the moves of this piece towards every square of the given attack set that is either empty or
+   * occupied by an opponent piece.
+   *
+   * @param board   The board on which the moves are made.
+   * @param attacks The bitboard of squares attacked by this piece.
+   * @return A collection of progression and capture moves.
+   */
+  protected Collection<Move> generateMovesToTargets(final Board board, final long attacks) {
+    final Set<Move> moves = new HashSet<>();
+    final long occupied = board.getOccupiedBitboard();
+    long targets = attacks & ~board.getSideBitboard(side);
+
+    while (targets != 0) {
+      final int target = Long.numberOfTrailingZeros(targets);
+      final Position targetPos = Position.of(target);
+      if ((occupied & (1L << target)) == 0) {
+        moves.add(new MajorMove(board, this, targetPos));
+      } else {
+        moves.add(new CaptureMove(board, this, board.getSquare(targetPos).getOccupiedBy()));
+      }
+      targets &= targets - 1;
+    }
+    return ImmutableSet.copyOf(moves);
   }
 
   @Override
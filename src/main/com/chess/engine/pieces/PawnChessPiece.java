@@ -1,14 +1,17 @@
 package main.com.chess.engine.pieces;
 
 import com.google.common.collect.ImmutableSet;
+import main.com.chess.engine.board.AttackTables;
 import main.com.chess.engine.board.Board;
-import main.com.chess.engine.board.BoardSquare;
 import main.com.chess.engine.board.BoardUtils;
 import main.com.chess.engine.common.Position;
 import main.com.chess.engine.common.Side;
-import main.com.chess.engine.moves.CaptureMove;
-import main.com.chess.engine.moves.MajorMove;
 import main.com.chess.engine.moves.Move;
+import main.com.chess.engine.moves.PawnCaptureMove;
+import main.com.chess.engine.moves.PawnEnPassantCaptureMove;
+import main.com.chess.engine.moves.PawnJumpMove;
+import main.com.chess.engine.moves.PawnMove;
+import main.com.chess.engine.moves.PawnPromotionMove;
 
 import java.util.Collection;
 import java.util.HashSet;
@@ -17,70 +20,54 @@ import java.util.Set;
 /**
  * Represents pawn piece in chess game.
  */
-public class PawnChessPiece extends AbstractChessPiece implements Jumpable{
+public class PawnChessPiece extends AbstractChessPiece {
   private static final int BOTTOM = 8;
-  private static final int BOTTOM_LEFT = 7;
-  private static final int BOTTOM_RIGHT = 9;
-  private static final int[] OFFSETS = {BOTTOM_LEFT, BOTTOM, BOTTOM_RIGHT};
+  private static final PieceType[] PROMOTION_TYPES = {
+    PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT
+  };
 
-  public PawnChessPiece(Position position, Side side) {
-    super(position, side, PieceType.PAWN);
-  }
-
-  public PawnChessPiece(Position position, Side side, boolean moved) {
+  PawnChessPiece(Position position, Side side, boolean moved) {
     super(position, side, PieceType.PAWN, moved);
   }
 
-  /**
-   *{@inheritDoc}
-   */
-  @Override
-  public boolean canJumpToSquareFromCurrentPosition(Position currPos, int offset) {
-    int colIndex = BoardUtils.getColumnIndexFromPosition(currPos);
-
-    if(colIndex == 0 && ((offset == BOTTOM_RIGHT && side.isWhite()) || (offset == BOTTOM_LEFT && side.isBlack()))) return false;
-    else if (colIndex == 7 && ((offset==BOTTOM_LEFT && side.isWhite()) || (offset == BOTTOM_RIGHT && side.isBlack()))) return false;
-
-    return true;
-  }
-
   /**
    *{@inheritDoc}
    */
   @Override
   public Collection<Move> generateAllMoves(Board board) {
     Set<Move> moves = new HashSet<>();
-    int pawnMovingDirection = side == Side.BLACK ? 1 : -1;
+    final int pawnMovingOffset = side == Side.BLACK ? BOTTOM : -BOTTOM;
+    final long occupied = board.getOccupiedBitboard();
 
-    for(final int offset: OFFSETS){
-      Position currPos = position;
-      int pawnMovingOffset = pawnMovingDirection * offset;
-      Position computedPos = new Position(currPos.getX() + pawnMovingOffset);
+    // pawn can only move forward onto an empty square
+    final int computedIndex = position.getX() + pawnMovingOffset;
+    if(isEmptySquare(occupied, computedIndex)){
+      addPawnMove(moves, new PawnMove(board, this, Position.of(computedIndex)));
 
-      if(BoardUtils.isSquareValidInBoard(computedPos) && canJumpToSquareFromCurrentPosition(currPos, offset)){
-        final BoardSquare computedSquare = BoardUtils.getSquare(board, computedPos);
+      // check for double pawn which is only possible if lower square is empty
+      // double jump square is empty
+      // and pawn is making its first move
+      final int doubleComputedIndex = computedIndex + pawnMovingOffset;
+      if(!moved && isEmptySquare(occupied, doubleComputedIndex)){
+        moves.add(new PawnJumpMove(board, this, Position.of(doubleComputedIndex)));
+      }
+    }
 
-        if(offset == BOTTOM && computedSquare.isEmpty()){
-          moves.add(new MajorMove(board,this, computedPos));
+    // pawn can only move diagonally if there is an opponent piece to be captured or during
+    // en-passant move.
+    long captures = AttackTables.getPawnAttacks(side, position.getX()) & occupied & ~board.getSideBitboard(side);
+    while(captures != 0){
+      final Position capturePos = Position.of(Long.numberOfTrailingZeros(captures));
+      addPawnMove(moves, new PawnCaptureMove(board, this, board.getSquare(capturePos).getOccupiedBy()));
+      captures &= captures - 1;
+    }
 
-          // check for double pawn which is only possible if lower square is empty
-          // double jump square is empty
-          // and pawn is making its first move
-          final Position doubleComputedPos = new Position(computedPos.getX() + pawnMovingOffset);
-          final BoardSquare doubleComputedSquare = BoardUtils.getSquare(board, doubleComputedPos);
-          if(!moved && doubleComputedSquare != null && doubleComputedSquare.isEmpty()){
-            moves.add(new MajorMove(board, this, doubleComputedPos));
-          }
-        }
-        else if (!computedSquare.isEmpty()){
-          // pawn can only move diagonally if there is an opponent piece to be captured or during
-          // en-passant move (which is not implemented here).
-          final Piece computedSquarePiece = computedSquare.getOccupiedBy();
-          final Side computedSquarePieceSide = computedSquarePiece.getSide();
-          if(side != computedSquarePieceSide){
-            moves.add(new CaptureMove(board, this, computedSquarePiece));
-          }
-        }
+    // en-passant capture of an opponent pawn that has just jumped next to this pawn
+    final Piece enPassantPawn = board.getEnPassantPawn();
+    if(enPassantPawn != null && enPassantPawn.getSide() != side){
+      final int enPassantIndex = enPassantPawn.getPosition().getX() + pawnMovingOffset;
+      if((AttackTables.getPawnAttacks(side, position.getX()) & (1L << enPassantIndex)) != 0){
+        moves.add(new PawnEnPassantCaptureMove(board, this, enPassantPawn, Position.of(enPassantIndex)));
       }
     }
 
@@ -88,10 +75,31 @@ public class PawnChessPiece extends AbstractChessPiece implements Jumpable{
   }
 
   /**
-   * {@inheritDoc}
+   * Adds the given pawn move, or one promotion move per promotion piece type when the move reaches the last row.
+   *
+   * @param moves The moves collected so far.
+   * @param move  The pawn move to add.
    */
-  @Override
-  public PawnChessPiece move(final Move move){
-    return new PawnChessPiece(move.getDestination(), move.getMovingPiece().getSide(), true);
+  private static void addPawnMove(final Set<Move> moves, final Move move) {
+    final int destinationRow = move.getDestination().getX() / BoardUtils.BOARD_COLS;
+    if (destinationRow == 0 || destinationRow == BoardUtils.BOARD_ROWS - 1) {
+      for (final PieceType promotionType : PROMOTION_TYPES) {
+        moves.add(new PawnPromotionMove(move, promotionType));
+      }
+    } else {
+      moves.add(move);
+    }
   }
+
+  /**
+   * Checks whether the given index is a square of the board that holds no piece.
+   *
+   * @param occupied The occupancy bitboard of the board.
+   * @param index    The position index to check.
+   * @return {@code true} if the square exists and is empty, {@code false} otherwise.
+   */
+  private static boolean isEmptySquare(final long occupied, final int index) {
+    return index >= 0 && index < BoardUtils.TOTAL_SQUARES && (occupied & (1L << index)) == 0;
+  }
+
 }
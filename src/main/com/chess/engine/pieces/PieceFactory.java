@@ -0,0 +1,64 @@
+package main.com.chess.engine.pieces;
+
+import main.com.chess.engine.board.BoardUtils;
+import main.com.chess.engine.common.Position;
+import main.com.chess.engine.common.Side;
+
+/**
+ * The registry of every piece that can stand on a board.
+ * <p>
+ * A piece is an immutable value made of its type, side, square and moved flag, so all 6 x 2 x 64 x 2 of them are
+ * created once at class load and shared. Placing or moving a piece is a table lookup, and two pieces are equal
+ * exactly when they are the same instance.
+ */
+public final class PieceFactory {
+  private static final int SIDE_COUNT = Side.values().length;
+  private static final Piece[] PIECES = createPieces();
+
+  private PieceFactory() {
+  }
+
+  /**
+   * Gets the piece of the given type and side standing on a square.
+   *
+   * @param type     The type of the piece.
+   * @param side     The side of the piece.
+   * @param position The position of the piece.
+   * @param moved    Whether the piece has moved during the game.
+   * @return The shared piece instance.
+   */
+  public static Piece getPiece(final PieceType type, final Side side, final Position position, final boolean moved) {
+    return getPiece(type, side, position.getX(), moved);
+  }
+
+  /**
+   * Gets the piece of the given type and side standing on a square.
+   *
+   * @param type   The type of the piece.
+   * @param side   The side of the piece.
+   * @param square The position index of the piece.
+   * @param moved  Whether the piece has moved during the game.
+   * @return The shared piece instance.
+   */
+  public static Piece getPiece(final PieceType type, final Side side, final int square, final boolean moved) {
+    return PIECES[index(type, side, square, moved)];
+  }
+
+  private static int index(final PieceType type, final Side side, final int square, final boolean moved) {
+    return ((type.ordinal() * SIDE_COUNT + side.ordinal()) * BoardUtils.TOTAL_SQUARES + square) * 2 + (moved ? 1 : 0);
+  }
+
+  private static Piece[] createPieces() {
+    final Piece[] pieces = new Piece[PieceType.values().length * SIDE_COUNT * BoardUtils.TOTAL_SQUARES * 2];
+    for (final PieceType type : PieceType.values()) {
+      for (final Side side : Side.values()) {
+        for (int square = 0; square < BoardUtils.TOTAL_SQUARES; square++) {
+          final Position position = Position.of(square);
+          pieces[index(type, side, square, false)] = type.newPiece(position, side, false);
+          pieces[index(type, side, square, true)] = type.newPiece(position, side, true);
+        }
+      }
+    }
+    return pieces;
+  }
+}
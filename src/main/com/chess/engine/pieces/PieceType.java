@@ -1,5 +1,8 @@
 package main.com.chess.engine.pieces;
 
+import main.com.chess.engine.common.Position;
+import main.com.chess.engine.common.Side;
+
 /**
  * Enumeration representing the types of chess pieces.
  */
@@ -13,6 +16,11 @@ public enum PieceType {
     public boolean isKing() {
       return true;
     }
+
+    @Override
+    Piece newPiece(final Position position, final Side side, final boolean moved) {
+      return new KingChessPiece(position, side, moved);
+    }
   },
 
   /**
@@ -23,6 +31,11 @@ public enum PieceType {
     public boolean isQueen() {
       return true;
     }
+
+    @Override
+    Piece newPiece(final Position position, final Side side, final boolean moved) {
+      return new QueenChessPiece(position, side, moved);
+    }
   },
 
   /**
@@ -33,6 +46,11 @@ public enum PieceType {
     public boolean isRook() {
       return true;
     }
+
+    @Override
+    Piece newPiece(final Position position, final Side side, final boolean moved) {
+      return new RookChessPiece(position, side, moved);
+    }
   },
 
   /**
@@ -43,6 +61,11 @@ public enum PieceType {
     public boolean isKnight() {
       return true;
     }
+
+    @Override
+    Piece newPiece(final Position position, final Side side, final boolean moved) {
+      return new KnightChessPiece(position, side, moved);
+    }
   },
 
   /**
@@ -53,6 +76,11 @@ public enum PieceType {
     public boolean isBishop() {
       return true;
     }
+
+    @Override
+    Piece newPiece(final Position position, final Side side, final boolean moved) {
+      return new BishopChessPiece(position, side, moved);
+    }
   },
 
   /**
@@ -63,6 +91,11 @@ public enum PieceType {
     public boolean isPawn() {
       return true;
     }
+
+    @Override
+    Piece newPiece(final Position position, final Side side, final boolean moved) {
+      return new PawnChessPiece(position, side, moved);
+    }
   };
 
   private final int value;
@@ -150,4 +183,21 @@ public enum PieceType {
   public boolean isPawn() {
     return false;
   }
+
+  /**
+   * Creates a piece of this type. Pieces are shared, so this looks the piece up in the {@link PieceFactory}.
+   *
+   * @param position The position of the piece on the chessboard.
+   * @param side     The side (color) of the piece.
+   * @param moved    Indicates whether the piece has moved during the game.
+   * @return The piece.
+   */
+  public Piece createPiece(final Position position, final Side side, final boolean moved) {
+    return PieceFactory.getPiece(this, side, position, moved);
+  }
+
+  /**
+   * Instantiates a piece of this type; only the {@link PieceFactory} does so.
+   */
+  abstract Piece newPiece(final Position position, final Side side, final boolean moved);
 }
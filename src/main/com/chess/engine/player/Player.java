@@ -1,18 +1,17 @@
 package main.com.chess.engine.player;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Iterables;
-import main.com.chess.engine.common.Position;
 import main.com.chess.engine.common.Side;
+import main.com.chess.engine.moves.CompactMove;
+import main.com.chess.engine.moves.LegalMoveGenerator;
+import main.com.chess.engine.moves.MoveList;
 import main.com.chess.engine.moves.MoveStatus;
 import main.com.chess.engine.moves.MoveTransition;
 import main.com.chess.engine.board.Board;
 import main.com.chess.engine.moves.Move;
 import main.com.chess.engine.pieces.Piece;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 /**
  * Abstract class representing a player in a chess game.
@@ -29,27 +28,24 @@ public abstract class Player {
   protected final Piece king;
 
   /**
-   * The collection of legal moves available to the player.
+   * The collection of legal moves available to the player, computed on first access.
    */
-  protected final Collection<Move> playerLegalMoves;
+  private Collection<Move> playerLegalMoves;
 
-  protected final boolean inCheck;
+  /**
+   * Whether the player is in check, computed on first access.
+   */
+  private Boolean inCheck;
 
   /**
-   * Constructs a player with the specified board and legal moves.
+   * Constructs a player of the specified board. Nothing but the king is looked up here: legal moves and check status
+   * are computed when first requested.
    *
-   * @param board              The chess board.
-   * @param playerLegalMoves   The legal moves available to the player.
-   * @param opponentLegalMoves The legal moves available to the opponent player.
+   * @param board The chess board.
    */
-  public Player(final Board board, final Collection<Move> playerLegalMoves, final Collection<Move> opponentLegalMoves) {
+  public Player(final Board board) {
     this.gameBoard = board;
     this.king = initPlayerKing();
-    this.playerLegalMoves = ImmutableList.copyOf(
-                                                  Iterables.concat(playerLegalMoves,
-                                                  getAllCastlingMoves(playerLegalMoves, opponentLegalMoves))
-                                                );
-    this.inCheck = !getAllAttackOnSquare(this.king.getPosition(), opponentLegalMoves).isEmpty();
   }
 
   /**
@@ -71,11 +67,21 @@ public abstract class Player {
   }
 
   /**
-   * Retrieves the collection of legal moves available to the player.
+   * Retrieves the collection of legal moves available to the player. The moves are those of the
+   * {@link LegalMoveGenerator}, turned into move objects, so the pseudo-legal moves of the pieces are not generated.
    *
    * @return The collection of legal moves.
    */
   public Collection<Move> getAllLegalMoves() {
+    if (playerLegalMoves == null) {
+      final MoveList legalMoves = new MoveList();
+      LegalMoveGenerator.generateLegalMoves(gameBoard, getSide(), legalMoves);
+      final Move[] moves = new Move[legalMoves.size()];
+      for (int i = 0; i < moves.length; i++) {
+        moves[i] = CompactMove.toMove(legalMoves.get(i), gameBoard);
+      }
+      playerLegalMoves = ImmutableList.copyOf(moves);
+    }
     return this.playerLegalMoves;
   }
 
@@ -86,7 +92,7 @@ public abstract class Player {
    * @return {@code true} if the move is legal, {@code false} otherwise.
    */
   public boolean isMoveLegal(final Move move){
-    return playerLegalMoves.contains(move);
+    return getAllLegalMoves().contains(move);
   }
 
   /**
@@ -95,6 +101,9 @@ public abstract class Player {
    * @return {@code true} if the player is in check, {@code false} otherwise.
    */
   public boolean isInCheck(){
+    if (inCheck == null) {
+      inCheck = gameBoard.isSquareAttacked(this.king.getPosition().getX(), getSide().getOpponent());
+    }
     return inCheck;
   }
 
@@ -104,7 +113,7 @@ public abstract class Player {
    * @return {@code true} if the player is in checkmate, {@code false} otherwise.
    */
   public boolean isInCheckMate(){
-    return inCheck && !hasEscapeMoves();
+    return isInCheck() && !hasEscapeMoves();
   }
 
   /**
@@ -113,7 +122,7 @@ public abstract class Player {
    * @return {@code true} if the player is in stalemate, {@code false} otherwise.
    */
   public boolean isInStaleMate(){
-    return !inCheck && !hasEscapeMoves();
+    return !isInCheck() && !hasEscapeMoves();
   }
 
   /**
@@ -126,23 +135,23 @@ public abstract class Player {
   }
 
   /**
-   * Makes a move on the chess board and returns the transition resulting from the move.
+   * Makes a move on the chess board and returns the transition resulting from the move. Legal moves are known to
+   * keep the king safe, so they are executed without any trial board.
    *
    * @param move The move to be made.
    * @return The move transition object representing the result of the move.
    */
   public MoveTransition makeMove(final Move move){
-    if(!isMoveLegal(move)){
-      return new MoveTransition(gameBoard, move, MoveStatus.ILLEGAL_MOVE);
-    }
-    final Board transitionBoard = move.execute();
-    final Collection<Move> attackOnKing = getAllAttackOnSquare(
-                                              transitionBoard.getCurrentPlayer().getOpponent().getKing().getPosition(),
-                                              transitionBoard.getCurrentPlayer().getAllLegalMoves());
-    if(!attackOnKing.isEmpty()){
-      return new MoveTransition(gameBoard, move, MoveStatus.LEAVE_PLAYER_IN_CHECK);
+    if(isMoveLegal(move)){
+      return new MoveTransition(move.execute(), move, MoveStatus.DONE);
     }
-    return new MoveTransition(transitionBoard, move, MoveStatus.DONE);
+    // a move of one of the player's pieces that follows its movement rules but is not legal can only be ruled out by
+    // exposing the king; the moves of the moving piece alone tell whether it follows them
+    final Piece piece = move.getMovingPiece();
+    final boolean pieceMove = piece != null && piece.getSide() == getSide()
+      && piece.equals(gameBoard.getSquare(piece.getPosition()).getOccupiedBy())
+      && piece.generateAllMoves(gameBoard).contains(move);
+    return new MoveTransition(gameBoard, move, pieceMove ? MoveStatus.LEAVE_PLAYER_IN_CHECK : MoveStatus.ILLEGAL_MOVE);
   }
 
   /**
@@ -166,30 +175,7 @@ public abstract class Player {
    * @return {@code true} if the player has escape moves, {@code false} otherwise.
    */
   public boolean hasEscapeMoves(){
-    for(final Move move: playerLegalMoves){
-      final MoveTransition transition = makeMove(move);
-      if(transition.getStatus().isDone()){
-        return true;
-      }
-    }
-    return false;
-  }
-
-  /**
-   * Retrieves all moves from the given collection that are attacks on a specific square.
-   *
-   * @param pos        The position of the square being attacked.
-   * @param legalMoves The collection of legal moves to check.
-   * @return A collection of moves that attack the specified square.
-   */
-  public static Collection<Move> getAllAttackOnSquare(final Position pos, final Collection<Move> legalMoves){
-    final List<Move> attackingMoves = new ArrayList<>();
-    for(final Move move: legalMoves){
-      if(move.isCapturingMove() && move.getDestination() == pos){
-        attackingMoves.add(move);
-      }
-    }
-    return ImmutableList.copyOf(attackingMoves);
+    return !getAllLegalMoves().isEmpty();
   }
 
   /**
@@ -211,7 +197,4 @@ public abstract class Player {
    * @return The player side {@code white, black}
    */
   public abstract Side getSide();
-
-  public abstract Collection<Move> getAllCastlingMoves(final Collection<Move> playerLegalMoves,
-                                                              final Collection<Move> opponentLegalMoves);
 }
@@ -0,0 +1,171 @@
+package main.com.chess.engine.search;
+
+import main.com.chess.engine.board.Board;
+import main.com.chess.engine.board.BoardUtils;
+import main.com.chess.engine.board.StaticExchange;
+import main.com.chess.engine.common.Side;
+import main.com.chess.engine.moves.CompactMove;
+import main.com.chess.engine.moves.MoveList;
+import main.com.chess.engine.pieces.PieceType;
+
+/**
+ * Orders the moves of a node so that the moves most likely to cause a cutoff are searched first.
+ * <p>
+ * Moves are searched in this order:
+ * <ol>
+ *   <li>the best move stored in the transposition table;</li>
+ *   <li>captures and promotions that do not lose material by {@link StaticExchange static exchange}, most valuable
+ *   victim first and among those least valuable attacker first (MVV-LVA), by {@link PieceType#getValue()};</li>
+ *   <li>the two killer moves of the ply, quiet moves that recently caused a cutoff in a sibling node;</li>
+ *   <li>the other quiet moves, by their butterfly history (per side, origin and destination) plus their continuation
+ *   history (per piece and destination of the previous move and of this move);</li>
+ *   <li>captures and promotions losing material, by MVV-LVA.</li>
+ * </ol>
+ * History scores are rewarded for quiet moves causing a cutoff and penalized for the quiet moves searched before
+ * them, and are kept within {@code [-MAX_HISTORY, MAX_HISTORY]} by scaling every update down as the score grows. An
+ * orderer holds the tables of one search thread and is not thread-safe.
+ */
+final class MoveOrderer {
+  private static final int TT_MOVE_SCORE = Integer.MAX_VALUE;
+  private static final int CAPTURE_SCORE = 1 << 28;
+  private static final int KILLER_SCORE = 1 << 27;
+  private static final int LOSING_CAPTURE_SCORE = -(1 << 28);
+  private static final int MAX_HISTORY = 1 << 14;
+  private static final int MAX_HISTORY_BONUS = 1200;
+  private static final int KILLERS_PER_PLY = 2;
+
+  private static final int PIECE_SQUARES = BoardUtils.TOTAL_PIECE_BITBOARDS * BoardUtils.TOTAL_SQUARES;
+
+  private final int[][] killers = new int[Search.MAX_PLY + 1][KILLERS_PER_PLY];
+  // indexed by side, origin and destination
+  private final int[] butterflyHistory =
+    new int[Side.values().length * BoardUtils.TOTAL_SQUARES * BoardUtils.TOTAL_SQUARES];
+  // indexed by the piece and destination of the previous move, then of this move; short keeps it at ~1 MB a thread
+  private final short[] continuationHistory = new short[PIECE_SQUARES * PIECE_SQUARES];
+
+  /**
+   * Scores every move of a list for {@link #selectNext(MoveList, int[], int)}.
+   *
+   * @param board        The board of the node.
+   * @param moves        The moves of the node.
+   * @param scores       The array receiving the score of each move, at least as long as the list.
+   * @param ttMove       The move stored in the transposition table, or {@link CompactMove#NONE}.
+   * @param ply          The distance of the node from the root.
+   * @param side         The side to move.
+   * @param previousMove The move that led to the node, or {@link CompactMove#NONE} at the root.
+   */
+  void scoreMoves(final Board board, final MoveList moves, final int[] scores, final int ttMove, final int ply, final Side side,
+                  final int previousMove) {
+    final int continuationBase = previousMove == CompactMove.NONE
+      ? -1 : pieceSquare(previousMove, side.getOpponent()) * PIECE_SQUARES;
+    for (int i = 0; i < moves.size(); i++) {
+      final int move = moves.get(i);
+      if (move == ttMove) {
+        scores[i] = TT_MOVE_SCORE;
+      } else if (!isQuiet(move)) {
+        final int base = StaticExchange.seeGE(board, move, 0) ? CAPTURE_SCORE : LOSING_CAPTURE_SCORE;
+        scores[i] = base + captureScore(move);
+      } else if (move == killers[ply][0]) {
+        scores[i] = KILLER_SCORE + 1;
+      } else if (move == killers[ply][1]) {
+        scores[i] = KILLER_SCORE;
+      } else {
+        scores[i] = butterflyHistory[butterflyIndex(move, side)]
+          + (continuationBase < 0 ? 0 : continuationHistory[continuationBase + pieceSquare(move, side)]);
+      }
+    }
+  }
+
+  /**
+   * Moves the best scored move from the given index onwards to the index, so that a node which is cut off early
+   * never sorts the moves it does not search.
+   *
+   * @param moves  The moves of the node.
+   * @param scores The scores of the moves, swapped along with them.
+   * @param index  The index of the next move to search.
+   * @return The move now at the index.
+   */
+  static int selectNext(final MoveList moves, final int[] scores, final int index) {
+    int best = index;
+    for (int i = index + 1; i < moves.size(); i++) {
+      if (scores[i] > scores[best]) {
+        best = i;
+      }
+    }
+    if (best != index) {
+      moves.swap(index, best);
+      final int score = scores[index];
+      scores[index] = scores[best];
+      scores[best] = score;
+    }
+    return moves.get(index);
+  }
+
+  /**
+   * Records a quiet move that caused a cutoff: it becomes the first killer of the ply and its history is rewarded,
+   * while the quiet moves searched before it are penalized.
+   *
+   * @param move         The quiet move causing the cutoff.
+   * @param quietsTried  The quiet moves searched before it at this node.
+   * @param depth        The remaining depth of the node; deeper cutoffs weigh more.
+   * @param ply          The distance of the node from the root.
+   * @param side         The side to move.
+   * @param previousMove The move that led to the node, or {@link CompactMove#NONE} at the root.
+   */
+  void updateQuietCutoff(final int move, final MoveList quietsTried, final int depth, final int ply,
+                         final Side side, final int previousMove) {
+    if (killers[ply][0] != move) {
+      killers[ply][1] = killers[ply][0];
+      killers[ply][0] = move;
+    }
+    final int bonus = Math.min(depth * depth, MAX_HISTORY_BONUS);
+    updateHistory(move, side, previousMove, bonus);
+    for (int i = 0; i < quietsTried.size(); i++) {
+      updateHistory(quietsTried.get(i), side, previousMove, -bonus);
+    }
+  }
+
+  /**
+   * Checks whether a move neither captures nor promotes.
+   *
+   * @param move The encoded move.
+   * @return {@code true} if the move is quiet, {@code false} otherwise.
+   */
+  static boolean isQuiet(final int move) {
+    return !CompactMove.isCapture(move) && !CompactMove.isPromotion(move);
+  }
+
+  private void updateHistory(final int move, final Side side, final int previousMove, final int bonus) {
+    final int index = butterflyIndex(move, side);
+    butterflyHistory[index] = gravity(butterflyHistory[index], bonus);
+    if (previousMove != CompactMove.NONE) {
+      final int continuationIndex =
+        pieceSquare(previousMove, side.getOpponent()) * PIECE_SQUARES + pieceSquare(move, side);
+      continuationHistory[continuationIndex] = (short) gravity(continuationHistory[continuationIndex], bonus);
+    }
+  }
+
+  /**
+   * Applies a bonus to a history score, scaled down the closer the score already is to the bound in its direction.
+   */
+  private static int gravity(final int score, final int bonus) {
+    return score + bonus - score * Math.abs(bonus) / MAX_HISTORY;
+  }
+
+  private static int captureScore(final int move) {
+    final int victimValue = CompactMove.isCapture(move) ? CompactMove.getCapturedType(move).getValue() : 0;
+    final int promotionValue = CompactMove.isPromotion(move) ? CompactMove.getPromotionType(move).getValue() : 0;
+    // victim values dominate, so the attacker only breaks ties between captures of equal victims
+    return (victimValue + promotionValue) * 16 - CompactMove.getMovingType(move).getValue() / 100;
+  }
+
+  private static int butterflyIndex(final int move, final Side side) {
+    return (side.ordinal() * BoardUtils.TOTAL_SQUARES + CompactMove.getOrigin(move)) * BoardUtils.TOTAL_SQUARES
+      + CompactMove.getDestination(move);
+  }
+
+  private static int pieceSquare(final int move, final Side side) {
+    return BoardUtils.getBitboardIndex(CompactMove.getMovingType(move), side) * BoardUtils.TOTAL_SQUARES
+      + CompactMove.getDestination(move);
+  }
+}
@@ -0,0 +1,224 @@
+package main.com.chess.engine.search;
+
+import main.com.chess.engine.board.Board;
+import main.com.chess.engine.evaluation.Evaluator;
+import main.com.chess.engine.evaluation.MaterialEvaluator;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * An iterative-deepening negamax alpha-beta search, running on one or more threads.
+ * <p>
+ * The search runs on a {@link main.com.chess.engine.board.MutableChessBoard MutableChessBoard} copy of the given
+ * board, walking the tree with strictly legal {@link main.com.chess.engine.moves.CompactMove encoded moves} and
+ * make/unmake, so no board is allocated per node. Below the nominal depth a quiescence search resolves pending
+ * captures before a position is evaluated. Results are kept in a {@link TranspositionTable} across
+ * iterations and searches, and every thread orders its moves with a {@link MoveOrderer} of its own. Each completed
+ * iteration is reported to an optional listener, and the search ends at its {@link SearchLimits limits} or when
+ * {@link #stop()} is called from another thread, returning the result of the last completed iteration.
+ * <p>
+ * With more than one thread the search is a Lazy SMP search: every thread searches the whole tree from the root on
+ * a board of its own, and the threads only communicate through the shared transposition table, where each finds the
+ * results the others have stored. The calling thread runs the main worker, whose iterations are reported and whose
+ * end stops the helpers; the result is taken from whichever thread completed the deepest iteration.
+ * <p>
+ * Only repetitions within the searched line are detected, as boards carry no game history.
+ */
+public class Search {
+  /**
+   * The deepest ply the search can reach.
+   */
+  public static final int MAX_PLY = 128;
+
+  /**
+   * The score of mating right now; being mated in n plies scores {@code -MATE_SCORE + n}.
+   */
+  public static final int MATE_SCORE = 32000;
+  public static final int INFINITE_SCORE = MATE_SCORE + 1;
+  public static final int DRAW_SCORE = 0;
+
+  private static final int DEFAULT_HASH_SIZE_MB = 16;
+
+  private final TranspositionTable transpositionTable;
+  private final Evaluator evaluator;
+  private final Consumer<SearchResult> listener;
+  private final int threads;
+  private volatile boolean stopped;
+  private volatile SearchWorker[] workers = new SearchWorker[0];
+
+  private Search(final Builder builder) {
+    this.transpositionTable = new TranspositionTable(builder.hashSizeInMb);
+    this.evaluator = builder.evaluator;
+    this.listener = builder.listener;
+    this.threads = builder.threads;
+  }
+
+  /**
+   * Searches the best move of the side to move, blocking until a limit is reached or the search is stopped.
+   *
+   * @param board  The position to search.
+   * @param limits The limits to stop at.
+   * @return The result of the deepest completed iteration, which is at least depth 1.
+   */
+  public SearchResult search(final Board board, final SearchLimits limits) {
+    stopped = false;
+    transpositionTable.newSearch();
+    final long startNanos = System.nanoTime();
+    // the boards are copied on the calling thread, so the given board is never read concurrently
+    final SearchWorker[] searchWorkers = new SearchWorker[threads];
+    for (int id = 0; id < threads; id++) {
+      searchWorkers[id] = new SearchWorker(id, this, board, limits, startNanos);
+    }
+    workers = searchWorkers;
+
+    final Thread[] helpers = new Thread[threads - 1];
+    for (int id = 1; id < threads; id++) {
+      helpers[id - 1] = new Thread(searchWorkers[id], "search-helper-" + id);
+      helpers[id - 1].start();
+    }
+    searchWorkers[0].run();
+    stopped = true;
+    for (final Thread helper : helpers) {
+      try {
+        helper.join();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    SearchResult best = searchWorkers[0].getResult();
+    for (final SearchWorker worker : searchWorkers) {
+      final SearchResult result = worker.getResult();
+      if (result != null && result.getDepth() > best.getDepth()) {
+        best = result;
+      }
+    }
+    return new SearchResult(best.getPrincipalVariation(), best.getScore(), best.getDepth(), getNodes(),
+                            System.nanoTime() - startNanos, getThreadNodes());
+  }
+
+  /**
+   * Stops the running search, which then returns the result of its last completed iteration.
+   */
+  public void stop() {
+    stopped = true;
+  }
+
+  /**
+   * Forgets everything learned in earlier searches, e.g. when a new game starts. Must not be called while a search
+   * is running.
+   */
+  public void clear() {
+    transpositionTable.clear();
+  }
+
+  /**
+   * Checks whether a score announces a mate, for either side.
+   *
+   * @param score The score to check.
+   * @return {@code true} if the score is a mate score, {@code false} otherwise.
+   */
+  public static boolean isMateScore(final int score) {
+    return Math.abs(score) >= MATE_SCORE - MAX_PLY;
+  }
+
+  boolean isStopped() {
+    return stopped;
+  }
+
+  /**
+   * Sums the node counts the workers of the current search have published.
+   */
+  long getNodes() {
+    long nodes = 0;
+    for (final SearchWorker worker : workers) {
+      nodes += worker.getNodes();
+    }
+    return nodes;
+  }
+
+  long[] getThreadNodes() {
+    return Arrays.stream(workers).mapToLong(SearchWorker::getNodes).toArray();
+  }
+
+  TranspositionTable getTranspositionTable() {
+    return transpositionTable;
+  }
+
+  Evaluator getEvaluator() {
+    return evaluator;
+  }
+
+  void report(final SearchResult result) {
+    if (listener != null) {
+      listener.accept(result);
+    }
+  }
+
+  /**
+   * Creates a new builder of searches.
+   *
+   * @return The builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Builds searches, by default on one thread with a {@value #DEFAULT_HASH_SIZE_MB} MB transposition table and a
+   * {@link MaterialEvaluator}.
+   */
+  public static class Builder {
+    private int threads = 1;
+    private int hashSizeInMb = DEFAULT_HASH_SIZE_MB;
+    private Evaluator evaluator = new MaterialEvaluator();
+    private Consumer<SearchResult> listener;
+
+    /**
+     * Sets the size of the transposition table.
+     *
+     * @param hashSizeInMb The table size in megabytes.
+     * @return The builder.
+     */
+    public Builder setHashSize(final int hashSizeInMb) {
+      this.hashSizeInMb = hashSizeInMb;
+      return this;
+    }
+
+    /**
+     * Sets the number of search threads, including the calling thread.
+     *
+     * @param threads The thread count.
+     * @return The builder.
+     * @throws IllegalArgumentException If the count is not positive.
+     */
+    public Builder setThreads(final int threads) {
+      if (threads < 1) {
+        throw new IllegalArgumentException("Search needs at least one thread: " + threads);
+      }
+      this.threads = threads;
+      return this;
+    }
+
+    public Builder setEvaluator(final Evaluator evaluator) {
+      this.evaluator = evaluator;
+      return this;
+    }
+
+    /**
+     * Sets the listener receiving the result of every completed iteration, on the searching thread.
+     *
+     * @param listener The listener.
+     * @return The builder.
+     */
+    public Builder setListener(final Consumer<SearchResult> listener) {
+      this.listener = listener;
+      return this;
+    }
+
+    public Search build() {
+      return new Search(this);
+    }
+  }
+}
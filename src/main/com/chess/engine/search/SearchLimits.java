@@ -0,0 +1,126 @@
+package main.com.chess.engine.search;
+
+/**
+ * The limits a search stops at: a maximum depth, a node budget and a time budget. Whichever is reached first ends the
+ * search; unset limits do not apply.
+ */
+public final class SearchLimits {
+  private static final SearchLimits INFINITE = builder().build();
+
+  private final int depth;
+  private final long nodes;
+  private final long moveTimeMillis;
+
+  private SearchLimits(final Builder builder) {
+    this.depth = builder.depth;
+    this.nodes = builder.nodes;
+    this.moveTimeMillis = builder.moveTimeMillis;
+  }
+
+  /**
+   * Gets the limits of a search that runs until it reaches {@link Search#MAX_PLY} or is stopped.
+   *
+   * @return The limits without any bound.
+   */
+  public static SearchLimits infinite() {
+    return INFINITE;
+  }
+
+  /**
+   * Gets the limits of a search to a fixed depth.
+   *
+   * @param depth The depth in plies.
+   * @return The limits with only a depth bound.
+   */
+  public static SearchLimits depth(final int depth) {
+    return builder().setDepth(depth).build();
+  }
+
+  public int getDepth() {
+    return depth;
+  }
+
+  public long getNodes() {
+    return nodes;
+  }
+
+  public long getMoveTimeMillis() {
+    return moveTimeMillis;
+  }
+
+  /**
+   * Checks whether the search has to stop at a node count or a point in time.
+   *
+   * @return {@code true} if a node or time budget is set, {@code false} otherwise.
+   */
+  public boolean hasBudget() {
+    return nodes != Long.MAX_VALUE || moveTimeMillis != Long.MAX_VALUE;
+  }
+
+  /**
+   * Creates a new builder of search limits.
+   *
+   * @return The builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Builds search limits; every limit defaults to unbounded.
+   */
+  public static class Builder {
+    private int depth = Search.MAX_PLY;
+    private long nodes = Long.MAX_VALUE;
+    private long moveTimeMillis = Long.MAX_VALUE;
+
+    /**
+     * Sets the maximum depth.
+     *
+     * @param depth The depth in plies, between 1 and {@link Search#MAX_PLY}.
+     * @return The builder.
+     * @throws IllegalArgumentException If the depth is out of range.
+     */
+    public Builder setDepth(final int depth) {
+      if (depth < 1 || depth > Search.MAX_PLY) {
+        throw new IllegalArgumentException("Search depth out of range: " + depth);
+      }
+      this.depth = depth;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of nodes, summed over all search threads.
+     *
+     * @param nodes The node budget.
+     * @return The builder.
+     * @throws IllegalArgumentException If the budget is not positive.
+     */
+    public Builder setNodes(final long nodes) {
+      if (nodes <= 0) {
+        throw new IllegalArgumentException("Node budget must be positive: " + nodes);
+      }
+      this.nodes = nodes;
+      return this;
+    }
+
+    /**
+     * Sets the time the search may take.
+     *
+     * @param moveTimeMillis The time budget in milliseconds.
+     * @return The builder.
+     * @throws IllegalArgumentException If the budget is not positive.
+     */
+    public Builder setMoveTime(final long moveTimeMillis) {
+      if (moveTimeMillis <= 0) {
+        throw new IllegalArgumentException("Move time must be positive: " + moveTimeMillis + " ms");
+      }
+      this.moveTimeMillis = moveTimeMillis;
+      return this;
+    }
+
+    public SearchLimits build() {
+      return new SearchLimits(this);
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package main.com.chess.engine.search;
+
+import main.com.chess.engine.moves.CompactMove;
+
+import java.util.Arrays;
+
+/**
+ * The outcome of a search to some depth: the best move with its score and principal variation, and the effort spent.
+ */
+public final class SearchResult {
+  private final int[] principalVariation;
+  private final int score;
+  private final int depth;
+  private final long nodes;
+  private final long elapsedNanos;
+  private final long[] threadNodes;
+
+  SearchResult(final int[] principalVariation, final int score, final int depth, final long nodes,
+               final long elapsedNanos, final long[] threadNodes) {
+    this.principalVariation = principalVariation;
+    this.score = score;
+    this.depth = depth;
+    this.nodes = nodes;
+    this.elapsedNanos = elapsedNanos;
+    this.threadNodes = threadNodes;
+  }
+
+  /**
+   * Gets the best move found.
+   *
+   * @return The best {@link CompactMove encoded move}, or {@link CompactMove#NONE} if the side to move has none.
+   */
+  public int getBestMove() {
+    return principalVariation.length > 0 ? principalVariation[0] : CompactMove.NONE;
+  }
+
+  /**
+   * Gets the line the search expects to be played, starting with the best move.
+   *
+   * @return A copy of the encoded moves of the principal variation.
+   */
+  public int[] getPrincipalVariation() {
+    return principalVariation.clone();
+  }
+
+  /**
+   * Gets the score of the best move from the point of view of the side to move, in centipawns or as a
+   * {@link Search#isMateScore(int) mate score}.
+   *
+   * @return The score.
+   */
+  public int getScore() {
+    return score;
+  }
+
+  public int getDepth() {
+    return depth;
+  }
+
+  /**
+   * Gets the number of nodes searched, summed over all search threads.
+   *
+   * @return The node count.
+   */
+  public long getNodes() {
+    return nodes;
+  }
+
+  /**
+   * Gets the number of nodes searched by each search thread, the main thread first.
+   *
+   * @return A copy of the node counts per thread.
+   */
+  public long[] getThreadNodes() {
+    return threadNodes.clone();
+  }
+
+  public long getElapsedMillis() {
+    return elapsedNanos / 1_000_000L;
+  }
+
+  /**
+   * Computes the search speed over all search threads.
+   *
+   * @return The number of nodes searched per second.
+   */
+  public long getNodesPerSecond() {
+    return nodes * 1_000_000_000L / Math.max(1L, elapsedNanos);
+  }
+
+  /**
+   * Returns the result in the form of a UCI {@code info} line, e.g.
+   * {@code depth 6 score cp 35 nodes 81234 nps 1200000 time 67 pv e2e4 e7e5}.
+   *
+   * @return A string representation of this result.
+   */
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("depth ").append(depth);
+    if (Search.isMateScore(score)) {
+      // moves, not plies, to mate; negative when the side to move gets mated
+      final int plies = Search.MATE_SCORE - Math.abs(score);
+      sb.append(" score mate ").append(score > 0 ? (plies + 1) / 2 : -plies / 2);
+    } else {
+      sb.append(" score cp ").append(score);
+    }
+    sb.append(" nodes ").append(nodes)
+      .append(" nps ").append(getNodesPerSecond())
+      .append(" time ").append(getElapsedMillis())
+      .append(" pv");
+    Arrays.stream(principalVariation).forEach(move -> sb.append(' ').append(CompactMove.toNotation(move)));
+    return sb.toString();
+  }
+}
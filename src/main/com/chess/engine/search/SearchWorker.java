@@ -0,0 +1,416 @@
+package main.com.chess.engine.search;
+
+import main.com.chess.engine.board.Board;
+import main.com.chess.engine.board.MutableChessBoard;
+import main.com.chess.engine.board.StaticExchange;
+import main.com.chess.engine.common.Side;
+import main.com.chess.engine.evaluation.Evaluator;
+import main.com.chess.engine.moves.CompactMove;
+import main.com.chess.engine.moves.LegalMoveGenerator;
+import main.com.chess.engine.moves.MoveList;
+import main.com.chess.engine.pieces.PieceType;
+
+import java.util.Arrays;
+
+/**
+ * Runs the iterative-deepening search of a {@link Search} on a board of its own, as one of its search threads.
+ * <p>
+ * All state that changes per node, i.e. the board, the move lists, the principal variation table and the keys of the
+ * current line, is held here and preallocated for {@link Search#MAX_PLY} plies, so the search allocates nothing
+ * while walking the tree. Workers only share the transposition table.
+ * <p>
+ * Worker 0 is the main worker: it reports its iterations and ends the search. Helper workers skip some depths, so
+ * that at any time the threads spread over neighbouring depths instead of all searching the same tree in lockstep.
+ */
+final class SearchWorker implements Runnable {
+  // the clock, the stop flag and the shared node budget are checked once every this many nodes
+  private static final int CHECK_INTERVAL_MASK = 0x3FF;
+
+  // helper i skips depth d when ((d + SKIP_PHASE[i]) / SKIP_SIZE[i]) is odd, repeating every 20 helpers
+  private static final int[] SKIP_SIZE = {1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 4};
+  private static final int[] SKIP_PHASE = {0, 1, 0, 1, 2, 3, 0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5, 6, 7};
+
+  // what a capture may gain beyond the captured piece through positional terms, for delta pruning
+  private static final int DELTA_MARGIN = 200;
+
+  private final int id;
+  private final Search search;
+  private final TranspositionTable transpositionTable;
+  private final Evaluator evaluator;
+  private final SearchLimits limits;
+  private final long startNanos;
+  private final long deadlineNanos;
+
+  private final MutableChessBoard board;
+  private final MoveOrderer moveOrderer = new MoveOrderer();
+  private final MoveList[] moveLists = new MoveList[Search.MAX_PLY + 1];
+  private final int[][] moveScores = new int[Search.MAX_PLY + 1][];
+  // the quiet moves searched so far at every ply, penalized when a later quiet move causes a cutoff
+  private final MoveList[] quietLists = new MoveList[Search.MAX_PLY + 1];
+  private final int[][] pvTable = new int[Search.MAX_PLY + 1][Search.MAX_PLY + 1];
+  private final int[] pvLength = new int[Search.MAX_PLY + 1];
+  // the key of the position at every ply of the current line, for repetition detection
+  private final long[] keyHistory = new long[Search.MAX_PLY + 1];
+
+  private long nodes;
+  // the node count as last made visible to the other threads
+  private volatile long publishedNodes;
+  private boolean abortable;
+  private boolean aborted;
+  private SearchResult result;
+
+  SearchWorker(final int id, final Search search, final Board board, final SearchLimits limits,
+               final long startNanos) {
+    this.id = id;
+    this.search = search;
+    this.transpositionTable = search.getTranspositionTable();
+    this.evaluator = search.getEvaluator().forThread();
+    this.limits = limits;
+    this.startNanos = startNanos;
+    this.deadlineNanos = limits.getMoveTimeMillis() == Long.MAX_VALUE
+      ? Long.MAX_VALUE : startNanos + limits.getMoveTimeMillis() * 1_000_000L;
+    this.board = MutableChessBoard.copyOf(board);
+    for (int ply = 0; ply < moveLists.length; ply++) {
+      moveLists[ply] = new MoveList();
+      quietLists[ply] = new MoveList();
+    }
+  }
+
+  /**
+   * Deepens the search one ply at a time until a limit is reached, a forced mate is found or the search is stopped.
+   * The result of the deepest completed iteration is then available from {@link #getResult()}.
+   */
+  @Override
+  public void run() {
+    evaluator.reset(board);
+    for (int depth = 1; depth <= limits.getDepth(); depth++) {
+      if (!isMain() && depth > 1 && skipsDepth(depth)) {
+        continue;
+      }
+      // the main worker always completes its first iteration, so that there is a move to return
+      abortable = depth > 1 || !isMain();
+      final int score = negamax(depth, 0, -Search.INFINITE_SCORE, Search.INFINITE_SCORE);
+      if (aborted) {
+        break;
+      }
+      publishedNodes = nodes;
+      result = new SearchResult(Arrays.copyOf(pvTable[0], pvLength[0]), score, depth, search.getNodes(),
+                                System.nanoTime() - startNanos, search.getThreadNodes());
+      if (isMain()) {
+        search.report(result);
+      }
+      if (Search.isMateScore(score) && Search.MATE_SCORE - Math.abs(score) <= depth) {
+        // every line has been searched to the end of the game, deeper iterations cannot change the result
+        break;
+      }
+    }
+    publishedNodes = nodes;
+  }
+
+  /**
+   * Gets the result of the deepest iteration this worker completed.
+   *
+   * @return The result, or {@code null} if no iteration completed.
+   */
+  SearchResult getResult() {
+    return result;
+  }
+
+  /**
+   * Gets the number of nodes this worker searched, as last published to the other threads.
+   *
+   * @return The node count.
+   */
+  long getNodes() {
+    return publishedNodes;
+  }
+
+  boolean isMain() {
+    return id == 0;
+  }
+
+  private boolean skipsDepth(final int depth) {
+    final int index = (id - 1) % SKIP_SIZE.length;
+    return ((depth + SKIP_PHASE[index]) / SKIP_SIZE[index]) % 2 != 0;
+  }
+
+  /**
+   * Searches a node with the negamax form of alpha-beta, failing soft.
+   *
+   * @param depth The remaining depth in plies.
+   * @param ply   The distance from the root in plies.
+   * @param alpha The score the side to move is already guaranteed.
+   * @param beta  The score the opponent is already guaranteed, negated.
+   * @return The score of the node from the point of view of the side to move, or 0 if the search was aborted.
+   */
+  private int negamax(final int depth, final int ply, int alpha, final int beta) {
+    if (depth <= 0) {
+      return quiescence(ply, alpha, beta);
+    }
+    pvLength[ply] = ply;
+    if (visitNode()) {
+      return 0;
+    }
+    final long key = board.getZobristKey();
+    keyHistory[ply] = key;
+    if (ply > 0 && isRepetition(key, ply)) {
+      return Search.DRAW_SCORE;
+    }
+    if (ply == Search.MAX_PLY) {
+      return evaluator.evaluate(board);
+    }
+
+    int ttMove = CompactMove.NONE;
+    final long entry = transpositionTable.probe(key);
+    if (entry != TranspositionTable.MISS) {
+      ttMove = TranspositionTable.getMove(entry);
+      if (ply > 0 && TranspositionTable.getDepth(entry) >= depth) {
+        final int ttScore = scoreFromTable(TranspositionTable.getScore(entry), ply);
+        final int bound = TranspositionTable.getBound(entry);
+        if (bound == TranspositionTable.BOUND_EXACT) {
+          // the score may land inside the window of the parent, which then needs a line to report
+          copyPrincipalVariationFromTable(ply, ttMove, TranspositionTable.getDepth(entry));
+          return ttScore;
+        }
+        if ((bound == TranspositionTable.BOUND_LOWER && ttScore >= beta)
+            || (bound == TranspositionTable.BOUND_UPPER && ttScore <= alpha)) {
+          return ttScore;
+        }
+      }
+    }
+
+    final MoveList moves = moveLists[ply];
+    moves.clear();
+    LegalMoveGenerator.generateLegalMoves(board, moves);
+    if (moves.isEmpty()) {
+      return isInCheck() ? -Search.MATE_SCORE + ply : Search.DRAW_SCORE;
+    }
+    final Side side = board.getNextMoveMaker();
+    final int previousMove = board.getLastMove();
+    final int[] scores = getMoveScores(ply, moves.size());
+    moveOrderer.scoreMoves(board, moves, scores, ttMove, ply, side, previousMove);
+    final MoveList quietsTried = quietLists[ply];
+    quietsTried.clear();
+
+    final int originalAlpha = alpha;
+    int bestScore = -Search.INFINITE_SCORE;
+    int bestMove = CompactMove.NONE;
+    for (int i = 0; i < moves.size(); i++) {
+      final int move = MoveOrderer.selectNext(moves, scores, i);
+      evaluator.makeMove(board, move);
+      board.makeMove(move);
+      final int score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+      board.unmakeMove();
+      evaluator.unmakeMove();
+      if (aborted) {
+        return 0;
+      }
+      if (score > bestScore) {
+        bestScore = score;
+        bestMove = move;
+        if (score > alpha) {
+          alpha = score;
+          updatePrincipalVariation(ply, move);
+          if (alpha >= beta) {
+            if (MoveOrderer.isQuiet(move)) {
+              moveOrderer.updateQuietCutoff(move, quietsTried, depth, ply, side, previousMove);
+            }
+            break;
+          }
+        }
+      }
+      if (MoveOrderer.isQuiet(move)) {
+        quietsTried.add(move);
+      }
+    }
+
+    final int bound = bestScore >= beta ? TranspositionTable.BOUND_LOWER
+      : bestScore > originalAlpha ? TranspositionTable.BOUND_EXACT : TranspositionTable.BOUND_UPPER;
+    transpositionTable.store(key, bestMove, scoreToTable(bestScore, ply), depth, bound);
+    return bestScore;
+  }
+
+  /**
+   * Searches only captures and promotions below the horizon, until the position is quiet, so that leaves are not
+   * evaluated in the middle of an exchange. The side to move may stand pat on the static evaluation instead of
+   * capturing, unless it is in check, in which case every evasion is searched. Captures that cannot raise alpha even
+   * when winning the captured piece plus {@value #DELTA_MARGIN} (delta pruning), and captures losing material by
+   * static exchange, are skipped.
+   *
+   * @param ply   The distance from the root in plies.
+   * @param alpha The score the side to move is already guaranteed.
+   * @param beta  The score the opponent is already guaranteed, negated.
+   * @return The score of the node from the point of view of the side to move, or 0 if the search was aborted.
+   */
+  private int quiescence(final int ply, int alpha, final int beta) {
+    pvLength[ply] = ply;
+    if (visitNode()) {
+      return 0;
+    }
+    if (ply == Search.MAX_PLY) {
+      return evaluator.evaluate(board);
+    }
+
+    final boolean inCheck = isInCheck();
+    final MoveList moves = moveLists[ply];
+    moves.clear();
+    final int standPat;
+    int bestScore;
+    if (inCheck) {
+      LegalMoveGenerator.generateLegalMoves(board, moves);
+      if (moves.isEmpty()) {
+        return -Search.MATE_SCORE + ply;
+      }
+      standPat = -Search.INFINITE_SCORE;
+      bestScore = -Search.INFINITE_SCORE;
+    } else {
+      standPat = evaluator.evaluate(board);
+      if (standPat >= beta) {
+        return standPat;
+      }
+      alpha = Math.max(alpha, standPat);
+      bestScore = standPat;
+      LegalMoveGenerator.generateLegalCaptures(board, moves);
+    }
+
+    final int[] scores = getMoveScores(ply, moves.size());
+    moveOrderer.scoreMoves(board, moves, scores, CompactMove.NONE, ply, board.getNextMoveMaker(),
+                           board.getLastMove());
+    for (int i = 0; i < moves.size(); i++) {
+      final int move = MoveOrderer.selectNext(moves, scores, i);
+      if (!inCheck) {
+        if (!CompactMove.isPromotion(move)
+            && standPat + CompactMove.getCapturedType(move).getValue() + DELTA_MARGIN <= alpha) {
+          continue;
+        }
+        if (!StaticExchange.seeGE(board, move, 0)) {
+          continue;
+        }
+      }
+      evaluator.makeMove(board, move);
+      board.makeMove(move);
+      final int score = -quiescence(ply + 1, -beta, -alpha);
+      board.unmakeMove();
+      evaluator.unmakeMove();
+      if (aborted) {
+        return 0;
+      }
+      if (score > bestScore) {
+        bestScore = score;
+        if (score > alpha) {
+          alpha = score;
+          updatePrincipalVariation(ply, move);
+          if (alpha >= beta) {
+            break;
+          }
+        }
+      }
+    }
+    return bestScore;
+  }
+
+  /**
+   * Counts a node and checks the limits when due.
+   *
+   * @return {@code true} if the search has been aborted, {@code false} otherwise.
+   */
+  private boolean visitNode() {
+    if (++nodes >= limits.getNodes() || (nodes & CHECK_INTERVAL_MASK) == 0) {
+      checkLimits();
+    }
+    return aborted;
+  }
+
+  private boolean isInCheck() {
+    final Side side = board.getNextMoveMaker();
+    final int kingSquare = Long.numberOfTrailingZeros(board.getPieceBitboard(PieceType.KING, side));
+    return board.isSquareAttacked(kingSquare, side.getOpponent());
+  }
+
+  /**
+   * Checks whether the position at the given ply already occurred earlier in the line with the same side to move.
+   */
+  private boolean isRepetition(final long key, final int ply) {
+    for (int i = ply - 2; i >= 0; i -= 2) {
+      if (keyHistory[i] == key) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void updatePrincipalVariation(final int ply, final int move) {
+    pvTable[ply][ply] = move;
+    System.arraycopy(pvTable[ply + 1], ply + 1, pvTable[ply], ply + 1, pvLength[ply + 1] - ply - 1);
+    pvLength[ply] = pvLength[ply + 1];
+  }
+
+  /**
+   * Sets the principal variation of a node cut off by an exact table entry to the line of best moves stored in the
+   * table from it, at most as long as the depth of the entry, and ending at the first stored move that is missing or
+   * not legal in its position.
+   */
+  private void copyPrincipalVariationFromTable(final int ply, final int ttMove, final int depth) {
+    final int end = Math.min(ply + depth, Search.MAX_PLY);
+    int length = ply;
+    int move = ttMove;
+    while (move != CompactMove.NONE && length < end) {
+      final MoveList legalMoves = moveLists[length];
+      legalMoves.clear();
+      LegalMoveGenerator.generateLegalMoves(board, legalMoves);
+      if (!legalMoves.contains(move)) {
+        break;
+      }
+      pvTable[ply][length++] = move;
+      board.makeMove(move);
+      final long entry = transpositionTable.probe(board.getZobristKey());
+      move = entry == TranspositionTable.MISS ? CompactMove.NONE : TranspositionTable.getMove(entry);
+    }
+    for (int i = ply; i < length; i++) {
+      board.unmakeMove();
+    }
+    pvLength[ply] = length;
+  }
+
+  /**
+   * Gets the score array of a ply, grown to hold the given number of moves.
+   */
+  private int[] getMoveScores(final int ply, final int size) {
+    if (moveScores[ply] == null || moveScores[ply].length < size) {
+      moveScores[ply] = new int[Math.max(size, MoveList.DEFAULT_CAPACITY)];
+    }
+    return moveScores[ply];
+  }
+
+  private void checkLimits() {
+    publishedNodes = nodes;
+    if (abortable && (search.isStopped() || nodes >= limits.getNodes() || System.nanoTime() >= deadlineNanos
+                      || (limits.getNodes() != Long.MAX_VALUE && search.getNodes() >= limits.getNodes()))) {
+      aborted = true;
+    }
+  }
+
+  /**
+   * Converts a mate score from distance to the root into distance to the stored node, as the same node can be
+   * reached at other plies.
+   */
+  private static int scoreToTable(final int score, final int ply) {
+    if (score >= Search.MATE_SCORE - Search.MAX_PLY) {
+      return score + ply;
+    }
+    if (score <= -Search.MATE_SCORE + Search.MAX_PLY) {
+      return score - ply;
+    }
+    return score;
+  }
+
+  private static int scoreFromTable(final int score, final int ply) {
+    if (score >= Search.MATE_SCORE - Search.MAX_PLY) {
+      return score - ply;
+    }
+    if (score <= -Search.MATE_SCORE + Search.MAX_PLY) {
+      return score + ply;
+    }
+    return score;
+  }
+}
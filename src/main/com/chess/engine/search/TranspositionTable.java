@@ -0,0 +1,235 @@
+package main.com.chess.engine.search;
+
+import main.com.chess.engine.moves.CompactMove;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * A fixed-size transposition table keyed by {@link main.com.chess.engine.board.Zobrist Zobrist} keys, meant to be
+ * shared by all search threads.
+ * <p>
+ * The table is a single {@code long[]}, so it holds no object per entry no matter its size. Every entry takes two
+ * slots: the packed entry data and the position key XORed with that data. Threads read and write both slots without
+ * locking; a reader only accepts an entry when the stored check value XORed with the stored data gives back the
+ * probed key, so entries torn by a concurrent write are rejected as misses rather than returned corrupted.
+ * <p>
+ * Entries are grouped in buckets of {@value #BUCKET_SIZE}, one 64-byte cache line per bucket. On store, an entry of
+ * the same position is overwritten; otherwise the entry with the lowest depth, aged by the number of searches since
+ * it was written, is replaced.
+ * <p>
+ * The packed entry data, from the least significant bit:
+ * <pre>
+ *   bits  0-23  best move, as a {@link CompactMove}
+ *   bits 24-39  score (signed)
+ *   bits 40-47  depth
+ *   bits 48-49  bound type
+ *   bits 50-55  age (search generation)
+ * </pre>
+ * Scores are stored as given; making mate scores relative to the stored node is up to the search.
+ */
+public class TranspositionTable {
+  /**
+   * Value returned by {@link #probe(long)} when the table holds no entry for the key.
+   */
+  public static final long MISS = 0L;
+
+  public static final int BOUND_UPPER = 1;
+  public static final int BOUND_LOWER = 2;
+  public static final int BOUND_EXACT = 3;
+
+  public static final int MAX_DEPTH = 0xFF;
+
+  private static final int BUCKET_SIZE = 4;
+  private static final int SLOTS_PER_ENTRY = 2;
+  private static final int SLOTS_PER_BUCKET = BUCKET_SIZE * SLOTS_PER_ENTRY;
+  private static final long BYTES_PER_BUCKET = SLOTS_PER_BUCKET * (long) Long.BYTES;
+  private static final long BYTES_PER_MB = 1024L * 1024L;
+
+  private static final int MOVE_MASK = 0xFFFFFF;
+  private static final int SCORE_SHIFT = 24;
+  private static final int DEPTH_SHIFT = 40;
+  private static final int BOUND_SHIFT = 48;
+  private static final int AGE_SHIFT = 50;
+  private static final int AGE_MASK = 0x3F;
+  private static final int AGE_CYCLE = AGE_MASK + 1;
+
+  /**
+   * Weight of one search generation against one ply of depth when choosing the entry to replace.
+   */
+  private static final int AGE_WEIGHT = 8;
+
+  // opaque access keeps every slot read and write atomic, which plain long accesses do not guarantee
+  private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+  private long[] slots;
+  private int bucketMask;
+  private volatile int generation;
+
+  /**
+   * Constructs a transposition table using at most the given amount of memory.
+   *
+   * @param sizeInMb The table size in megabytes.
+   * @throws IllegalArgumentException If the size is not positive or too large for a single array.
+   */
+  public TranspositionTable(final int sizeInMb) {
+    resize(sizeInMb);
+  }
+
+  /**
+   * Reallocates the table to use at most the given amount of memory, dropping every entry. Must not be called while
+   * a search is running.
+   *
+   * @param sizeInMb The table size in megabytes.
+   * @throws IllegalArgumentException If the size is not positive or too large for a single array.
+   */
+  public void resize(final int sizeInMb) {
+    if (sizeInMb <= 0) {
+      throw new IllegalArgumentException("Transposition table size must be positive: " + sizeInMb + " MB");
+    }
+    // a power of two bucket count lets the key be masked into an index
+    final long buckets = Long.highestOneBit(sizeInMb * BYTES_PER_MB / BYTES_PER_BUCKET);
+    if (buckets * SLOTS_PER_BUCKET > Integer.MAX_VALUE - SLOTS_PER_BUCKET) {
+      throw new IllegalArgumentException("Transposition table size too large: " + sizeInMb + " MB");
+    }
+    this.slots = new long[(int) (buckets * SLOTS_PER_BUCKET)];
+    this.bucketMask = (int) (buckets - 1);
+    this.generation = 0;
+  }
+
+  /**
+   * Removes every entry. Must not be called while a search is running.
+   */
+  public void clear() {
+    Arrays.fill(slots, 0L);
+    generation = 0;
+  }
+
+  /**
+   * Starts a new search generation, so that entries of earlier searches are replaced first.
+   */
+  public void newSearch() {
+    generation = (generation + 1) & AGE_MASK;
+  }
+
+  /**
+   * Looks up the entry of a position.
+   *
+   * @param key The Zobrist key of the position.
+   * @return The packed entry data, to be read with the static accessors, or {@link #MISS}.
+   */
+  public long probe(final long key) {
+    final long[] table = slots;
+    final int bucket = bucketIndex(key);
+    for (int slot = bucket; slot < bucket + SLOTS_PER_BUCKET; slot += SLOTS_PER_ENTRY) {
+      final long data = (long) SLOTS.getOpaque(table, slot + 1);
+      if (data != MISS && ((long) SLOTS.getOpaque(table, slot) ^ data) == key) {
+        return data;
+      }
+    }
+    return MISS;
+  }
+
+  /**
+   * Stores the result of searching a position.
+   *
+   * @param key   The Zobrist key of the position.
+   * @param move  The best {@link CompactMove encoded move}, or {@link CompactMove#NONE} if none is known.
+   * @param score The score, within the range of a {@code short}.
+   * @param depth The searched depth, clamped to {@code [0, MAX_DEPTH]}.
+   * @param bound The bound type, one of the {@code BOUND_*} constants.
+   */
+  public void store(final long key, final int move, final int score, final int depth, final int bound) {
+    final long[] table = slots;
+    final int bucket = bucketIndex(key);
+    final int currentGeneration = generation;
+
+    int replaced = bucket;
+    int lowestValue = Integer.MAX_VALUE;
+    for (int slot = bucket; slot < bucket + SLOTS_PER_BUCKET; slot += SLOTS_PER_ENTRY) {
+      final long data = (long) SLOTS.getOpaque(table, slot + 1);
+      if (data == MISS) {
+        replaced = slot;
+        break;
+      }
+      if (((long) SLOTS.getOpaque(table, slot) ^ data) == key) {
+        // keep the known best move when the new result does not bring one
+        final int storedMove = move == CompactMove.NONE ? getMove(data) : move;
+        write(table, slot, key, pack(storedMove, score, depth, bound, currentGeneration));
+        return;
+      }
+      final int relativeAge = (AGE_CYCLE + currentGeneration - getAge(data)) & AGE_MASK;
+      final int value = getDepth(data) - AGE_WEIGHT * relativeAge;
+      if (value < lowestValue) {
+        lowestValue = value;
+        replaced = slot;
+      }
+    }
+    write(table, replaced, key, pack(move, score, depth, bound, currentGeneration));
+  }
+
+  /**
+   * Estimates how full the table is from a sample of its buckets, counting only entries of the current search.
+   *
+   * @return The number of used entries per thousand.
+   */
+  public int getHashFull() {
+    final long[] table = slots;
+    final int sampledBuckets = Math.min(1000 / BUCKET_SIZE, bucketMask + 1);
+    int used = 0;
+    for (int slot = 1; slot < sampledBuckets * SLOTS_PER_BUCKET; slot += SLOTS_PER_ENTRY) {
+      final long data = (long) SLOTS.getOpaque(table, slot);
+      used += data != MISS && getAge(data) == generation ? 1 : 0;
+    }
+    return used * 1000 / (sampledBuckets * BUCKET_SIZE);
+  }
+
+  /**
+   * Retrieves the number of entries the table can hold.
+   *
+   * @return The table capacity in entries.
+   */
+  public int getCapacity() {
+    return slots.length / SLOTS_PER_ENTRY;
+  }
+
+  public static int getMove(final long data) {
+    return (int) data & MOVE_MASK;
+  }
+
+  public static int getScore(final long data) {
+    return (short) (data >>> SCORE_SHIFT);
+  }
+
+  public static int getDepth(final long data) {
+    return (int) (data >>> DEPTH_SHIFT) & MAX_DEPTH;
+  }
+
+  public static int getBound(final long data) {
+    return (int) (data >>> BOUND_SHIFT) & 0x3;
+  }
+
+  private static int getAge(final long data) {
+    return (int) (data >>> AGE_SHIFT) & AGE_MASK;
+  }
+
+  private static long pack(final int move, final int score, final int depth, final int bound, final int age) {
+    final int clampedDepth = Math.max(0, Math.min(MAX_DEPTH, depth));
+    return (move & MOVE_MASK)
+      | (score & 0xFFFFL) << SCORE_SHIFT
+      | (long) clampedDepth << DEPTH_SHIFT
+      | (long) bound << BOUND_SHIFT
+      | (long) age << AGE_SHIFT;
+  }
+
+  private static void write(final long[] table, final int slot, final long key, final long data) {
+    SLOTS.setOpaque(table, slot, key ^ data);
+    SLOTS.setOpaque(table, slot + 1, data);
+  }
+
+  private int bucketIndex(final long key) {
+    // the high bits pick the bucket, leaving the low bits to the other hash users
+    return ((int) (key >>> 32) & bucketMask) * SLOTS_PER_BUCKET;
+  }
+}
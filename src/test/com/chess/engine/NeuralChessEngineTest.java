@@ -1,7 +1,970 @@
 package test.com.chess.engine;
 
+import main.com.chess.engine.board.AttackMap;
+import main.com.chess.engine.board.AttackTables;
+import main.com.chess.engine.board.BitboardChessBoard;
+import main.com.chess.engine.board.Board;
+import main.com.chess.engine.board.BoardUtils;
+import main.com.chess.engine.board.ChessBoard;
+import main.com.chess.engine.board.FenParser;
+import main.com.chess.engine.board.MagicBitboards;
+import main.com.chess.engine.board.MutableChessBoard;
+import main.com.chess.engine.board.PieceSquareTables;
+import main.com.chess.engine.board.StaticExchange;
+import main.com.chess.engine.board.Zobrist;
+import main.com.chess.engine.common.Position;
+import main.com.chess.engine.common.Side;
+import main.com.chess.engine.evaluation.BatchedEvaluationService;
+import main.com.chess.engine.evaluation.Evaluator;
+import main.com.chess.engine.evaluation.HandcraftedEvaluator;
+import main.com.chess.engine.evaluation.MaterialEvaluator;
+import main.com.chess.engine.evaluation.NnueEvaluator;
+import main.com.chess.engine.evaluation.NnueNetwork;
+import main.com.chess.engine.evaluation.QuantizedNnueEvaluator;
+import main.com.chess.engine.evaluation.QuantizedNnueNetwork;
+import main.com.chess.engine.moves.CompactMove;
+import main.com.chess.engine.moves.LegalMoveGenerator;
+import main.com.chess.engine.moves.Move;
+import main.com.chess.engine.moves.MoveFactory;
+import main.com.chess.engine.moves.MoveList;
+import main.com.chess.engine.moves.MoveStatus;
+import main.com.chess.engine.moves.PawnPromotionMove;
+import main.com.chess.engine.perft.Perft;
+import main.com.chess.engine.pieces.Piece;
+import main.com.chess.engine.pieces.PieceFactory;
+import main.com.chess.engine.pieces.PieceType;
+import main.com.chess.engine.player.Player;
+import main.com.chess.engine.perft.PerftPosition;
+import main.com.chess.engine.search.Search;
+import main.com.chess.engine.search.SearchLimits;
+import main.com.chess.engine.search.SearchResult;
+import main.com.chess.engine.search.TranspositionTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
 /**
  * Main testing class for our chess engine
  */
 public class NeuralChessEngineTest {
+  private static final long MAX_PERFT_NODES = 100_000L;
+  // centipawns a quantized network may be off its floating point reference
+  private static final int MAX_QUANTIZATION_ERROR = 8;
+
+  public static void main(String[] args) {
+    testPerftReferencePositions();
+    testBitboardBoard();
+    testLeaperAttacks();
+    testSliderAttacks();
+    testUnmakeMove();
+    testLazyBoard();
+    testAttackers();
+    testPositions();
+    testPieceFactory();
+    testZobristKeys();
+    testMoveFactoryPromotions();
+    testChoosePlayer();
+    testMoveStatus();
+    testStaticExchange();
+    testTranspositionTable();
+    testSearchFindsMate();
+    testPrincipalVariationLength();
+    testThreadNodes();
+    testMoveOrdering();
+    testNnueMaterialNetwork();
+    testNnueIncrementalUpdates();
+    testBatchedEvaluation();
+    testNetworkFileRoundTrip();
+    testQuantizedNnue();
+    testPawnHash();
+    testPieceSquareScores();
+    System.out.println("All tests passed.");
+  }
+
+  /**
+   * Checks move generation against the reference node counts of every perft position, up to the depths that run
+   * in a few seconds.
+   */
+  private static void testPerftReferencePositions() {
+    final Perft perft = Perft.builder().build();
+    for (final PerftPosition position : PerftPosition.values()) {
+      for (int depth = 1; depth <= position.getMaxDepth() && position.getExpectedNodes(depth) <= MAX_PERFT_NODES; depth++) {
+        final long nodes = perft.count(position.createBoard(), depth);
+        if (nodes != position.getExpectedNodes(depth)) {
+          throw new AssertionError(position + " at depth " + depth + ": expected " + position.getExpectedNodes(depth)
+                                   + " nodes, got " + nodes);
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks that a bitboard copy of every perft position, and the bitboard starting position, hold the same pieces,
+   * bitboards, state and legal moves as the square-based board.
+   */
+  private static void testBitboardBoard() {
+    final List<Board> boards = new ArrayList<>();
+    boards.add(ChessBoard.initStandardChessBoard());
+    for (final PerftPosition position : PerftPosition.values()) {
+      boards.add(position.createBoard());
+    }
+    assertSameBoard(ChessBoard.initStandardChessBoard(), BitboardChessBoard.initStandardChessBoard());
+    for (final Board board : boards) {
+      assertSameBoard(board, BitboardChessBoard.copyOf(board));
+    }
+  }
+
+  private static void assertSameBoard(final Board expected, final Board actual) {
+    for (int square = 0; square < BoardUtils.TOTAL_SQUARES; square++) {
+      final Piece piece = actual.getSquare(Position.of(square)).getOccupiedBy();
+      if (!Objects.equals(expected.getSquare(Position.of(square)).getOccupiedBy(), piece)) {
+        throw new AssertionError("Unexpected " + piece + " on square " + square + " of\n" + expected);
+      }
+    }
+    for (final Side side : Side.values()) {
+      for (final PieceType type : PieceType.values()) {
+        if (expected.getPieceBitboard(type, side) != actual.getPieceBitboard(type, side)) {
+          throw new AssertionError("Unexpected " + side + " " + type + " bitboard of\n" + expected);
+        }
+      }
+    }
+    if (expected.getOccupiedBitboard() != actual.getOccupiedBitboard()
+        || expected.getNextMoveMaker() != actual.getNextMoveMaker()
+        || expected.getCastlingRights() != actual.getCastlingRights()
+        || expected.getEnPassantSquare() != actual.getEnPassantSquare()
+        || expected.getZobristKey() != actual.getZobristKey()
+        || expected.getPawnKey() != actual.getPawnKey()) {
+      throw new AssertionError("Unexpected state of\n" + expected);
+    }
+    final Set<Move> expectedMoves = new HashSet<>();
+    expected.getAllLegalMoves().forEach(expectedMoves::add);
+    final Set<Move> actualMoves = new HashSet<>();
+    actual.getAllLegalMoves().forEach(actualMoves::add);
+    if (!expectedMoves.equals(actualMoves)) {
+      throw new AssertionError("Expected moves " + expectedMoves + ", got " + actualMoves);
+    }
+  }
+
+  /**
+   * Checks the knight and king attack tables on corner, edge and center squares, and that they hold the known
+   * number of moves over the whole board.
+   */
+  private static void testLeaperAttacks() {
+    // a8, h8, a1, h1, b8, d8, a5, b7, e4
+    final int[] squares = {0, 7, 56, 63, 1, 3, 24, 9, 36};
+    final int[] knightMoves = {2, 2, 2, 2, 3, 4, 4, 4, 8};
+    final int[] kingMoves = {3, 3, 3, 3, 5, 5, 5, 8, 8};
+    for (int i = 0; i < squares.length; i++) {
+      assertAttackCount("Knight", squares[i], AttackTables.getKnightAttacks(squares[i]), knightMoves[i]);
+      assertAttackCount("King", squares[i], AttackTables.getKingAttacks(squares[i]), kingMoves[i]);
+    }
+    int knightTotal = 0;
+    int kingTotal = 0;
+    for (int square = 0; square < BoardUtils.TOTAL_SQUARES; square++) {
+      knightTotal += Long.bitCount(AttackTables.getKnightAttacks(square));
+      kingTotal += Long.bitCount(AttackTables.getKingAttacks(square));
+    }
+    if (knightTotal != 336 || kingTotal != 420) {
+      throw new AssertionError("Expected 336 knight and 420 king moves, got " + knightTotal + " and " + kingTotal);
+    }
+  }
+
+  private static void assertAttackCount(final String piece, final int square, final long attacks, final int expected) {
+    if (Long.bitCount(attacks) != expected) {
+      throw new AssertionError(piece + " on square " + square + ": expected " + expected + " targets, got "
+        + Long.bitCount(attacks));
+    }
+  }
+
+  /**
+   * Checks the magic rook, bishop and queen attacks against walking the rays square by square, over random
+   * occupancies of varying density.
+   */
+  private static void testSliderAttacks() {
+    final Random random = new Random(3L);
+    for (int i = 0; i < 1000; i++) {
+      // sparse boards stop rays late, dense ones early
+      final long occupied = i % 2 == 0 ? random.nextLong() & random.nextLong() : random.nextLong();
+      for (int square = 0; square < BoardUtils.TOTAL_SQUARES; square++) {
+        final long rook = walkRays(square, occupied, new int[][] {{-1, 0}, {1, 0}, {0, -1}, {0, 1}});
+        final long bishop = walkRays(square, occupied, new int[][] {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}});
+        if (MagicBitboards.getRookAttacks(square, occupied) != rook
+            || MagicBitboards.getBishopAttacks(square, occupied) != bishop
+            || MagicBitboards.getQueenAttacks(square, occupied) != (rook | bishop)) {
+          throw new AssertionError("Wrong slider attacks from square " + square + " with occupancy "
+            + Long.toHexString(occupied));
+        }
+      }
+    }
+  }
+
+  private static long walkRays(final int square, final long occupied, final int[][] directions) {
+    long attacks = 0L;
+    for (final int[] direction : directions) {
+      int row = square / BoardUtils.BOARD_COLS + direction[0];
+      int col = square % BoardUtils.BOARD_COLS + direction[1];
+      while (row >= 0 && row < BoardUtils.BOARD_ROWS && col >= 0 && col < BoardUtils.BOARD_COLS) {
+        final long target = 1L << (row * BoardUtils.BOARD_COLS + col);
+        attacks |= target;
+        if ((occupied & target) != 0) {
+          break;
+        }
+        row += direction[0];
+        col += direction[1];
+      }
+    }
+    return attacks;
+  }
+
+  /**
+   * Checks that unmaking every legal move restores every bitboard, the castling rights, the en-passant square and
+   * both keys, a few plies into every perft position, and that unmaking with no move made fails.
+   */
+  private static void testUnmakeMove() {
+    for (final PerftPosition position : PerftPosition.values()) {
+      walk(MutableChessBoard.copyOf(position.createBoard()), 2, board -> {
+        final long[] expected = getState(board);
+        final MoveList moves = new MoveList();
+        LegalMoveGenerator.generateLegalMoves(board, moves);
+        for (int i = 0; i < moves.size(); i++) {
+          board.makeMove(moves.get(i));
+          board.unmakeMove();
+          if (!Arrays.equals(getState(board), expected)) {
+            throw new AssertionError("State not restored after unmaking " + CompactMove.toNotation(moves.get(i))
+              + " from\n" + board);
+          }
+        }
+      });
+    }
+    try {
+      MutableChessBoard.copyOf(PerftPosition.KIWIPETE.createBoard()).unmakeMove();
+      throw new AssertionError("Expected unmaking with an empty undo stack to fail");
+    } catch (final IllegalStateException expected) {
+      // no move was made
+    }
+  }
+
+  private static long[] getState(final Board board) {
+    final long[] state = new long[2 * PieceType.values().length + 6];
+    int i = 0;
+    for (final Side side : Side.values()) {
+      for (final PieceType type : PieceType.values()) {
+        state[i++] = board.getPieceBitboard(type, side);
+      }
+    }
+    state[i++] = board.getOccupiedBitboard();
+    state[i++] = board.getNextMoveMaker().ordinal();
+    state[i++] = board.getCastlingRights();
+    state[i++] = board.getEnPassantSquare();
+    state[i++] = board.getZobristKey();
+    state[i] = board.getPawnKey();
+    return state;
+  }
+
+  /**
+   * Checks that a board builds no player, and a player no legal moves or check status, before they are asked for,
+   * and that both are built once.
+   */
+  private static void testLazyBoard() {
+    final ChessBoard board = (ChessBoard) PerftPosition.KIWIPETE.createBoard();
+    board.toString();
+    board.getSquare(Position.of(52));
+    assertUnbuilt(board, ChessBoard.class, "wplayer", "bplayer", "attackMap");
+
+    final Player player = board.getCurrentPlayer();
+    if (player != board.getWhitePlayer()) {
+      throw new AssertionError("Expected the white player to be memoized");
+    }
+    assertUnbuilt(player, Player.class, "playerLegalMoves", "inCheck");
+    if (player.getAllLegalMoves() != player.getAllLegalMoves() || player.isInCheck()) {
+      throw new AssertionError("Expected the legal moves to be memoized and white not in check");
+    }
+    if (getField(player, Player.class, "playerLegalMoves") == null
+        || getField(player, Player.class, "inCheck") == null) {
+      throw new AssertionError("Expected the legal moves and check status to be kept");
+    }
+  }
+
+  private static void assertUnbuilt(final Object object, final Class<?> type, final String... fields) {
+    for (final String field : fields) {
+      if (getField(object, type, field) != null) {
+        throw new AssertionError("Expected " + type.getSimpleName() + "." + field + " to be built on first access");
+      }
+    }
+  }
+
+  private static Object getField(final Object object, final Class<?> type, final String name) {
+    try {
+      final Field field = type.getDeclaredField(name);
+      field.setAccessible(true);
+      return field.get(object);
+    } catch (final ReflectiveOperationException e) {
+      throw new AssertionError("No field " + name + " in " + type.getSimpleName(), e);
+    }
+  }
+
+  /**
+   * Checks that the attackers of every square are exactly the pieces whose attacks reach it, and that a square is
+   * attacked exactly when it has attackers, a ply into every perft position.
+   */
+  private static void testAttackers() {
+    for (final PerftPosition position : PerftPosition.values()) {
+      walk(MutableChessBoard.copyOf(position.createBoard()), 1, board -> {
+        final long occupied = board.getOccupiedBitboard();
+        for (final Side side : Side.values()) {
+          final long[] attacks = new long[BoardUtils.TOTAL_SQUARES];
+          for (final PieceType type : PieceType.values()) {
+            long pieces = board.getPieceBitboard(type, side);
+            while (pieces != 0) {
+              final int square = Long.numberOfTrailingZeros(pieces);
+              attacks[square] = AttackMap.getAttacks(type, side, square, occupied);
+              pieces &= pieces - 1;
+            }
+          }
+          for (int square = 0; square < BoardUtils.TOTAL_SQUARES; square++) {
+            long expected = 0L;
+            for (int attacker = 0; attacker < BoardUtils.TOTAL_SQUARES; attacker++) {
+              expected |= ((attacks[attacker] >>> square) & 1L) << attacker;
+            }
+            final long attackers = AttackMap.getAttackers(board, square, side, occupied);
+            if (attackers != expected || (attackers != 0) != AttackMap.isSquareAttacked(board, square, side)
+                || (attackers != 0) != board.isSquareAttacked(square, side)) {
+              throw new AssertionError("Wrong " + side + " attackers of square " + square + " on\n" + board);
+            }
+          }
+        }
+      });
+    }
+  }
+
+  /**
+   * Checks that positions are interned on the board and rejected off it.
+   */
+  private static void testPositions() {
+    for (int square = 0; square < BoardUtils.TOTAL_SQUARES; square++) {
+      if (Position.of(square) != Position.of(square) || Position.of(square).getX() != square) {
+        throw new AssertionError("Expected one position for square " + square);
+      }
+    }
+    for (final int square : new int[] {-1, BoardUtils.TOTAL_SQUARES, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+      try {
+        Position.of(square);
+        throw new AssertionError("Expected square " + square + " to be rejected");
+      } catch (final IllegalArgumentException expected) {
+        // off the board
+      }
+    }
+  }
+
+  /**
+   * Checks that every way of asking for a piece returns the one shared instance of its type, side, square and moved
+   * flag, and that distinct pieces are distinct instances.
+   */
+  private static void testPieceFactory() {
+    final Set<Piece> pieces = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (final PieceType type : PieceType.values()) {
+      for (final Side side : Side.values()) {
+        for (int square = 0; square < BoardUtils.TOTAL_SQUARES; square++) {
+          for (final boolean moved : new boolean[] {false, true}) {
+            final Piece piece = PieceFactory.getPiece(type, side, square, moved);
+            if (piece != PieceFactory.getPiece(type, side, Position.of(square), moved)
+                || piece != type.createPiece(Position.of(square), side, moved)
+                || piece.getType() != type || piece.getSide() != side || piece.getPosition() != Position.of(square)
+                || piece.hasMoved() != moved) {
+              throw new AssertionError("Expected one " + (moved ? "moved " : "") + side + " " + type
+                + " on square " + square);
+            }
+            pieces.add(piece);
+          }
+        }
+      }
+    }
+    if (pieces.size() != PieceType.values().length * Side.values().length * BoardUtils.TOTAL_SQUARES * 2) {
+      throw new AssertionError("Expected a distinct instance per piece, got " + pieces.size());
+    }
+  }
+
+  /**
+   * Checks that looking up a promotion by its squares yields a queen promotion unless another piece is asked for.
+   */
+  private static void testMoveFactoryPromotions() {
+    final Board board = FenParser.parse("8/P7/8/8/8/8/8/k6K w - - 0 1");
+    final Position a7 = Position.of(8);
+    final Position a8 = Position.of(0);
+    for (final PieceType type : List.of(PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT)) {
+      final Move move = MoveFactory.createMove(board, a7, a8, type);
+      if (!(move instanceof PawnPromotionMove promotion) || promotion.getPromotionType() != type) {
+        throw new AssertionError("Expected a promotion to " + type + ", got " + move);
+      }
+    }
+    if (!(MoveFactory.createMove(board, a7, a8) instanceof PawnPromotionMove promotion)
+        || promotion.getPromotionType() != PieceType.QUEEN) {
+      throw new AssertionError("Expected a queen promotion by default");
+    }
+  }
+
+  /**
+   * Checks that each side picks its own player, and that the side to move of a board is its current player.
+   */
+  private static void testChoosePlayer() {
+    for (final Board board : List.of(ChessBoard.initStandardChessBoard(),
+                                     FenParser.parse("8/P7/8/8/8/8/8/k6K b - - 0 1"))) {
+      final Player white = board.getWhitePlayer();
+      final Player black = board.getBlackPlayer();
+      if (Side.WHITE.choosePlayer(white, black) != white || Side.BLACK.choosePlayer(white, black) != black
+          || white.getSide() != Side.WHITE || black.getSide() != Side.BLACK
+          || board.getCurrentPlayer().getSide() != board.getNextMoveMaker()) {
+        throw new AssertionError("Expected each side to choose its own player on\n" + board);
+      }
+    }
+  }
+
+  /**
+   * Checks that players accept legal moves, and tell moves exposing their king from moves no piece of theirs can make.
+   */
+  private static void testMoveStatus() {
+    // the bishop on e2 is pinned by the rook on e7
+    final Board board = FenParser.parse("4k3/4r3/8/8/8/8/4B3/4K3 w - - 0 1");
+    final Player player = board.getCurrentPlayer();
+    final Piece bishop = board.getSquare(Position.of(52)).getOccupiedBy();
+    for (final Move move : bishop.generateAllMoves(board)) {
+      if (player.makeMove(move).getStatus() != MoveStatus.LEAVE_PLAYER_IN_CHECK) {
+        throw new AssertionError("Expected " + move.getDestination() + " to expose the king");
+      }
+    }
+    for (final Move move : player.getAllLegalMoves()) {
+      if (player.makeMove(move).getStatus() != MoveStatus.DONE) {
+        throw new AssertionError("Expected legal move to " + move.getDestination() + " to be made");
+      }
+    }
+    for (final Move move : player.getOpponent().getAllLegalMoves()) {
+      if (player.makeMove(move).getStatus() != MoveStatus.ILLEGAL_MOVE) {
+        throw new AssertionError("Expected opponent move to " + move.getDestination() + " to be illegal");
+      }
+    }
+  }
+
+  /**
+   * Checks that the Zobrist key kept by the boards matches the key computed from scratch, through make/unmake and
+   * through executing moves on immutable boards, over every perft position.
+   */
+  private static void testZobristKeys() {
+    for (final PerftPosition position : PerftPosition.values()) {
+      walk(MutableChessBoard.copyOf(position.createBoard()), 3, board -> {
+        if (board.getZobristKey() != Zobrist.computeKey(board)) {
+          throw new AssertionError("Zobrist key out of date after " + describe(board));
+        }
+      });
+      walkExecuting(position.createBoard(), 2, board -> {
+        if (board.getZobristKey() != Zobrist.computeKey(board)) {
+          throw new AssertionError("Zobrist key out of date on\n" + board);
+        }
+      });
+    }
+  }
+
+  /**
+   * Checks static exchange evaluation on positions of known value, and that the threshold test agrees with the full
+   * evaluation on every move of the perft positions.
+   */
+  private static void testStaticExchange() {
+    assertStaticExchange("1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3 w - - 0 1", "e1e5", 100);
+    assertStaticExchange("1k1r3q/1ppn3p/p4b2/4p3/8/P2N2P1/1PP1R1BP/2K1Q3 w - - 0 1", "d3e5", -200);
+
+    for (final PerftPosition position : PerftPosition.values()) {
+      final Board board = position.createBoard();
+      final MoveList moves = new MoveList();
+      LegalMoveGenerator.generateLegalMoves(board, moves);
+      for (int i = 0; i < moves.size(); i++) {
+        final int move = moves.get(i);
+        final int see = StaticExchange.see(board, move);
+        for (int threshold = -1000; threshold <= 1000; threshold += 50) {
+          if (StaticExchange.seeGE(board, move, threshold) != see >= threshold) {
+            throw new AssertionError(position + " " + CompactMove.toNotation(move) + ": see " + see
+              + " disagrees with seeGE at threshold " + threshold);
+          }
+        }
+      }
+    }
+  }
+
+  private static void assertStaticExchange(final String fen, final String notation, final int expected) {
+    final Board board = FenParser.parse(fen);
+    final MoveList moves = new MoveList();
+    LegalMoveGenerator.generateLegalMoves(board, moves);
+    for (int i = 0; i < moves.size(); i++) {
+      if (CompactMove.toNotation(moves.get(i)).equals(notation)) {
+        final int actual = StaticExchange.see(board, moves.get(i));
+        if (actual != expected) {
+          throw new AssertionError(fen + " " + notation + ": expected " + expected + ", got " + actual);
+        }
+        return;
+      }
+    }
+    throw new AssertionError(fen + ": no legal move " + notation);
+  }
+
+  /**
+   * Checks that the transposition table returns what was stored, rejects other keys of the same bucket, keeps the
+   * best move of a position stored again without one, and replaces the shallowest entry of a full bucket, aged by
+   * the searches since it was written.
+   */
+  private static void testTranspositionTable() {
+    final TranspositionTable table = new TranspositionTable(1);
+    // keys sharing the high bits share a bucket
+    final long bucket = 42L << 32;
+    final int move = 0x1234;
+
+    table.store(bucket | 1, move, -1234, 7, TranspositionTable.BOUND_EXACT);
+    long data = table.probe(bucket | 1);
+    if (TranspositionTable.getMove(data) != move || TranspositionTable.getScore(data) != -1234
+        || TranspositionTable.getDepth(data) != 7
+        || TranspositionTable.getBound(data) != TranspositionTable.BOUND_EXACT) {
+      throw new AssertionError("Entry not stored as given: " + Long.toHexString(data));
+    }
+    if (table.probe(bucket | 2) != TranspositionTable.MISS) {
+      throw new AssertionError("Entry returned for another key of the same bucket");
+    }
+
+    table.store(bucket | 1, CompactMove.NONE, 50, 10, TranspositionTable.BOUND_LOWER);
+    data = table.probe(bucket | 1);
+    if (TranspositionTable.getMove(data) != move || TranspositionTable.getScore(data) != 50
+        || TranspositionTable.getDepth(data) != 10) {
+      throw new AssertionError("Same position not overwritten keeping its move: " + Long.toHexString(data));
+    }
+
+    // fill the bucket with depths 10, 3, 8 and 6
+    table.store(bucket | 2, move, 0, 3, TranspositionTable.BOUND_UPPER);
+    table.store(bucket | 3, move, 0, 8, TranspositionTable.BOUND_UPPER);
+    table.store(bucket | 4, move, 0, 6, TranspositionTable.BOUND_UPPER);
+    table.store(bucket | 5, move, 0, 4, TranspositionTable.BOUND_UPPER);
+    assertTableHolds(table, bucket, new boolean[] {true, false, true, true, true});
+
+    // an entry of the previous search loses a generation worth of depth, so the shallow new entry is kept over the
+    // deeper old one
+    table.newSearch();
+    table.store(bucket | 6, move, 0, 2, TranspositionTable.BOUND_UPPER);
+    assertTableHolds(table, bucket, new boolean[] {true, false, true, true, false, true});
+    table.store(bucket | 7, move, 0, 1, TranspositionTable.BOUND_UPPER);
+    assertTableHolds(table, bucket, new boolean[] {true, false, true, false, false, true, true});
+  }
+
+  /**
+   * Asserts which of the keys {@code bucket | 1}, {@code bucket | 2}, ... the table holds.
+   */
+  private static void assertTableHolds(final TranspositionTable table, final long bucket, final boolean[] held) {
+    for (int i = 0; i < held.length; i++) {
+      if ((table.probe(bucket | (i + 1)) != TranspositionTable.MISS) != held[i]) {
+        throw new AssertionError("Expected key " + (i + 1) + (held[i] ? " to be held" : " to be replaced"));
+      }
+    }
+  }
+
+  /**
+   * Checks that the search finds a mate in two and scores it as such.
+   */
+  private static void testSearchFindsMate() {
+    // back-rank mate: 1. Re8+ Rxe8 2. Rxe8#
+    final SearchResult result = Search.builder().build()
+      .search(FenParser.parse("r5k1/5ppp/8/8/8/8/4RPPP/4R1K1 w - - 0 1"), SearchLimits.depth(4));
+    if (result.getScore() != Search.MATE_SCORE - 3 || !"e2e8".equals(CompactMove.toNotation(result.getBestMove()))) {
+      throw new AssertionError("Expected mate in 2 starting with e2e8, got " + result);
+    }
+  }
+
+  /**
+   * Checks that every iteration of a search on a quiet position reports a full line of legal moves, even when the
+   * transposition table cuts the line short.
+   */
+  private static void testPrincipalVariationLength() {
+    final List<SearchResult> iterations = new ArrayList<>();
+    Search.builder().setThreads(2).setListener(iterations::add).build()
+      .search(ChessBoard.initStandardChessBoard(), SearchLimits.depth(6));
+    for (final SearchResult iteration : iterations) {
+      final int[] line = iteration.getPrincipalVariation();
+      if (line.length < iteration.getDepth()) {
+        throw new AssertionError("Expected a line of at least " + iteration.getDepth() + " moves, got " + iteration);
+      }
+      final MutableChessBoard board = MutableChessBoard.copyOf(ChessBoard.initStandardChessBoard());
+      for (final int move : line) {
+        final MoveList moves = new MoveList();
+        LegalMoveGenerator.generateLegalMoves(board, moves);
+        if (!moves.contains(move)) {
+          throw new AssertionError("Illegal move " + CompactMove.toNotation(move) + " in " + iteration);
+        }
+        board.makeMove(move);
+      }
+    }
+  }
+
+  /**
+   * Checks that a search on four threads reports a node count for each of them, adding up to its total.
+   */
+  private static void testThreadNodes() {
+    final SearchResult result = Search.builder().setThreads(4).build()
+      .search(PerftPosition.KIWIPETE.createBoard(), SearchLimits.depth(5));
+    final long[] threadNodes = result.getThreadNodes();
+    if (threadNodes.length != 4 || threadNodes[0] == 0 || Arrays.stream(threadNodes).sum() != result.getNodes()) {
+      throw new AssertionError("Expected 4 thread node counts adding up to " + result.getNodes() + ", got "
+        + Arrays.toString(threadNodes));
+    }
+  }
+
+  /**
+   * Checks that moves are ordered TT move first, then winning captures by MVV-LVA, the killers of the ply newest
+   * first, quiet moves by history, and losing captures last. The orderer is package-private, so it is driven through
+   * reflection.
+   */
+  private static void testMoveOrdering() {
+    // pawn and knight both take the queen, the pawn also takes a rook, and the rook takes a defended pawn
+    final Board board = FenParser.parse("4k3/6p1/7p/3q1r2/4P3/2N5/8/4K2R w - - 0 1");
+    final MoveList moves = new MoveList();
+    LegalMoveGenerator.generateLegalMoves(board, moves);
+    try {
+      final Class<?> type = Class.forName("main.com.chess.engine.search.MoveOrderer");
+      final Constructor<?> constructor = type.getDeclaredConstructor();
+      constructor.setAccessible(true);
+      final Object orderer = constructor.newInstance();
+      // killers at the root, newest first, and a history bonus and penalty from a cutoff one ply deeper
+      for (final String killer : List.of("c3b5", "c3a4")) {
+        invokeOrderer(orderer, "updateQuietCutoff", findMove(moves, killer), new MoveList(), 4, 0, Side.WHITE,
+                      CompactMove.NONE);
+      }
+      final MoveList quietsTried = new MoveList();
+      quietsTried.add(findMove(moves, "h1g1"));
+      invokeOrderer(orderer, "updateQuietCutoff", findMove(moves, "h1h2"), quietsTried, 4, 1, Side.WHITE,
+                    CompactMove.NONE);
+
+      final int[] scores = new int[moves.size()];
+      invokeOrderer(orderer, "scoreMoves", board, moves, scores, findMove(moves, "e4e5"), 0, Side.WHITE,
+                    CompactMove.NONE);
+      final List<String> order = new ArrayList<>();
+      for (int i = 0; i < moves.size(); i++) {
+        order.add(CompactMove.toNotation((int) invokeOrderer(null, "selectNext", moves, scores, i)));
+      }
+      final List<String> first = List.of("e4e5", "e4d5", "c3d5", "e4f5", "c3a4", "c3b5", "h1h2");
+      if (!order.subList(0, first.size()).equals(first)
+          || !order.subList(order.size() - 2, order.size()).equals(List.of("h1g1", "h1h6"))) {
+        throw new AssertionError("Unexpected move order " + order);
+      }
+    } catch (final ReflectiveOperationException e) {
+      throw new AssertionError("Cannot drive the move orderer", e);
+    }
+  }
+
+  private static int findMove(final MoveList moves, final String notation) {
+    for (int i = 0; i < moves.size(); i++) {
+      if (CompactMove.toNotation(moves.get(i)).equals(notation)) {
+        return moves.get(i);
+      }
+    }
+    throw new AssertionError("No legal move " + notation);
+  }
+
+  private static Object invokeOrderer(final Object target, final String name, final Object... args)
+    throws ReflectiveOperationException {
+    final Class<?> type = Class.forName("main.com.chess.engine.search.MoveOrderer");
+    for (final Method method : type.getDeclaredMethods()) {
+      if (method.getName().equals(name)) {
+        method.setAccessible(true);
+        return method.invoke(target, args);
+      }
+    }
+    throw new NoSuchMethodException(name);
+  }
+
+  /**
+   * Checks that the material network scores positions exactly like the material evaluator.
+   */
+  private static void testNnueMaterialNetwork() {
+    final NnueEvaluator nnue = new NnueEvaluator(NnueNetwork.material());
+    final MaterialEvaluator material = new MaterialEvaluator();
+    for (final PerftPosition position : PerftPosition.values()) {
+      final Board board = position.createBoard();
+      if (nnue.evaluate(board) != material.evaluate(board)) {
+        throw new AssertionError(position + ": expected " + material.evaluate(board) + ", got " + nnue.evaluate(board));
+      }
+    }
+  }
+
+  /**
+   * Checks that the incrementally updated accumulators agree with accumulators computed from scratch, over every
+   * line of a few plies from positions with castling, en passant and promotions. Only the leaves are evaluated, so
+   * that updates span several moves.
+   */
+  private static void testNnueIncrementalUpdates() {
+    final NnueNetwork network = NnueNetwork.random(32, 1L);
+    for (final String fen : new String[] {
+      "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+      "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1"
+    }) {
+      final MutableChessBoard board = MutableChessBoard.copyOf(FenParser.parse(fen));
+      // the two accumulators sum the same weights in a different order, which may move the rounding by one
+      assertIncrementalEvaluation(board, new NnueEvaluator(network), () -> new NnueEvaluator(network), 1, 3);
+    }
+  }
+
+  /**
+   * Walks every line of the given depth, updating the incremental evaluator along, and compares it to a fresh one at
+   * every leaf.
+   */
+  private static void assertIncrementalEvaluation(final MutableChessBoard board, final Evaluator incremental,
+                                                  final Supplier<Evaluator> scratch, final int tolerance,
+                                                  final int depth) {
+    final int leafDepth = board.getUndoDepth() + depth;
+    incremental.reset(board);
+    walk(board, depth, incremental, leaf -> {
+      if (leaf.getUndoDepth() != leafDepth) {
+        return;
+      }
+      final int expected = scratch.get().evaluate(leaf);
+      final int actual = incremental.evaluate(leaf);
+      if (Math.abs(expected - actual) > tolerance) {
+        throw new AssertionError("Expected " + expected + ", got " + actual + " after " + describe(leaf));
+      }
+    });
+  }
+
+  /**
+   * Checks that batched evaluation scores every position exactly like an evaluator computing from scratch, and that
+   * positions queued together share batches.
+   */
+  private static void testBatchedEvaluation() {
+    final NnueNetwork network = NnueNetwork.random(32, 2L);
+    final NnueEvaluator reference = new NnueEvaluator(network);
+    final MutableChessBoard board = MutableChessBoard.copyOf(PerftPosition.KIWIPETE.createBoard());
+    final MoveList moves = new MoveList();
+    LegalMoveGenerator.generateLegalMoves(board, moves);
+    final List<CompletableFuture<Integer>> futures = new ArrayList<>();
+    final List<Integer> expected = new ArrayList<>();
+    try (final BatchedEvaluationService service = BatchedEvaluationService.builder()
+      .setNetwork(network).setBatchSize(16).setMaxLatency(10_000L).build()) {
+      for (int i = 0; i < moves.size(); i++) {
+        board.makeMove(moves.get(i));
+        futures.add(service.submit(board));
+        expected.add(reference.evaluate(board));
+        board.unmakeMove();
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        if (futures.get(i).join().intValue() != expected.get(i)) {
+          throw new AssertionError("Expected " + expected.get(i) + ", got " + futures.get(i).join() + " after "
+                                   + CompactMove.toNotation(moves.get(i)));
+        }
+      }
+      if (service.getEvaluations() != moves.size() || service.getBatches() >= moves.size()) {
+        throw new AssertionError("Expected " + moves.size() + " positions in fewer batches, got " + service);
+      }
+    }
+  }
+
+  /**
+   * Checks that a saved network loads back with the same evaluations, that loading a file twice shares the mapping,
+   * and that loading it after it was replaced maps the new network.
+   */
+  private static void testNetworkFileRoundTrip() {
+    try {
+      final Path file = Files.createTempFile("network", ".nnue");
+      try {
+        final NnueNetwork network = NnueNetwork.random(32, 3L);
+        network.save(file);
+        final NnueNetwork loaded = NnueNetwork.load(file);
+        if (NnueNetwork.load(file) != loaded) {
+          throw new AssertionError("Expected the loaded network to be shared");
+        }
+        assertSameScores(network, loaded);
+
+        // replacing the file, as a new network is deployed, replaces the cached network
+        final Path update = Files.createTempFile("network", ".nnue");
+        final NnueNetwork updated = NnueNetwork.random(32, 5L);
+        updated.save(update);
+        Files.setLastModifiedTime(update, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000L));
+        Files.move(update, file, StandardCopyOption.REPLACE_EXISTING);
+        final NnueNetwork reloaded = NnueNetwork.load(file);
+        if (reloaded == loaded || NnueNetwork.load(file) != reloaded) {
+          throw new AssertionError("Expected the modified file to replace the shared network");
+        }
+        assertSameScores(updated, reloaded);
+      } finally {
+        Files.deleteIfExists(file);
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void assertSameScores(final NnueNetwork expectedNetwork, final NnueNetwork actualNetwork) {
+    for (final PerftPosition position : PerftPosition.values()) {
+      final Board board = position.createBoard();
+      final int expected = new NnueEvaluator(expectedNetwork).evaluate(board);
+      final int actual = new NnueEvaluator(actualNetwork).evaluate(board);
+      if (expected != actual) {
+        throw new AssertionError(position + ": expected " + expected + ", got " + actual);
+      }
+    }
+  }
+
+  /**
+   * Checks that the quantized material network is exact, that a quantized random network stays within a few
+   * centipawns of its floating point reference, and that the incrementally updated quantized accumulators give
+   * bit-exactly the scores of the scalar reference computed from scratch, with the Vector API when available.
+   */
+  private static void testQuantizedNnue() {
+    final MaterialEvaluator material = new MaterialEvaluator();
+    final QuantizedNnueNetwork materialNetwork = QuantizedNnueNetwork.quantize(NnueNetwork.material());
+    for (final PerftPosition position : PerftPosition.values()) {
+      final Board board = position.createBoard();
+      final int actual = new QuantizedNnueEvaluator(materialNetwork).evaluate(board);
+      if (actual != material.evaluate(board)) {
+        throw new AssertionError(position + ": expected " + material.evaluate(board) + ", got " + actual);
+      }
+    }
+
+    final NnueNetwork floatNetwork = NnueNetwork.random(40, 4L);
+    final QuantizedNnueNetwork network = QuantizedNnueNetwork.quantize(floatNetwork);
+    for (final PerftPosition position : PerftPosition.values()) {
+      walk(MutableChessBoard.copyOf(position.createBoard()), 2, board -> {
+        final int expected = new NnueEvaluator(floatNetwork).evaluate(board);
+        final int actual = new QuantizedNnueEvaluator(network).evaluate(board);
+        if (Math.abs(actual - expected) > MAX_QUANTIZATION_ERROR) {
+          throw new AssertionError("Quantized score " + actual + " too far from " + expected + " in "
+            + describe(position, board));
+        }
+      });
+    }
+
+    assertIncrementalEvaluation(MutableChessBoard.copyOf(PerftPosition.KIWIPETE.createBoard()),
+                                new QuantizedNnueEvaluator(network), () -> new QuantizedNnueEvaluator(network, false),
+                                0, 3);
+  }
+
+  /**
+   * Checks that the pawn key follows make/unmake and move execution, and that evaluating through a warm pawn hash
+   * table gives the same scores as computing every pawn structure afresh, mostly from hits.
+   */
+  private static void testPawnHash() {
+    final MutableChessBoard board =
+      MutableChessBoard.copyOf(FenParser.parse("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1"));
+    walk(board, 3, node -> {
+      if (node.getPawnKey() != Zobrist.computePawnKey(node)) {
+        throw new AssertionError("Pawn key out of date after " + describe(node));
+      }
+    });
+    walkExecuting(FenParser.parse("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1"), 2, node -> {
+      if (node.getPawnKey() != Zobrist.computePawnKey(node)) {
+        throw new AssertionError("Pawn key out of date on\n" + node);
+      }
+    });
+
+    final HandcraftedEvaluator cached = new HandcraftedEvaluator();
+    assertIncrementalEvaluation(board, cached, HandcraftedEvaluator::new, 0, 3);
+    final double hitRate = (double) cached.getPawnHashTable().getHits() / cached.getPawnHashTable().getProbes();
+    if (hitRate < 0.9) {
+      throw new AssertionError("Expected a pawn hash hit rate of at least 90%, got " + hitRate);
+    }
+  }
+
+  /**
+   * Checks that the piece-square scores and the game phase kept by the boards match those computed from scratch,
+   * through make/unmake and through executing moves on immutable boards.
+   */
+  private static void testPieceSquareScores() {
+    final ChessBoard promotions =
+      FenParser.parse("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1");
+    walk(MutableChessBoard.copyOf(promotions), 3, board -> {
+      if (!hasCurrentPieceSquareScores(board)) {
+        throw new AssertionError("Piece-square scores out of date after " + describe(board));
+      }
+    });
+
+    for (final Board root : List.of(promotions, PerftPosition.KIWIPETE.createBoard())) {
+      walkExecuting(root, 1, board -> {
+        if (!hasCurrentPieceSquareScores(board)) {
+          throw new AssertionError("Piece-square scores out of date on\n" + board);
+        }
+      });
+    }
+  }
+
+  private static boolean hasCurrentPieceSquareScores(final Board board) {
+    return board.getMiddlegameScore() == PieceSquareTables.computeMiddlegameScore(board)
+      && board.getEndgameScore() == PieceSquareTables.computeEndgameScore(board)
+      && board.getPhase() == PieceSquareTables.computePhase(board);
+  }
+
+  /**
+   * Runs the check on the board and on every position reached by making up to {@code depth} legal moves, unmaking
+   * them again afterwards.
+   */
+  private static void walk(final MutableChessBoard board, final int depth,
+                           final Consumer<MutableChessBoard> check) {
+    walk(board, depth, null, check);
+  }
+
+  /**
+   * Like {@link #walk(MutableChessBoard, int, Consumer)}, but also makes and unmakes every move on the given
+   * incremental evaluator, if any.
+   */
+  private static void walk(final MutableChessBoard board, final int depth, final Evaluator incremental,
+                           final Consumer<MutableChessBoard> check) {
+    check.accept(board);
+    if (depth == 0) {
+      return;
+    }
+    final MoveList moves = new MoveList();
+    LegalMoveGenerator.generateLegalMoves(board, moves);
+    for (int i = 0; i < moves.size(); i++) {
+      if (incremental != null) {
+        incremental.makeMove(board, moves.get(i));
+      }
+      board.makeMove(moves.get(i));
+      walk(board, depth - 1, incremental, check);
+      board.unmakeMove();
+      if (incremental != null) {
+        incremental.unmakeMove();
+      }
+    }
+  }
+
+  /**
+   * Runs the check on the board and on every position reached by executing up to {@code depth} legal moves.
+   */
+  private static void walkExecuting(final Board board, final int depth, final Consumer<Board> check) {
+    check.accept(board);
+    if (depth == 0) {
+      return;
+    }
+    for (final Move move : board.getCurrentPlayer().getAllLegalMoves()) {
+      walkExecuting(move.execute(), depth - 1, check);
+    }
+  }
+
+  private static String describe(final MutableChessBoard board) {
+    return CompactMove.toNotation(board.getLastMove());
+  }
+
+  /**
+   * Describes a position reached from a perft position, by the FEN of the perft position while no move is made.
+   */
+  private static String describe(final PerftPosition root, final MutableChessBoard board) {
+    return board.getUndoDepth() == 0 ? root + " (" + root.getFen() + ")" : root + " after " + describe(board);
+  }
 }